@@ -16,43 +16,80 @@
  */
 package io.specmock.core;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.module.kotlin.KotlinModule;
 
+import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpResponseWriter;
 import com.linecorp.armeria.common.HttpStatus;
 import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.QueryParams;
 import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.ResponseHeadersBuilder;
 import com.linecorp.armeria.server.AbstractHttpService;
 import com.linecorp.armeria.server.ServiceRequestContext;
 import com.linecorp.armeria.server.logging.LoggingService;
 
+import io.netty.buffer.Unpooled;
 import io.netty.util.AsciiString;
 
 /**
  * ArmeriaHttpSpecHandler class extends AbstractHttpService to handle HTTP requests based on a given HttpSpec.
  */
 public final class ArmeriaHttpSpecHandler extends AbstractHttpService {
+    private static final int STREAM_CHUNK_SIZE = 8192;
+
     private final ObjectMapper mapper = new ObjectMapper().registerModules(new KotlinModule.Builder().build(),
                                                                            new JavaTimeModule());
+    private final HttpFlightRecorder flightRecorder = HttpFlightRecorder.DEFAULT;
     private final HttpSpec spec;
+    private final HttpResponseCache responseCache;
+    private final HttpBandwidth defaultBandwidth;
+    private final HttpRandom random;
+    private final HttpJournal journal;
+    private final HttpRecorder recorder;
+    private final HttpPassthrough passthrough;
 
     /**
      * Constructs an ArmeriaHttpSpecHandler with a provided HttpSpec.
+     * The response bodies of the exchanges are encoded once here, instead of on every request.
      *
      * @param spec The HttpSpec defining supported HTTP methods and request/response specifications.
      */
     public ArmeriaHttpSpecHandler(HttpSpec spec) {
+        this(spec, new HttpSpecServerOptions());
+    }
+
+    ArmeriaHttpSpecHandler(HttpSpec spec, HttpSpecServerOptions options) {
         decorate(LoggingService.newDecorator());
         this.spec = spec;
+        responseCache = new HttpResponseCache(spec.getExchanges(), mapper, options.isResponseCompression());
+        defaultBandwidth = options.getBandwidth();
+        random = HttpRandom.of(spec.getSeed());
+        journal = options.getJournal();
+        recorder = options.getRecorder();
+        passthrough = options.getPassthrough();
     }
 
     @Override
@@ -85,44 +122,506 @@ public final class ArmeriaHttpSpecHandler extends AbstractHttpService {
      *
      * @param context The ServiceRequestContext containing request-specific information.
      * @param request The HttpRequest to be handled.
-     * @return HttpResponse based on the defined HttpSpec's exchanges or a NOT_ACCEPTABLE response.
+     * @return HttpResponse based on the defined HttpSpec's exchanges or resource, the response of the upstream
+     *      service in record or passthrough mode, or a NOT_ACCEPTABLE response.
      */
     private HttpResponse handle(ServiceRequestContext context, HttpRequest request) {
+        final long receivedNanos = System.nanoTime();
+        final HttpRouteMetrics metrics = spec.metrics();
+        metrics.received();
+        final HttpResponse rejected = acquire(context);
+        if (rejected != null) {
+            record(context, request, null, null, receivedNanos);
+            return rejected;
+        }
+        // Counted once the response is complete, so errors thrown, delayed or hit while streaming all count.
+        context.log().whenComplete().thenAccept(log -> {
+            if (log.responseCause() != null || log.responseHeaders().status().isServerError()) {
+                metrics.failed();
+            }
+        });
+        final HttpFlightRecorder.Span aggregation = flightRecorder.beginAggregation();
         return HttpResponse.of(request.aggregate().thenApply(aggregated -> {
-            for (HttpExchange exchange : spec.getExchanges()) {
-                try {
-                    if (exchange.isNotMatchPathParam(context.pathParams())) {
-                        continue;
+            final long aggregatedNanos = System.nanoTime();
+            metrics.aggregated(aggregatedNanos - receivedNanos);
+            aggregation.add(aggregated.content().length());
+            aggregation.end(spec.getRoute());
+            try {
+                final HttpFlightRecorder.Span matching = flightRecorder.beginMatching();
+                final HttpExchange exchange = match(context, request, aggregated, matching);
+                final long matchedNanos = System.nanoTime();
+                metrics.matching(matchedNanos - aggregatedNanos);
+                matching.end(spec.getRoute());
+                record(context, request, aggregated, exchange, receivedNanos);
+                if (exchange == null) {
+                    if (spec.getResource() != null) {
+                        return delay(context, spec.getDelay(),
+                                     respondResource(context, request, aggregated, spec.getResource()));
                     }
-                    if (exchange.isNotMatchQueryParam(toMap(context.queryParams()))) {
-                        continue;
+                    if (recorder != null) {
+                        return recorder.forward(context, spec.getRoute(), aggregated);
                     }
-                    if (exchange.isNotMatchHeader(toMap(request.headers()))) {
-                        continue;
+                    if (passthrough != null) {
+                        return passthrough.forward(context, aggregated);
                     }
-                    if (exchange.getRequestObject() != null) {
-                        final String body = aggregated.contentUtf8();
-
-                        final Object temp = mapper.readValue(body, exchange.getRequestObject().getClass());
-                        final String formattedActualRequest = mapper.writeValueAsString(temp);
-                        final String exchangeRequest = mapper.writeValueAsString(exchange.getRequestObject());
-                        if (!exchangeRequest.equals(formattedActualRequest)) {
-                            continue;
-                        }
-                    }
-                    return HttpResponse.of(
-                            HttpStatus.valueOf(exchange.getResponseStatus().getCode()),
-                            MediaType.JSON_UTF_8,
-                            mapper.writeValueAsString(exchange.getResponseObject())
-                    );
-                } catch (JsonProcessingException e) {
-                    return HttpResponse.ofFailure(e);
+                    metrics.missed();
+                    flightRecorder.miss(spec.getRoute(), spec.getExchanges().size());
+                    return HttpResponse.of(HttpStatus.NOT_ACCEPTABLE);
                 }
+                exchange.hit();
+                final HttpDelay delay = exchange.getDelay() != null ? exchange.getDelay() : spec.getDelay();
+                final HttpFlightRecorder.Span encoding = flightRecorder.beginEncoding();
+                final HttpResponse response = respond(context, request, exchange);
+                metrics.matched(exchange, System.nanoTime() - matchedNanos);
+                encoding.end(spec.getRoute());
+                return delay(context, delay, response);
+            } catch (IOException e) {
+                return HttpResponse.ofFailure(e);
             }
-            return HttpResponse.of(HttpStatus.NOT_ACCEPTABLE);
         }));
     }
 
+    private HttpExchange match(ServiceRequestContext context, HttpRequest request,
+                               AggregatedHttpRequest aggregated, HttpFlightRecorder.Span matching)
+            throws IOException {
+        if (spec.getSequence() != null) {
+            return chooseInSequence(context, request, aggregated, matching);
+        }
+        while (true) {
+            final HttpExchange exchange = chooseFirst(context, request, aggregated, matching);
+            // Another request moved the scenario first, so match again against its new state.
+            if (exchange == null || transition(exchange)) {
+                return exchange;
+            }
+        }
+    }
+
+    private HttpExchange chooseFirst(ServiceRequestContext context, HttpRequest request,
+                                     AggregatedHttpRequest aggregated, HttpFlightRecorder.Span matching)
+            throws IOException {
+        final List<HttpExchange> exchanges = spec.getExchanges();
+        for (int i = 0; i < exchanges.size(); i++) {
+            final HttpExchange exchange = exchanges.get(i);
+            matching.add(1);
+            if (!isMatch(context, request, aggregated, exchange)) {
+                continue;
+            }
+            if (exchange.getWeight() == 0) {
+                return exchange;
+            }
+            // The remaining exchanges are all examined for weighted candidates.
+            matching.add(exchanges.size() - i - 1);
+            return chooseWeighted(context, request, aggregated, exchanges, i);
+        }
+        return null;
+    }
+
+    private HttpExchange chooseInSequence(ServiceRequestContext context, HttpRequest request,
+                                          AggregatedHttpRequest aggregated, HttpFlightRecorder.Span matching)
+            throws IOException {
+        List<HttpExchange> candidates = matchAll(context, request, aggregated, matching);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        final HttpSequence sequence = spec.getSequence();
+        final String clientKey = sequence.getClientKeyHeader() == null
+                                 ? null : request.headers().get(sequence.getClientKeyHeader());
+        final long position = sequence.take(clientKey);
+        while (true) {
+            final HttpExchange exchange = candidates.get(sequence.index(position, candidates.size()));
+            if (transition(exchange)) {
+                return exchange;
+            }
+            // Another request moved the scenario first, so choose again at the same position of the sequence
+            // among the exchanges matching its new state, instead of taking another step.
+            candidates = matchAll(context, request, aggregated, matching);
+            if (candidates.isEmpty()) {
+                return null;
+            }
+        }
+    }
+
+    private List<HttpExchange> matchAll(ServiceRequestContext context, HttpRequest request,
+                                        AggregatedHttpRequest aggregated, HttpFlightRecorder.Span matching)
+            throws IOException {
+        final List<HttpExchange> candidates = new ArrayList<>();
+        for (HttpExchange exchange : spec.getExchanges()) {
+            matching.add(1);
+            if (isMatch(context, request, aggregated, exchange)) {
+                candidates.add(exchange);
+            }
+        }
+        return candidates;
+    }
+
+    private HttpExchange chooseWeighted(ServiceRequestContext context, HttpRequest request,
+                                        AggregatedHttpRequest aggregated, List<HttpExchange> exchanges,
+                                        int firstMatch) throws IOException {
+        final List<HttpExchange> candidates = new ArrayList<>();
+        double totalWeight = 0;
+        for (int i = firstMatch; i < exchanges.size(); i++) {
+            final HttpExchange exchange = exchanges.get(i);
+            if (exchange.getWeight() > 0 &&
+                (i == firstMatch || isMatch(context, request, aggregated, exchange))) {
+                candidates.add(exchange);
+                totalWeight += exchange.getWeight();
+            }
+        }
+
+        double point = random.nextDouble() * totalWeight;
+        for (HttpExchange candidate : candidates) {
+            point -= candidate.getWeight();
+            if (point < 0) {
+                return candidate;
+            }
+        }
+        return candidates.get(candidates.size() - 1);
+    }
+
+    private static boolean transition(HttpExchange exchange) {
+        if (exchange.getScenario() == null || exchange.getNewState() == null) {
+            return true;
+        }
+        return exchange.getScenario().transition(exchange.getRequiredState(), exchange.getNewState());
+    }
+
+    private boolean isMatch(ServiceRequestContext context, HttpRequest request,
+                            AggregatedHttpRequest aggregated, HttpExchange exchange) throws IOException {
+        if (exchange.isNotMatchScenario()) {
+            return false;
+        }
+        if (exchange.isNotMatchPathParam(context.pathParams())) {
+            return false;
+        }
+        if (exchange.isNotMatchQueryParam(toMap(context.queryParams()))) {
+            return false;
+        }
+        if (exchange.isNotMatchHeader(toMap(request.headers()))) {
+            return false;
+        }
+        if (exchange.getRequestObject() == null) {
+            return true;
+        }
+        final HttpFlightRecorder.Span comparison = flightRecorder.beginJsonComparison();
+        comparison.add(aggregated.content().length());
+        final boolean matches = isMatchBody(aggregated, exchange);
+        comparison.end(spec.getRoute());
+        return matches;
+    }
+
+    private boolean isMatchBody(AggregatedHttpRequest aggregated, HttpExchange exchange) throws IOException {
+        if (exchange.getRequestObject() instanceof JsonNode) {
+            return exchange.getRequestObject().equals(mapper.readTree(aggregated.contentUtf8()));
+        }
+        final String body = aggregated.contentUtf8();
+
+        final Object temp = mapper.readValue(body, exchange.getRequestObject().getClass());
+        final String formattedActualRequest = mapper.writeValueAsString(temp);
+        final String exchangeRequest = mapper.writeValueAsString(exchange.getRequestObject());
+        return exchangeRequest.equals(formattedActualRequest);
+    }
+
+    private void record(ServiceRequestContext context, HttpRequest request, AggregatedHttpRequest aggregated,
+                        HttpExchange exchange, long receivedNanos) {
+        if (journal == null) {
+            return;
+        }
+        final long durationNanos = System.nanoTime() - receivedNanos;
+        final long timestampMillis = System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        final ByteBuffer body = aggregated == null ? null : ByteBuffer.wrap(aggregated.content().array());
+        journal.record(new HttpJournalEntry(timestampMillis, spec.getRoute(), context.path(),
+                                            context.pathParams(), toMap(context.queryParams()),
+                                            toMap(request.headers()), body, exchange, durationNanos));
+    }
+
+    private HttpResponse acquire(ServiceRequestContext context) {
+        // The concurrency permit is taken first, as it can be given back when the rate limit rejects the
+        // request, while a consumed rate slot cannot.
+        final HttpConcurrencyLimit concurrencyLimit = spec.getConcurrencyLimit();
+        if (concurrencyLimit != null && !concurrencyLimit.tryAcquire()) {
+            return reject(concurrencyLimit.getRejectStatus().getCode(), concurrencyLimit.retryAfterSeconds());
+        }
+        final HttpRateLimit rateLimit = spec.getRateLimit();
+        if (rateLimit != null) {
+            final long waitNanos = rateLimit.tryAcquire();
+            if (waitNanos > 0) {
+                if (concurrencyLimit != null) {
+                    concurrencyLimit.release();
+                }
+                return reject(rateLimit.getRejectStatus().getCode(), rateLimit.retryAfterSeconds(waitNanos));
+            }
+        }
+        if (concurrencyLimit != null) {
+            context.log().whenComplete().thenRun(concurrencyLimit::release);
+        }
+        return null;
+    }
+
+    private static HttpResponse reject(int statusCode, long retryAfterSeconds) {
+        final ResponseHeadersBuilder headers = ResponseHeaders.builder(HttpStatus.valueOf(statusCode));
+        if (retryAfterSeconds >= 0) {
+            headers.add(HttpHeaderNames.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        }
+        return HttpResponse.of(headers.build());
+    }
+
+    private static HttpResponse delay(ServiceRequestContext context, HttpDelay delay, HttpResponse response) {
+        if (delay == null) {
+            return response;
+        }
+        final long delayNanos = delay.sampleNanos();
+        if (delayNanos <= 0) {
+            return response;
+        }
+        // Scheduled on the event loop timer, so a delayed response holds no thread while it waits.
+        return HttpResponse.delayed(response, Duration.ofNanos(delayNanos), context.eventLoop());
+    }
+
+    private HttpResponse respondResource(ServiceRequestContext context, HttpRequest request,
+                                         AggregatedHttpRequest aggregated, HttpResource resource)
+            throws IOException {
+        final String id = resourceId(context, resource);
+        final HttpMethod method = request.method();
+        if (id == null) {
+            if (method == HttpMethod.GET) {
+                return respondJson(HttpStatus.OK, resource.find(toMap(context.queryParams())));
+            }
+            if (method != HttpMethod.POST) {
+                return HttpResponse.of(HttpStatus.METHOD_NOT_ALLOWED);
+            }
+            final ObjectNode record = readRecord(aggregated);
+            if (record == null) {
+                return HttpResponse.of(HttpStatus.BAD_REQUEST);
+            }
+            final ObjectNode created = resource.create(record);
+            return created == null ? HttpResponse.of(HttpStatus.CONFLICT)
+                                   : respondJson(HttpStatus.CREATED, created);
+        }
+
+        if (method == HttpMethod.DELETE) {
+            return HttpResponse.of(resource.delete(id) ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND);
+        }
+        final ObjectNode found;
+        if (method == HttpMethod.GET) {
+            found = resource.get(id);
+        } else if (method == HttpMethod.PUT || method == HttpMethod.PATCH) {
+            final ObjectNode record = readRecord(aggregated);
+            if (record == null) {
+                return HttpResponse.of(HttpStatus.BAD_REQUEST);
+            }
+            found = method == HttpMethod.PUT ? resource.update(id, record) : resource.patch(id, record);
+        } else {
+            return HttpResponse.of(HttpStatus.METHOD_NOT_ALLOWED);
+        }
+        return found == null ? HttpResponse.of(HttpStatus.NOT_FOUND) : respondJson(HttpStatus.OK, found);
+    }
+
+    private static String resourceId(ServiceRequestContext context, HttpResource resource) {
+        final String id = context.pathParam(resource.getIdField());
+        if (id != null) {
+            return id;
+        }
+        // A route such as /users/{userId} names its only path variable after the route, not the id field.
+        final Map<String, String> pathParams = context.pathParams();
+        return pathParams.size() == 1 ? pathParams.values().iterator().next() : null;
+    }
+
+    private ObjectNode readRecord(AggregatedHttpRequest aggregated) {
+        try {
+            final JsonNode record = mapper.readTree(aggregated.contentUtf8());
+            return record instanceof ObjectNode ? (ObjectNode) record : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private HttpResponse respondJson(HttpStatus status, Object value) throws JsonProcessingException {
+        return HttpResponse.of(status, MediaType.JSON_UTF_8, HttpData.wrap(mapper.writeValueAsBytes(value)));
+    }
+
+    private HttpResponse respond(ServiceRequestContext context, HttpRequest request, HttpExchange exchange)
+            throws IOException {
+        final HttpStatus status = HttpStatus.valueOf(exchange.getResponseStatus().getCode());
+        final ResponseHeadersBuilder headers = ResponseHeaders.builder(status)
+                                                              .contentType(responseContentType(exchange));
+        final HttpBandwidth bandwidth = exchange.getBandwidth() != null ? exchange.getBandwidth()
+                                                                        : defaultBandwidth;
+        if (exchange.getFault() != null && exchange.getFault().sample()) {
+            return respondFault(context, headers, exchange, exchange.getFault().getType());
+        }
+        if (exchange.getResponseStream() != null) {
+            final HttpResponseStream.Cursor cursor = exchange.getResponseStream().open(mapper);
+            return respondChunked(context, headers.build(), chunkSize -> {
+                final byte[] chunk = cursor.next(chunkSize);
+                return chunk == null ? null : HttpData.wrap(chunk);
+            }, bandwidth);
+        }
+        final HttpResponseCache.Entry cached = responseCache.get(exchange);
+        if (cached == null) {
+            return respondBody(context, headers, responseContent(exchange), bandwidth);
+        }
+        if (cached.isEncoded()) {
+            // Caches must key identity responses on Accept-Encoding too, or replay them to every client.
+            headers.add(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING.toString());
+        }
+
+        if (status.equals(HttpStatus.OK)) {
+            headers.add(HttpHeaderNames.ACCEPT_RANGES, "bytes");
+            final String range = request.headers().get(HttpHeaderNames.RANGE);
+            // Ranges are always served from the identity body, so they are validated against its tag.
+            if (range != null && request.method() == HttpMethod.GET && isIfRangeFresh(request, cached)) {
+                final ByteBuffer body = cached.body(null);
+                final HttpByteRange byteRange = HttpByteRange.parse(range, body.remaining());
+                if (byteRange != null) {
+                    headers.add(HttpHeaderNames.ETAG, cached.etag(null));
+                    return respondPartial(context, headers, body, byteRange, bandwidth);
+                }
+            }
+        }
+
+        final String encoding = cached.negotiate(request.headers().get(HttpHeaderNames.ACCEPT_ENCODING));
+        if (encoding != null) {
+            headers.add(HttpHeaderNames.CONTENT_ENCODING, encoding);
+        }
+        if (status.equals(HttpStatus.OK)) {
+            headers.add(HttpHeaderNames.ETAG, cached.etag(encoding));
+        }
+        return respondBody(context, headers, cached.body(encoding), bandwidth);
+    }
+
+    private HttpResponse respondFault(ServiceRequestContext context, ResponseHeadersBuilder headers,
+                                      HttpExchange exchange, HttpFaultType type) throws IOException {
+        final HttpResponseWriter writer = HttpResponse.streaming();
+        switch (type) {
+            case CONNECTION_CLOSE:
+                context.initiateConnectionShutdown(0);
+                writer.abort();
+                break;
+            case RESET_BEFORE_HEADERS:
+                // Aborting before the headers resets the stream, or closes the connection over HTTP/1.
+                writer.abort();
+                break;
+            case STALL:
+                context.clearRequestTimeout();
+                writer.write(headers.build());
+                break;
+            default:
+                final ByteBuffer body = faultBody(exchange);
+                final int length = body.remaining();
+                final int cut = length <= 1 ? 0 : ThreadLocalRandom.current().nextInt(1, length);
+                final ByteBuffer part = body.slice();
+                part.limit(cut);
+                if (type == HttpFaultType.TRUNCATED_BODY) {
+                    writer.write(headers.contentLength(length).build());
+                    writer.write(HttpData.wrap(Unpooled.wrappedBuffer(part)));
+                    writer.abort();
+                } else {
+                    writer.write(headers.contentLength(cut).build());
+                    writer.write(HttpData.wrap(Unpooled.wrappedBuffer(part)));
+                    writer.close();
+                }
+        }
+        return writer;
+    }
+
+    private ByteBuffer faultBody(HttpExchange exchange) throws IOException {
+        if (exchange.getResponseStream() != null) {
+            return ByteBuffer.wrap(exchange.getResponseStream().open(mapper).next(STREAM_CHUNK_SIZE));
+        }
+        final HttpResponseCache.Entry cached = responseCache.get(exchange);
+        return cached != null ? cached.body(null) : responseContent(exchange);
+    }
+
+    private static HttpResponse respondBody(ServiceRequestContext context, ResponseHeadersBuilder headers,
+                                            ByteBuffer body, HttpBandwidth bandwidth) {
+        if (bandwidth == null) {
+            return HttpResponse.of(headers.build(), HttpData.wrap(Unpooled.wrappedBuffer(body)));
+        }
+        headers.contentLength(body.remaining());
+        return respondChunked(context, headers.build(), chunkSize -> {
+            if (!body.hasRemaining()) {
+                return null;
+            }
+            final ByteBuffer chunk = body.slice();
+            chunk.limit(Math.min(chunkSize, chunk.remaining()));
+            body.position(body.position() + chunk.remaining());
+            return HttpData.wrap(Unpooled.wrappedBuffer(chunk));
+        }, bandwidth);
+    }
+
+    static HttpResponse respondChunked(ServiceRequestContext context, ResponseHeaders headers,
+                                       ChunkSource source, HttpBandwidth bandwidth) {
+        // A chunked body may take longer than the request timeout to be consumed by a slow client.
+        context.clearRequestTimeout();
+        final HttpResponseWriter writer = HttpResponse.streaming();
+        writer.write(headers);
+        writeNextChunk(context, writer, source, bandwidth);
+        return writer;
+    }
+
+    private static void writeNextChunk(ServiceRequestContext context, HttpResponseWriter writer,
+                                       ChunkSource source, HttpBandwidth bandwidth) {
+        final HttpData chunk;
+        try {
+            chunk = source.next(bandwidth == null ? STREAM_CHUNK_SIZE : bandwidth.chunkSize());
+        } catch (IOException e) {
+            writer.close(e);
+            return;
+        }
+        if (chunk == null) {
+            writer.close();
+            return;
+        }
+        final int length = chunk.length();
+        if (!writer.tryWrite(chunk)) {
+            return;
+        }
+        // Produce the next chunk only once the client has consumed this one.
+        if (bandwidth == null) {
+            writer.whenConsumed().thenRunAsync(() -> writeNextChunk(context, writer, source, null),
+                                               context.eventLoop());
+        } else {
+            writer.whenConsumed().thenRun(() -> context.eventLoop().schedule(
+                    () -> writeNextChunk(context, writer, source, bandwidth),
+                    bandwidth.intervalNanos(length), TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private static boolean isIfRangeFresh(HttpRequest request, HttpResponseCache.Entry cached) {
+        final String ifRange = request.headers().get(HttpHeaderNames.IF_RANGE);
+        // Only strong entity tags validate If-Range, and bodies carry no Last-Modified date to compare with.
+        return ifRange == null || ifRange.equals(cached.etag(null));
+    }
+
+    private static HttpResponse respondPartial(ServiceRequestContext context, ResponseHeadersBuilder headers,
+                                               ByteBuffer body, HttpByteRange byteRange,
+                                               HttpBandwidth bandwidth) {
+        if (!byteRange.isSatisfiable()) {
+            return HttpResponse.of(ResponseHeaders.builder(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                                                  .add(HttpHeaderNames.CONTENT_RANGE, byteRange.contentRange())
+                                                  .build());
+        }
+        headers.status(HttpStatus.PARTIAL_CONTENT)
+               .add(HttpHeaderNames.CONTENT_RANGE, byteRange.contentRange());
+        return respondBody(context, headers, byteRange.slice(body), bandwidth);
+    }
+
+    private static MediaType responseContentType(HttpExchange exchange) {
+        if (exchange.getResponseContentType() == null) {
+            return MediaType.JSON_UTF_8;
+        }
+        return MediaType.parse(exchange.getResponseContentType());
+    }
+
+    private ByteBuffer responseContent(HttpExchange exchange) throws JsonProcessingException {
+        final ByteBuffer responseBody = exchange.getResponseBody();
+        if (responseBody != null) {
+            return responseBody;
+        }
+        return ByteBuffer.wrap(mapper.writeValueAsBytes(exchange.getResponseObject()));
+    }
+
     private static Map<String, String> toMap(QueryParams queryParams) {
         final Map<String, String> map = new HashMap<>();
         for (Entry<String, String> entry : queryParams) {
@@ -138,4 +637,19 @@ public final class ArmeriaHttpSpecHandler extends AbstractHttpService {
         }
         return map;
     }
+
+    /**
+     * Produces the chunks of a response body sent through an HttpResponseWriter.
+     */
+    @FunctionalInterface
+    interface ChunkSource {
+        /**
+         * Produces the next chunk of the body.
+         *
+         * @param chunkSize The preferred number of bytes in the chunk.
+         * @return The next chunk, or {@code null} if the whole body has been produced.
+         * @throws IOException if the chunk cannot be produced.
+         */
+        HttpData next(int chunkSize) throws IOException;
+    }
 }
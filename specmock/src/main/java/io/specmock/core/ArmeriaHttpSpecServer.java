@@ -18,9 +18,13 @@ package io.specmock.core;
 
 import java.util.List;
 
+import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.server.Server;
 import com.linecorp.armeria.server.ServerBuilder;
 
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
 /**
  * This class represents an Armeria-based HTTP specification server that manages various HTTP specs.
  */
@@ -35,16 +39,58 @@ public final class ArmeriaHttpSpecServer {
      * @param specs The list of HTTP specifications to handle.
      */
     public ArmeriaHttpSpecServer(int port, List<HttpSpec> specs) {
+        this(port, specs, new HttpSpecServerOptions());
+    }
+
+    ArmeriaHttpSpecServer(int port, List<HttpSpec> specs, HttpSpecServerOptions options) {
         final ServerBuilder serverBuilder = Server.builder();
         serverBuilder.http(port);
 
         final ArmeriaRouteGenerator routeGenerator = new ArmeriaRouteGenerator();
         for (HttpSpec spec : specs) {
-            serverBuilder.service(routeGenerator.generate(spec), new ArmeriaHttpSpecHandler(spec));
+            serverBuilder.service(routeGenerator.generate(spec),
+                                  new ArmeriaHttpSpecHandler(spec, options));
+        }
+        if (options.getJournalExportPath() != null && options.getJournal() != null) {
+            serverBuilder.service(options.getJournalExportPath(),
+                                  new HttpJournalExportService(options.getJournal()));
+        }
+        if (options.getMetricsPath() != null) {
+            serverBuilder.service(options.getMetricsPath(), new HttpMetricsService(specs, this));
+        }
+        final HttpPassthrough passthrough = options.getPassthrough();
+        if (passthrough != null) {
+            // Registered last, so it only serves the paths no spec is routed on.
+            serverBuilder.serviceUnder("/", (context, request) -> HttpResponse.of(
+                    request.aggregate().thenApply(aggregated -> passthrough.forward(context, aggregated))));
         }
         server = serverBuilder.build();
     }
 
+    /**
+     * Retrieves the number of open client connections.
+     *
+     * @return The number of connections.
+     */
+    int connectionCount() {
+        return server.numConnections();
+    }
+
+    /**
+     * Retrieves the number of tasks waiting to run on the event loops serving the connections.
+     *
+     * @return The number of pending tasks.
+     */
+    long pendingTaskCount() {
+        long pendingTasks = 0;
+        for (EventExecutor eventLoop : server.config().workerGroup()) {
+            if (eventLoop instanceof SingleThreadEventExecutor) {
+                pendingTasks += ((SingleThreadEventExecutor) eventLoop).pendingTasks();
+            }
+        }
+        return pendingTasks;
+    }
+
     /**
      * Starts the HTTP server.
      */
@@ -53,9 +99,9 @@ public final class ArmeriaHttpSpecServer {
     }
 
     /**
-     * Stops the HTTP server.
+     * Stops the HTTP server and waits until the requests in flight are completed.
      */
     public void terminate() {
-        server.stop();
+        server.stop().join();
     }
 }
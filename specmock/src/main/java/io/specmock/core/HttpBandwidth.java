@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a limit on how fast a response body is sent, to simulate slow downstream services.
+ * The body is sent in chunks scheduled on the event loop timer, so a throttled response holds no thread.
+ */
+public final class HttpBandwidth {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int MAX_CHUNK_SIZE = 64 * 1024;
+
+    private final int chunkSize;
+    private final long bytesPerSecond;
+    private final long intervalNanos;
+
+    /**
+     * Creates a bandwidth cap. The body is sent in small chunks, each followed by a pause
+     * that keeps the average rate at the cap.
+     *
+     * @param bytesPerSecond The maximum number of body bytes sent per second.
+     * @return A new HttpBandwidth instance.
+     * @throws IllegalArgumentException if {@code bytesPerSecond} is not positive.
+     */
+    public static HttpBandwidth bytesPerSecond(long bytesPerSecond) {
+        if (bytesPerSecond <= 0) {
+            throw new IllegalArgumentException("bytesPerSecond must be positive: " + bytesPerSecond);
+        }
+        final long chunkSize = bytesPerSecond * TICK_NANOS / TimeUnit.SECONDS.toNanos(1);
+        return new HttpBandwidth((int) Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE)), bytesPerSecond, 0);
+    }
+
+    /**
+     * Creates a slow drip, which sends the body in chunks of a fixed size at a fixed interval.
+     *
+     * @param chunkSize The number of body bytes sent per chunk.
+     * @param interval  The pause after each chunk.
+     * @return A new HttpBandwidth instance.
+     * @throws IllegalArgumentException if {@code chunkSize} is not positive or {@code interval} is negative.
+     */
+    public static HttpBandwidth drip(int chunkSize, Duration interval) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        if (interval.isNegative()) {
+            throw new IllegalArgumentException("interval must not be negative: " + interval);
+        }
+        return new HttpBandwidth(chunkSize, 0, interval.toNanos());
+    }
+
+    /**
+     * Creates a bandwidth from its chunk size and pacing, as read back from a spec snapshot.
+     *
+     * @param chunkSize      The number of body bytes sent per chunk.
+     * @param bytesPerSecond The bandwidth cap, or {@code 0} for a drip.
+     * @param intervalNanos  The pause after each chunk of a drip, or {@code 0} for a bandwidth cap.
+     * @return A new HttpBandwidth instance.
+     */
+    static HttpBandwidth of(int chunkSize, long bytesPerSecond, long intervalNanos) {
+        return new HttpBandwidth(chunkSize, bytesPerSecond, intervalNanos);
+    }
+
+    private HttpBandwidth(int chunkSize, long bytesPerSecond, long intervalNanos) {
+        this.chunkSize = chunkSize;
+        this.bytesPerSecond = bytesPerSecond;
+        this.intervalNanos = intervalNanos;
+    }
+
+    /**
+     * Retrieves the number of body bytes sent per chunk.
+     *
+     * @return The chunk size in bytes.
+     */
+    int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Retrieves the bandwidth cap.
+     *
+     * @return The maximum number of body bytes sent per second, or {@code 0} for a drip.
+     */
+    long bytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * Retrieves the pause after each chunk of a drip.
+     *
+     * @return The pause in nanoseconds, or {@code 0} for a bandwidth cap.
+     */
+    long dripIntervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * Computes the pause after a chunk has been sent.
+     *
+     * @param chunkLength The number of bytes in the chunk, which may differ from the chunk size
+     *                    for generated bodies.
+     * @return The pause in nanoseconds.
+     */
+    long intervalNanos(int chunkLength) {
+        if (bytesPerSecond == 0) {
+            return intervalNanos;
+        }
+        return chunkLength * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond;
+    }
+}
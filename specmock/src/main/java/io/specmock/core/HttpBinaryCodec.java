@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Writes and reads the length-prefixed strings, byte arrays and string maps of the binary files of SpecMock,
+ * the spec snapshot and the journal log. A length of {@link #ABSENT} stands for {@code null}.
+ */
+final class HttpBinaryCodec {
+    static final int ABSENT = -1;
+
+    private HttpBinaryCodec() {
+    }
+
+    /**
+     * Writes a string as its UTF-8 bytes.
+     *
+     * @param out The output.
+     * @param value The string.
+     * @throws IOException if the output cannot be written.
+     */
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a string as its UTF-8 bytes, or as absent if it is {@code null}.
+     *
+     * @param out The output.
+     * @param value The string, may be {@code null}.
+     * @throws IOException if the output cannot be written.
+     */
+    static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(ABSENT);
+        } else {
+            writeString(out, value);
+        }
+    }
+
+    /**
+     * Writes a byte array.
+     *
+     * @param out The output.
+     * @param value The bytes.
+     * @throws IOException if the output cannot be written.
+     */
+    static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    /**
+     * Writes the bytes remaining in a buffer, or absent if it is {@code null}, without moving the buffer.
+     *
+     * @param out The output.
+     * @param value The bytes, may be {@code null}.
+     * @throws IOException if the output cannot be written.
+     */
+    static void writeNullableBytes(DataOutputStream out, ByteBuffer value) throws IOException {
+        if (value == null) {
+            out.writeInt(ABSENT);
+            return;
+        }
+        final ByteBuffer bytes = value.duplicate();
+        out.writeInt(bytes.remaining());
+        while (bytes.hasRemaining()) {
+            out.write(bytes.get());
+        }
+    }
+
+    /**
+     * Writes a map of strings.
+     *
+     * @param out The output.
+     * @param map The map.
+     * @throws IOException if the output cannot be written.
+     */
+    static void writeMap(DataOutputStream out, Map<String, String> map) throws IOException {
+        out.writeInt(map.size());
+        for (Entry<String, String> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param buffer The input.
+     * @return The string.
+     */
+    static String readString(ByteBuffer buffer) {
+        final byte[] value = new byte[buffer.getInt()];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a string written by {@link #writeNullableString(DataOutputStream, String)}.
+     *
+     * @param buffer The input.
+     * @return The string, or {@code null} if it was absent.
+     */
+    static String readNullableString(ByteBuffer buffer) {
+        final ByteBuffer value = readBytes(buffer);
+        return value == null ? null : StandardCharsets.UTF_8.decode(value).toString();
+    }
+
+    /**
+     * Reads a byte array written by {@link #writeBytes(DataOutputStream, byte[])} into a new array.
+     *
+     * @param buffer The input.
+     * @return The bytes.
+     */
+    static byte[] readByteArray(ByteBuffer buffer) {
+        final ByteBuffer slice = readBytes(buffer);
+        final byte[] value = new byte[slice.remaining()];
+        slice.get(value);
+        return value;
+    }
+
+    /**
+     * Reads bytes as a slice of the input, without copying them.
+     *
+     * @param buffer The input.
+     * @return The slice, or {@code null} if the bytes were absent.
+     */
+    static ByteBuffer readBytes(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length == ABSENT) {
+            return null;
+        }
+        final ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    /**
+     * Reads a map of strings written by {@link #writeMap(DataOutputStream, Map)}.
+     *
+     * @param buffer The input.
+     * @return The map.
+     */
+    static Map<String, String> readMap(ByteBuffer buffer) {
+        final int size = buffer.getInt();
+        final Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(readString(buffer), readString(buffer));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Represents a single byte range requested with the {@code Range} header, resolved against a body length.
+ */
+final class HttpByteRange {
+    private static final String BYTES_UNIT = "bytes=";
+
+    private final long start;
+    private final long end;
+    private final long length;
+
+    /**
+     * Parses the value of a {@code Range} header against the length of the response body.
+     * Only a single range is supported. Multiple ranges, other units and malformed values are ignored,
+     * which means the full body is served, as RFC 9110 allows.
+     *
+     * @param range  The value of the {@code Range} header.
+     * @param length The length of the response body.
+     * @return The byte range, or {@code null} if the header should be ignored.
+     */
+    static HttpByteRange parse(String range, long length) {
+        if (!range.startsWith(BYTES_UNIT) || range.indexOf(',') >= 0) {
+            return null;
+        }
+        final String spec = range.substring(BYTES_UNIT.length()).trim();
+        final int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            final String first = spec.substring(0, dash).trim();
+            final String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // A suffix range such as "bytes=-500" selects the last 500 bytes.
+                final long suffix = Long.parseLong(last);
+                return new HttpByteRange(Math.max(0, length - suffix), length - 1, length);
+            }
+
+            final long start = Long.parseLong(first);
+            final long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start < 0 || (!last.isEmpty() && Long.parseLong(last) < start)) {
+                return null;
+            }
+            return new HttpByteRange(start, end, length);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private HttpByteRange(long start, long end, long length) {
+        this.start = start;
+        this.end = end;
+        this.length = length;
+    }
+
+    /**
+     * Checks if the range selects at least one byte of the body.
+     *
+     * @return {@code true} if the range can be served, {@code false} if a 416 response is due.
+     */
+    boolean isSatisfiable() {
+        return start < length && start <= end;
+    }
+
+    /**
+     * Builds the value of the {@code Content-Range} response header.
+     *
+     * @return The {@code Content-Range} value, such as {@code bytes 0-499/1234}.
+     */
+    String contentRange() {
+        if (!isSatisfiable()) {
+            return "bytes */" + length;
+        }
+        return "bytes " + start + '-' + end + '/' + length;
+    }
+
+    /**
+     * Slices the selected bytes out of the body without copying them.
+     *
+     * @param body The full response body.
+     * @return A view of the selected bytes.
+     */
+    ByteBuffer slice(ByteBuffer body) {
+        final ByteBuffer slice = body.duplicate();
+        slice.position(slice.position() + (int) start);
+        slice.limit(slice.position() + (int) (end - start + 1));
+        return slice.slice();
+    }
+}
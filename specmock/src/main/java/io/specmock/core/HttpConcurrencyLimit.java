@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents a limit on the number of requests of a route that are handled at once.
+ * A request holds its permit until its response is complete, including any delay or throttling.
+ * An instance holds the count of its requests in flight, so it should be attached to a single HttpSpec.
+ */
+public final class HttpConcurrencyLimit {
+    private final int maxInFlight;
+    private final HttpStatus rejectStatus;
+    private final Duration retryAfter;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Creates a concurrency limit. Rejected requests get {@link HttpStatus#SERVICE_UNAVAILABLE}.
+     *
+     * @param maxInFlight The maximum number of requests handled at once.
+     * @return A new HttpConcurrencyLimit instance.
+     */
+    public static HttpConcurrencyLimit of(int maxInFlight) {
+        return of(maxInFlight, HttpStatus.SERVICE_UNAVAILABLE, null);
+    }
+
+    /**
+     * Creates a concurrency limit.
+     *
+     * @param maxInFlight  The maximum number of requests handled at once.
+     * @param rejectStatus The status of the responses to rejected requests.
+     * @param retryAfter   The value of the {@code Retry-After} header of rejected requests,
+     *                     or {@code null} to leave the header out.
+     * @return A new HttpConcurrencyLimit instance.
+     * @throws IllegalArgumentException if {@code maxInFlight} is not positive.
+     */
+    public static HttpConcurrencyLimit of(int maxInFlight, HttpStatus rejectStatus, Duration retryAfter) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        return new HttpConcurrencyLimit(maxInFlight, rejectStatus, retryAfter);
+    }
+
+    private HttpConcurrencyLimit(int maxInFlight, HttpStatus rejectStatus, Duration retryAfter) {
+        this.maxInFlight = maxInFlight;
+        this.rejectStatus = rejectStatus;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Retrieves the status of the responses to rejected requests.
+     *
+     * @return The rejection status.
+     */
+    public HttpStatus getRejectStatus() {
+        return rejectStatus;
+    }
+
+    /**
+     * Retrieves the maximum number of requests handled at once.
+     *
+     * @return The maximum number of requests in flight.
+     */
+    int maxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Retrieves the value of the {@code Retry-After} header of rejected requests.
+     *
+     * @return The retry delay, or {@code null} to leave the header out.
+     */
+    Duration retryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Retrieves the number of requests currently handled.
+     *
+     * @return The number of requests in flight.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Tries to take a permit for a request. A taken permit must be given back with {@link #release()}.
+     *
+     * @return {@code true} if the request is admitted, {@code false} if it should be rejected.
+     */
+    boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back the permit of a request whose response is complete.
+     */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Computes the value of the {@code Retry-After} header of a rejected request.
+     *
+     * @return The seconds the client should wait before retrying, or {@code -1} to leave the header out.
+     */
+    long retryAfterSeconds() {
+        return retryAfter == null ? -1 : retryAfter.getSeconds();
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Represents the delay applied before an HTTP exchange responds, either fixed or sampled from a distribution.
+ * Delays are scheduled on the event loop of the request, so a delayed response does not hold a thread.
+ * Sampling uses {@link ThreadLocalRandom} and immutable tables, so it is safe to share across threads.
+ */
+public final class HttpDelay {
+    static final int FIXED = 0;
+    static final int UNIFORM = 1;
+    static final int LOG_NORMAL = 2;
+    static final int QUANTILES = 3;
+
+    private static final double[] NO_PARAMETERS = new double[0];
+
+    private final int kind;
+    private final long[] nanos;
+    private final double[] parameters;
+    private final LongSupplier sampler;
+
+    /**
+     * Creates a delay that is always the same.
+     *
+     * @param delay The delay before responding.
+     * @return A new HttpDelay instance.
+     */
+    public static HttpDelay fixed(Duration delay) {
+        return new HttpDelay(FIXED, new long[] { requireNotNegative(delay).toNanos() }, NO_PARAMETERS);
+    }
+
+    /**
+     * Creates a delay that is uniformly distributed between the given bounds.
+     *
+     * @param min The minimum delay, inclusive.
+     * @param max The maximum delay, exclusive.
+     * @return A new HttpDelay instance.
+     * @throws IllegalArgumentException if a bound is negative or {@code max} is less than {@code min}.
+     */
+    public static HttpDelay uniform(Duration min, Duration max) {
+        final long minNanos = requireNotNegative(min).toNanos();
+        final long maxNanos = requireNotNegative(max).toNanos();
+        if (maxNanos < minNanos) {
+            throw new IllegalArgumentException("max must not be less than min: " + min + " > " + max);
+        }
+        if (maxNanos == minNanos) {
+            return new HttpDelay(FIXED, new long[] { minNanos }, NO_PARAMETERS);
+        }
+        return new HttpDelay(UNIFORM, new long[] { minNanos, maxNanos }, NO_PARAMETERS);
+    }
+
+    /**
+     * Creates a delay that follows a log-normal distribution, which has the long right tail
+     * typical of service response times.
+     *
+     * @param median The median delay.
+     * @param sigma  The standard deviation of the logarithm of the delay. Larger values give a longer tail.
+     * @return A new HttpDelay instance.
+     * @throws IllegalArgumentException if the median or sigma is negative.
+     */
+    public static HttpDelay logNormal(Duration median, double sigma) {
+        final long medianNanos = requireNotNegative(median).toNanos();
+        if (sigma < 0) {
+            throw new IllegalArgumentException("sigma must not be negative: " + sigma);
+        }
+        return new HttpDelay(LOG_NORMAL, new long[] { medianNanos }, new double[] { sigma });
+    }
+
+    /**
+     * Creates a delay that follows a percentile table, such as {@code {50: 20ms, 99: 250ms, 100: 1s}}.
+     * Delays between two percentiles are interpolated linearly, and delays below the lowest percentile
+     * are the delay of the lowest percentile.
+     *
+     * @param percentiles The delays at each percentile, from 0 to 100.
+     * @return A new HttpDelay instance.
+     * @throws IllegalArgumentException if the table is empty, or a percentile is out of range,
+     *                                  or a delay is negative.
+     */
+    public static HttpDelay percentiles(Map<Double, Duration> percentiles) {
+        final TreeMap<Double, Long> table = new TreeMap<>();
+        for (Entry<Double, Duration> entry : percentiles.entrySet()) {
+            if (entry.getKey() < 0 || entry.getKey() > 100) {
+                throw new IllegalArgumentException("percentile must be between 0 and 100: " + entry.getKey());
+            }
+            table.put(entry.getKey() / 100, requireNotNegative(entry.getValue()).toNanos());
+        }
+        return quantiles(table);
+    }
+
+    /**
+     * Creates a delay that replays a recorded latency distribution, read from a percentile distribution file
+     * as written by HdrHistogram's {@code outputPercentileDistribution}:
+     * <pre>{@code
+     *        Value     Percentile TotalCount 1/(1-Percentile)
+     *
+     *       12.415 0.000000000000          1           1.00
+     *       20.031 0.500000000000       5012           2.00
+     *      250.879 0.990000000000       9901         100.00
+     * #[Mean    =       24.310, StdDeviation   =       31.022]
+     * }</pre>
+     * Each data line starts with a value and its percentile as a fraction from 0 to 1, separated by
+     * whitespace or a comma. Other columns, comment lines starting with {@code #} and headers are ignored.
+     * The file is read once, and sampling afterward is a lock-free lookup in an immutable table.
+     *
+     * @param file The percentile distribution file.
+     * @param unit The unit of the values in the file, such as {@link TimeUnit#MILLISECONDS}.
+     * @return A new HttpDelay instance.
+     * @throws IOException if the file cannot be read, or holds no data line or a malformed data line.
+     */
+    public static HttpDelay percentileDistribution(Path file, TimeUnit unit) throws IOException {
+        final TreeMap<Double, Long> table = new TreeMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] columns = line.trim().split("[\\s,]+");
+                if (columns.length < 2 || columns[0].startsWith("#") || !isNumber(columns[0])) {
+                    continue;
+                }
+                final double value = Double.parseDouble(columns[0]);
+                final double quantile;
+                try {
+                    quantile = Double.parseDouble(columns[1]);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Malformed percentile in " + file + ": " + line, e);
+                }
+                if (value < 0 || quantile < 0 || quantile > 1) {
+                    throw new IOException("Percentile or value out of range in " + file + ": " + line);
+                }
+                table.merge(quantile, (long) (value * unit.toNanos(1)), Math::max);
+            }
+        }
+        if (table.isEmpty()) {
+            throw new IOException("No percentiles in " + file);
+        }
+        return quantiles(table);
+    }
+
+    private static HttpDelay quantiles(TreeMap<Double, Long> table) {
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("percentiles must not be empty");
+        }
+        final double[] quantiles = new double[table.size()];
+        final long[] nanos = new long[table.size()];
+        int i = 0;
+        for (Entry<Double, Long> entry : table.entrySet()) {
+            quantiles[i] = entry.getKey();
+            // Keep the table monotonic, so a higher percentile never samples a shorter delay.
+            nanos[i] = Math.max(entry.getValue(), i == 0 ? 0 : nanos[i - 1]);
+            i++;
+        }
+        return new HttpDelay(QUANTILES, nanos, quantiles);
+    }
+
+    /**
+     * Creates a delay from its definition, as read back from a spec snapshot.
+     *
+     * @param kind       The kind of the delay: {@link #FIXED}, {@link #UNIFORM}, {@link #LOG_NORMAL} or
+     *                   {@link #QUANTILES}.
+     * @param nanos      The delays defining the distribution, in nanoseconds.
+     * @param parameters The other parameters of the distribution: the sigma of a log-normal distribution,
+     *                   or the quantiles of a table.
+     * @return A new HttpDelay instance.
+     * @throws IllegalArgumentException if the kind is unknown.
+     */
+    static HttpDelay of(int kind, long[] nanos, double[] parameters) {
+        return new HttpDelay(kind, nanos, parameters);
+    }
+
+    private HttpDelay(int kind, long[] nanos, double[] parameters) {
+        this.kind = kind;
+        this.nanos = nanos;
+        this.parameters = parameters;
+        sampler = sampler(kind, nanos, parameters);
+    }
+
+    private static LongSupplier sampler(int kind, long[] nanos, double[] parameters) {
+        switch (kind) {
+            case FIXED:
+                final long fixedNanos = nanos[0];
+                return () -> fixedNanos;
+            case UNIFORM:
+                final long minNanos = nanos[0];
+                final long maxNanos = nanos[1];
+                return () -> ThreadLocalRandom.current().nextLong(minNanos, maxNanos);
+            case LOG_NORMAL:
+                final long medianNanos = nanos[0];
+                final double sigma = parameters[0];
+                return () -> (long) (medianNanos *
+                                     Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+            case QUANTILES:
+                return () -> interpolate(parameters, nanos, ThreadLocalRandom.current().nextDouble());
+            default:
+                throw new IllegalArgumentException("Unknown delay kind: " + kind);
+        }
+    }
+
+    /**
+     * Retrieves the kind of the delay.
+     *
+     * @return {@link #FIXED}, {@link #UNIFORM}, {@link #LOG_NORMAL} or {@link #QUANTILES}.
+     */
+    int kind() {
+        return kind;
+    }
+
+    /**
+     * Retrieves the delays defining the distribution.
+     *
+     * @return The delays in nanoseconds, which must not be modified.
+     */
+    long[] nanos() {
+        return nanos;
+    }
+
+    /**
+     * Retrieves the other parameters of the distribution.
+     *
+     * @return The sigma of a log-normal distribution, or the quantiles of a table, which must not be modified.
+     */
+    double[] parameters() {
+        return parameters;
+    }
+
+    /**
+     * Samples the delay of a single response.
+     *
+     * @return The delay in nanoseconds.
+     */
+    long sampleNanos() {
+        return sampler.getAsLong();
+    }
+
+    private static long interpolate(double[] quantiles, long[] nanos, double quantile) {
+        final int index = Arrays.binarySearch(quantiles, quantile);
+        if (index >= 0) {
+            return nanos[index];
+        }
+        final int upper = -index - 1;
+        if (upper == 0) {
+            return nanos[0];
+        }
+        if (upper == quantiles.length) {
+            return nanos[quantiles.length - 1];
+        }
+        final int lower = upper - 1;
+        final double fraction = (quantile - quantiles[lower]) / (quantiles[upper] - quantiles[lower]);
+        return nanos[lower] + (long) (fraction * (nanos[upper] - nanos[lower]));
+    }
+
+    private static boolean isNumber(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static Duration requireNotNegative(Duration delay) {
+        if (delay.isNegative()) {
+            throw new IllegalArgumentException("delay must not be negative: " + delay);
+        }
+        return delay;
+    }
+}
@@ -16,8 +16,10 @@
  */
 package io.specmock.core;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Represents an HTTP exchange configuration, containing request and response parameters.
@@ -29,6 +31,17 @@ public final class HttpExchange {
     private final Object requestObject;
     private final HttpStatus responseStatus;
     private final Object responseObject;
+    private final ByteBuffer responseBody;
+    private final String responseContentType;
+    private final HttpResponseStream responseStream;
+    private final HttpDelay delay;
+    private final HttpBandwidth bandwidth;
+    private final HttpFault fault;
+    private final double weight;
+    private final HttpScenario scenario;
+    private final String requiredState;
+    private final String newState;
+    private final LongAdder hitCount = new LongAdder();
 
     /**
      * Creates a new instance of HttpExchangeBuilder.
@@ -51,12 +64,79 @@ public final class HttpExchange {
     public HttpExchange(Map<String, String> pathParamMap, Map<String, String> queryParamMap,
                         Map<String, String> headerMap, Object requestObject, HttpStatus responseStatus,
                         Object responseObject) {
+        this(pathParamMap, queryParamMap, headerMap, requestObject, responseStatus, responseObject,
+             null, null, null, null, null, null, 0, null, null, null);
+    }
+
+    /**
+     * Constructs an HTTP exchange object whose response may be given as pre-encoded bytes.
+     *
+     * @param pathParamMap    The map containing path parameters.
+     * @param queryParamMap   The map containing query parameters.
+     * @param headerMap       The map containing headers.
+     * @param requestObject   The object representing the expected request.
+     * @param responseStatus  The HTTP status for the response.
+     * @param responseObject  The object representing the expected response.
+     * @param responseBody    The pre-encoded response body, or {@code null} to serialize the response object.
+     * @param responseContentType The content type of the response, or {@code null} for JSON.
+     * @param responseStream  The incrementally generated response body, or {@code null} if not streamed.
+     * @param delay           The delay before responding, or {@code null} to respond immediately.
+     * @param bandwidth       The bandwidth of the response body, or {@code null} for the server default.
+     * @param fault           The fault injected instead of the response, or {@code null} if none.
+     * @param weight          The weight among matching weighted exchanges, or {@code 0} if not weighted.
+     * @param scenario        The scenario the exchange is bound to, or {@code null} if none.
+     * @param requiredState   The state of the scenario in which the exchange matches, or {@code null} for any.
+     * @param newState        The state the scenario moves to when the exchange responds, or {@code null}.
+     */
+    HttpExchange(Map<String, String> pathParamMap, Map<String, String> queryParamMap,
+                 Map<String, String> headerMap, Object requestObject, HttpStatus responseStatus,
+                 Object responseObject, ByteBuffer responseBody, String responseContentType,
+                 HttpResponseStream responseStream, HttpDelay delay, HttpBandwidth bandwidth,
+                 HttpFault fault, double weight, HttpScenario scenario, String requiredState,
+                 String newState) {
         this.pathParamMap = pathParamMap;
         this.queryParamMap = queryParamMap;
         this.headerMap = headerMap;
         this.requestObject = requestObject;
         this.responseStatus = responseStatus;
         this.responseObject = responseObject;
+        this.responseBody = responseBody;
+        this.responseContentType = responseContentType;
+        this.responseStream = responseStream;
+        this.delay = delay;
+        this.bandwidth = bandwidth;
+        this.fault = fault;
+        this.weight = weight;
+        this.scenario = scenario;
+        this.requiredState = requiredState;
+        this.newState = newState;
+    }
+
+    /**
+     * Retrieves the map containing the expected path parameters.
+     *
+     * @return The map containing path parameters.
+     */
+    public Map<String, String> getPathParamMap() {
+        return pathParamMap;
+    }
+
+    /**
+     * Retrieves the map containing the expected query parameters.
+     *
+     * @return The map containing query parameters.
+     */
+    public Map<String, String> getQueryParamMap() {
+        return queryParamMap;
+    }
+
+    /**
+     * Retrieves the map containing the expected headers.
+     *
+     * @return The map containing headers.
+     */
+    public Map<String, String> getHeaderMap() {
+        return headerMap;
     }
 
     /**
@@ -86,6 +166,132 @@ public final class HttpExchange {
         return responseObject;
     }
 
+    /**
+     * Retrieves the pre-encoded response body.
+     * The returned buffer is a read-only view, so callers may consume it without affecting the exchange.
+     *
+     * @return The pre-encoded response body, or {@code null} if the response object is serialized instead.
+     */
+    public ByteBuffer getResponseBody() {
+        if (responseBody == null) {
+            return null;
+        }
+        return responseBody.asReadOnlyBuffer();
+    }
+
+    /**
+     * Retrieves the content type of the response.
+     *
+     * @return The content type of the response, or {@code null} if the response is JSON.
+     */
+    public String getResponseContentType() {
+        return responseContentType;
+    }
+
+    /**
+     * Retrieves the incrementally generated response body.
+     *
+     * @return The response stream, or {@code null} if the response body is not streamed.
+     */
+    public HttpResponseStream getResponseStream() {
+        return responseStream;
+    }
+
+    /**
+     * Retrieves the delay applied before responding.
+     *
+     * @return The delay, or {@code null} if the exchange responds immediately.
+     */
+    public HttpDelay getDelay() {
+        return delay;
+    }
+
+    /**
+     * Retrieves the bandwidth at which the response body is sent.
+     *
+     * @return The bandwidth, or {@code null} if the server default applies.
+     */
+    public HttpBandwidth getBandwidth() {
+        return bandwidth;
+    }
+
+    /**
+     * Retrieves the fault injected instead of the response.
+     *
+     * @return The fault, or {@code null} if the exchange always responds normally.
+     */
+    public HttpFault getFault() {
+        return fault;
+    }
+
+    /**
+     * Retrieves the weight of the exchange among the matching weighted exchanges of its spec.
+     *
+     * @return The weight, or {@code 0} if the exchange is not weighted.
+     */
+    public double getWeight() {
+        return weight;
+    }
+
+    /**
+     * Retrieves the scenario the exchange is bound to.
+     *
+     * @return The scenario, or {@code null} if the exchange does not depend on a scenario.
+     */
+    public HttpScenario getScenario() {
+        return scenario;
+    }
+
+    /**
+     * Retrieves the state of the scenario in which the exchange matches.
+     *
+     * @return The required state, or {@code null} if the exchange matches in any state.
+     */
+    public String getRequiredState() {
+        return requiredState;
+    }
+
+    /**
+     * Retrieves the state the scenario moves to when the exchange responds.
+     *
+     * @return The new state, or {@code null} if the exchange leaves the scenario as is.
+     */
+    public String getNewState() {
+        return newState;
+    }
+
+    /**
+     * Checks if the scenario of the exchange is not in the required state.
+     *
+     * @return {@code true} if the exchange does not match the current scenario state, {@code false} otherwise.
+     */
+    public boolean isNotMatchScenario() {
+        return scenario != null && requiredState != null && !requiredState.equals(scenario.getState());
+    }
+
+    /**
+     * Retrieves the number of times the exchange has been chosen to respond.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Records that the exchange has been chosen to respond.
+     */
+    void hit() {
+        hitCount.increment();
+    }
+
+    /**
+     * Resets the hit count to zero.
+     */
+    void resetHitCount() {
+        hitCount.reset();
+    }
+
     /**
      * Checks if the provided request and response classes match with the stored request and response objects.
      *
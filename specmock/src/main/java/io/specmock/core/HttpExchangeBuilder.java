@@ -16,6 +16,14 @@
  */
 package io.specmock.core;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,6 +37,16 @@ public final class HttpExchangeBuilder {
     private Object requestObject;
     private HttpStatus responseStatus = HttpStatus.OK;
     private Object responseObject;
+    private ByteBuffer responseBody;
+    private String responseContentType;
+    private HttpResponseStream responseStream;
+    private HttpDelay delay;
+    private HttpBandwidth bandwidth;
+    private HttpFault fault;
+    private double weight;
+    private HttpScenario scenario;
+    private String requiredState;
+    private String newState;
 
     HttpExchangeBuilder() {
     }
@@ -93,6 +111,152 @@ public final class HttpExchangeBuilder {
         return this;
     }
 
+    /**
+     * Sets the pre-encoded response body, which is sent as-is instead of serializing the response object.
+     * @param responseBody The encoded bytes of the response body.
+     * @return The HttpExchangeBuilder instance.
+     */
+    public HttpExchangeBuilder responseBody(byte[] responseBody) {
+        this.responseBody = ByteBuffer.wrap(responseBody);
+        return this;
+    }
+
+    /**
+     * Sets the pre-encoded response body from a buffer, such as a slice of a memory-mapped file.
+     * The remaining bytes of the buffer are sent as-is instead of serializing the response object.
+     * @param responseBody The buffer holding the encoded response body.
+     * @return The HttpExchangeBuilder instance.
+     */
+    public HttpExchangeBuilder responseBody(ByteBuffer responseBody) {
+        this.responseBody = responseBody;
+        return this;
+    }
+
+    /**
+     * Sets a file as the response body. The file is memory-mapped and served from the mapping,
+     * so the heap cost of the fixture does not depend on its size.
+     * @param responseFile The file holding the encoded response body.
+     * @return The HttpExchangeBuilder instance.
+     * @throws UncheckedIOException if the file cannot be mapped.
+     * @throws IllegalArgumentException if the file is larger than 2 GiB.
+     */
+    public HttpExchangeBuilder responseFile(Path responseFile) {
+        try (FileChannel channel = FileChannel.open(responseFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Response file is too large to map: " + responseFile);
+            }
+            this.responseBody = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the content type of the response, such as {@code application/octet-stream}.
+     * When not set, the response is sent as JSON.
+     * @param responseContentType The content type of the response.
+     * @return The HttpExchangeBuilder instance.
+     */
+    public HttpExchangeBuilder responseContentType(String responseContentType) {
+        this.responseContentType = responseContentType;
+        return this;
+    }
+
+    /**
+     * Sets a response body that is generated and streamed in chunks as the client consumes it,
+     * such as {@code HttpResponseStream.jsonArray(1_000_000, i -> new Item(i))}.
+     * @param responseStream The incrementally generated response body.
+     * @return The HttpExchangeBuilder instance.
+     */
+    public HttpExchangeBuilder responseStream(HttpResponseStream responseStream) {
+        this.responseStream = responseStream;
+        return this;
+    }
+
+    /**
+     * Sets a fixed delay before responding.
+     * @param delay The delay before responding.
+     * @return The HttpExchangeBuilder instance.
+     */
+    public HttpExchangeBuilder delay(Duration delay) {
+        return delay(HttpDelay.fixed(delay));
+    }
+
+    /**
+     * Sets the delay before responding, such as {@code HttpDelay.logNormal(Duration.ofMillis(20), 0.5)}.
+     * The delay is scheduled on the event loop, so delayed responses do not hold threads.
+     * @param delay The delay before responding.
+     * @return The HttpExchangeBuilder instance.
+     */
+    public HttpExchangeBuilder delay(HttpDelay delay) {
+        this.delay = delay;
+        return this;
+    }
+
+    /**
+     * Sets the bandwidth at which the response body is sent, such as {@code HttpBandwidth.bytesPerSecond(1024)}
+     * or {@code HttpBandwidth.drip(1, Duration.ofSeconds(1))}. The body is sent in chunks scheduled on
+     * the event loop, so throttled responses do not hold threads.
+     * @param bandwidth The bandwidth of the response body.
+     * @return The HttpExchangeBuilder instance.
+     */
+    public HttpExchangeBuilder bandwidth(HttpBandwidth bandwidth) {
+        this.bandwidth = bandwidth;
+        return this;
+    }
+
+    /**
+     * Sets a fault injected instead of the response, such as
+     * {@code HttpFault.of(HttpFaultType.TRUNCATED_BODY, 0.01)}.
+     * @param fault The fault injected instead of the response.
+     * @return The HttpExchangeBuilder instance.
+     */
+    public HttpExchangeBuilder fault(HttpFault fault) {
+        this.fault = fault;
+        return this;
+    }
+
+    /**
+     * Sets the weight of the exchange. When the first exchange matching a request is weighted,
+     * the response is chosen among all the weighted exchanges matching it, in proportion to their weights.
+     * @param weight The positive weight of the exchange.
+     * @return The HttpExchangeBuilder instance.
+     * @throws IllegalArgumentException if the weight is not positive.
+     */
+    public HttpExchangeBuilder weight(double weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight must be positive: " + weight);
+        }
+        this.weight = weight;
+        return this;
+    }
+
+    /**
+     * Binds the exchange to a scenario, so it matches only while the scenario is in the required state.
+     * @param scenario      The scenario the exchange is bound to.
+     * @param requiredState The state in which the exchange matches, or {@code null} for any state.
+     * @return The HttpExchangeBuilder instance.
+     */
+    public HttpExchangeBuilder scenario(HttpScenario scenario, String requiredState) {
+        return scenario(scenario, requiredState, null);
+    }
+
+    /**
+     * Binds the exchange to a scenario, so it matches only while the scenario is in the required state,
+     * and moves the scenario to a new state when the exchange responds.
+     * @param scenario      The scenario the exchange is bound to.
+     * @param requiredState The state in which the exchange matches, or {@code null} for any state.
+     * @param newState      The state the scenario moves to, or {@code null} to leave it as is.
+     * @return The HttpExchangeBuilder instance.
+     */
+    public HttpExchangeBuilder scenario(HttpScenario scenario, String requiredState, String newState) {
+        this.scenario = scenario;
+        this.requiredState = requiredState;
+        this.newState = newState;
+        return this;
+    }
+
     /**
      * Builds a new HttpExchange instance based on the configured parameters.
      * @return The constructed HttpExchange instance.
@@ -104,7 +268,17 @@ public final class HttpExchangeBuilder {
                 headerMap,
                 requestObject,
                 responseStatus,
-                responseObject
+                responseObject,
+                responseBody,
+                responseContentType,
+                responseStream,
+                delay,
+                bandwidth,
+                fault,
+                weight,
+                scenario,
+                requiredState,
+                newState
         );
     }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+/**
+ * Represents the metrics of an exchange at a point in time.
+ */
+public final class HttpExchangeMetricsSnapshot {
+    private final HttpExchange exchange;
+    private final long matchCount;
+    private final HttpLatencySnapshot serializeLatency;
+
+    HttpExchangeMetricsSnapshot(HttpExchange exchange, long matchCount, HttpLatencySnapshot serializeLatency) {
+        this.exchange = exchange;
+        this.matchCount = matchCount;
+        this.serializeLatency = serializeLatency;
+    }
+
+    /**
+     * Retrieves the exchange the metrics belong to.
+     *
+     * @return The exchange.
+     */
+    public HttpExchange getExchange() {
+        return exchange;
+    }
+
+    /**
+     * Retrieves the number of requests answered by the exchange.
+     *
+     * @return The number of matched requests.
+     */
+    public long getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Retrieves the latencies of building the responses of the exchange.
+     *
+     * @return The serialization latencies.
+     */
+    public HttpLatencySnapshot getSerializeLatency() {
+        return serializeLatency;
+    }
+}
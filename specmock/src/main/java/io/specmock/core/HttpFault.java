@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Represents a fault injected by an HTTP exchange with some probability, instead of its normal response.
+ * Whether a request is faulted is decided with {@link ThreadLocalRandom}, so injection adds no contention.
+ */
+public final class HttpFault {
+    private final HttpFaultType type;
+    private final double probability;
+
+    /**
+     * Creates a fault injected into every response.
+     *
+     * @param type The kind of fault.
+     * @return A new HttpFault instance.
+     */
+    public static HttpFault of(HttpFaultType type) {
+        return of(type, 1);
+    }
+
+    /**
+     * Creates a fault injected into a fraction of the responses.
+     *
+     * @param type        The kind of fault.
+     * @param probability The probability that a response is faulted, from 0 to 1.
+     * @return A new HttpFault instance.
+     * @throws IllegalArgumentException if the probability is not between 0 and 1.
+     */
+    public static HttpFault of(HttpFaultType type, double probability) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("probability must be between 0 and 1: " + probability);
+        }
+        return new HttpFault(type, probability);
+    }
+
+    private HttpFault(HttpFaultType type, double probability) {
+        this.type = type;
+        this.probability = probability;
+    }
+
+    /**
+     * Retrieves the kind of fault.
+     *
+     * @return The fault type.
+     */
+    public HttpFaultType getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the probability that a response is faulted.
+     *
+     * @return The probability, from 0 to 1.
+     */
+    public double getProbability() {
+        return probability;
+    }
+
+    /**
+     * Decides whether the fault is injected into the current response.
+     *
+     * @return {@code true} if the response should be faulted, {@code false} otherwise.
+     */
+    boolean sample() {
+        return probability >= 1 || ThreadLocalRandom.current().nextDouble() < probability;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+/**
+ * Enum representing the kinds of faults an HTTP exchange can inject instead of responding normally.
+ */
+public enum HttpFaultType {
+    /**
+     * Closes the connection without sending a response, failing every request in flight on it.
+     */
+    CONNECTION_CLOSE,
+    /**
+     * Resets the request before the response headers are sent. Over HTTP/2 only the stream is reset.
+     */
+    RESET_BEFORE_HEADERS,
+    /**
+     * Sends the response headers with the full content length, then aborts partway through the body.
+     */
+    TRUNCATED_BODY,
+    /**
+     * Sends a complete response whose body is cut at a random point, so it cannot be parsed.
+     */
+    MALFORMED_BODY,
+    /**
+     * Sends the response headers, then never sends the body nor ends the response.
+     */
+    STALL,
+}
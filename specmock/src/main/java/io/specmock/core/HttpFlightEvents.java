@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Defines the Flight Recorder events of the server. This class is only loaded through
+ * {@link HttpFlightRecorder} when the runtime provides {@code jdk.jfr}.
+ *
+ * <p>A disabled event type is checked on a prototype instance, so no event is allocated unless it is recorded.
+ */
+final class HttpFlightEvents {
+    private static final AggregationEvent AGGREGATION = new AggregationEvent();
+    private static final MatchingEvent MATCHING = new MatchingEvent();
+    private static final JsonComparisonEvent JSON_COMPARISON = new JsonComparisonEvent();
+    private static final EncodingEvent ENCODING = new EncodingEvent();
+    private static final MissEvent MISS = new MissEvent();
+
+    private HttpFlightEvents() {
+    }
+
+    /**
+     * Begins an aggregation event.
+     *
+     * @return The started event, or {@link HttpFlightRecorder#NOOP} if the event is not being recorded.
+     */
+    static HttpFlightRecorder.Span beginAggregation() {
+        return AGGREGATION.isEnabled() ? begin(new AggregationEvent()) : HttpFlightRecorder.NOOP;
+    }
+
+    /**
+     * Begins a matching event.
+     *
+     * @return The started event, or {@link HttpFlightRecorder#NOOP} if the event is not being recorded.
+     */
+    static HttpFlightRecorder.Span beginMatching() {
+        return MATCHING.isEnabled() ? begin(new MatchingEvent()) : HttpFlightRecorder.NOOP;
+    }
+
+    /**
+     * Begins a JSON comparison event.
+     *
+     * @return The started event, or {@link HttpFlightRecorder#NOOP} if the event is not being recorded.
+     */
+    static HttpFlightRecorder.Span beginJsonComparison() {
+        return JSON_COMPARISON.isEnabled() ? begin(new JsonComparisonEvent()) : HttpFlightRecorder.NOOP;
+    }
+
+    /**
+     * Begins an encoding event.
+     *
+     * @return The started event, or {@link HttpFlightRecorder#NOOP} if the event is not being recorded.
+     */
+    static HttpFlightRecorder.Span beginEncoding() {
+        return ENCODING.isEnabled() ? begin(new EncodingEvent()) : HttpFlightRecorder.NOOP;
+    }
+
+    /**
+     * Commits a miss event.
+     *
+     * @param route     The route of the request.
+     * @param exchanges The number of exchanges of the route.
+     */
+    static void miss(HttpRoute route, int exchanges) {
+        if (!MISS.isEnabled()) {
+            return;
+        }
+        final MissEvent event = new MissEvent();
+        if (event.shouldCommit()) {
+            event.method = route.getMethod().name();
+            event.path = route.getPath();
+            event.exchanges = exchanges;
+            event.commit();
+        }
+    }
+
+    private static <T extends RouteEvent> T begin(T event) {
+        event.begin();
+        return event;
+    }
+
+    /**
+     * An event timing a phase of handling a request on a route.
+     */
+    @Category("SpecMock")
+    @StackTrace(false)
+    abstract static class RouteEvent extends Event implements HttpFlightRecorder.Span {
+        @Label("Method")
+        String method;
+
+        @Label("Path")
+        String path;
+
+        @Override
+        public void end(HttpRoute route) {
+            end();
+            if (shouldCommit()) {
+                method = route.getMethod().name();
+                path = route.getPath();
+                commit();
+            }
+        }
+    }
+
+    @Name("io.specmock.Aggregation")
+    @Label("Request Body Aggregation")
+    @Description("Receiving the whole body of a request")
+    static final class AggregationEvent extends RouteEvent {
+        @Label("Body Size")
+        @DataAmount
+        long bodySize;
+
+        @Override
+        public void add(long value) {
+            bodySize += value;
+        }
+    }
+
+    @Name("io.specmock.Matching")
+    @Label("Exchange Matching")
+    @Description("Matching a request against the exchanges of its route")
+    static final class MatchingEvent extends RouteEvent {
+        @Label("Candidates")
+        @Description("Number of exchanges examined")
+        long candidates;
+
+        @Override
+        public void add(long value) {
+            candidates += value;
+        }
+    }
+
+    @Name("io.specmock.JsonComparison")
+    @Label("JSON Comparison")
+    @Description("Comparing a JSON request body with the request of an exchange")
+    static final class JsonComparisonEvent extends RouteEvent {
+        @Label("Body Size")
+        @DataAmount
+        long bodySize;
+
+        @Override
+        public void add(long value) {
+            bodySize += value;
+        }
+    }
+
+    @Name("io.specmock.Encoding")
+    @Label("Response Encoding")
+    @Description("Building the response of a matched exchange")
+    static final class EncodingEvent extends RouteEvent {
+        @Override
+        public void add(long value) {
+        }
+    }
+
+    @Name("io.specmock.Miss")
+    @Label("Exchange Miss")
+    @Description("A request matching no exchange, rejected with 406 Not Acceptable")
+    @Category("SpecMock")
+    @StackTrace(false)
+    static final class MissEvent extends Event {
+        @Label("Method")
+        String method;
+
+        @Label("Path")
+        String path;
+
+        @Label("Exchanges")
+        int exchanges;
+    }
+}
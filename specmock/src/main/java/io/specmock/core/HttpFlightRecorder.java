@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+/**
+ * Emits JDK Flight Recorder events for the phases of handling a request, when the runtime provides JFR.
+ *
+ * <p>The events are defined by {@link HttpFlightEvents}, which is only loaded when {@code jdk.jfr} is present,
+ * so the server still runs on Java 8 runtimes without it. Compiling them needs {@code jdk.jfr}, so SpecMock is
+ * built with a JDK 11 or later, or a Java 8 JDK that includes JFR. When an event is not being recorded, the
+ * methods return a shared no-op span after reading two flags, so nothing is allocated or timed on the request
+ * path.
+ */
+final class HttpFlightRecorder {
+    /**
+     * The span returned when an event is not being recorded.
+     */
+    static final Span NOOP = new Span() {
+        @Override
+        public void add(long value) {
+        }
+
+        @Override
+        public void end(HttpRoute route) {
+        }
+    };
+
+    /**
+     * The recorder of the running JVM, which emits events if the runtime provides JFR.
+     */
+    static final HttpFlightRecorder DEFAULT = new HttpFlightRecorder(isAvailable("jdk.jfr.Event"));
+
+    private final boolean available;
+
+    /**
+     * Constructs an HttpFlightRecorder.
+     *
+     * @param available Whether the runtime provides JFR. If not, no event is ever created.
+     */
+    HttpFlightRecorder(boolean available) {
+        this.available = available;
+    }
+
+    /**
+     * Begins an event timing the aggregation of a request body. The value of the span is the body size.
+     *
+     * @return The started span, or {@link #NOOP} if the event is not being recorded.
+     */
+    Span beginAggregation() {
+        return available ? HttpFlightEvents.beginAggregation() : NOOP;
+    }
+
+    /**
+     * Begins an event timing the matching of a request against the exchanges of a route. The value of the span
+     * is the number of candidate exchanges examined.
+     *
+     * @return The started span, or {@link #NOOP} if the event is not being recorded.
+     */
+    Span beginMatching() {
+        return available ? HttpFlightEvents.beginMatching() : NOOP;
+    }
+
+    /**
+     * Begins an event timing the comparison of a JSON request body with the request of an exchange. The value
+     * of the span is the body size.
+     *
+     * @return The started span, or {@link #NOOP} if the event is not being recorded.
+     */
+    Span beginJsonComparison() {
+        return available ? HttpFlightEvents.beginJsonComparison() : NOOP;
+    }
+
+    /**
+     * Begins an event timing the encoding of the response of an exchange. The span has no value.
+     *
+     * @return The started span, or {@link #NOOP} if the event is not being recorded.
+     */
+    Span beginEncoding() {
+        return available ? HttpFlightEvents.beginEncoding() : NOOP;
+    }
+
+    /**
+     * Emits an event for a request that matched no exchange and is rejected with {@code 406 Not Acceptable}.
+     *
+     * @param route     The route of the request.
+     * @param exchanges The number of exchanges of the route.
+     */
+    void miss(HttpRoute route, int exchanges) {
+        if (available) {
+            HttpFlightEvents.miss(route, exchanges);
+        }
+    }
+
+    /**
+     * Checks if the runtime provides the base class of Flight Recorder events.
+     *
+     * @param eventClassName The name of the base event class, {@code jdk.jfr.Event}.
+     * @return {@code true} if the class can be loaded, {@code false} otherwise.
+     */
+    static boolean isAvailable(String eventClassName) {
+        try {
+            Class.forName(eventClassName, false, HttpFlightRecorder.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * A started Flight Recorder event, committed when it ends. A span is not thread-safe.
+     */
+    interface Span {
+        /**
+         * Adds to the value measured by the event.
+         *
+         * @param value The value to add.
+         */
+        void add(long value);
+
+        /**
+         * Ends the event and commits it if it is still being recorded.
+         *
+         * @param route The route of the request the event belongs to.
+         */
+        void end(HttpRoute route);
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the requests received by the server in a bounded ring buffer, so tests can verify what clients sent.
+ *
+ * <p>Recording takes no lock. A writer claims the next sequence number from an {@link AtomicLong} and publishes
+ * its entry into the slot of that number with an ordered write, so concurrent requests never wait on each
+ * other. An entry whose slot has been claimed but not yet written is not visible to readers, and readers skip
+ * slots that have been overwritten by a newer entry while they were reading.
+ */
+public final class HttpJournal {
+    private final int capacity;
+    private final HttpJournalPolicy policy;
+    private final AtomicReferenceArray<HttpJournalEntry> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final LongAdder droppedCount = new LongAdder();
+    private volatile long clearedSequence;
+
+    /**
+     * Creates a journal that keeps the latest requests.
+     *
+     * @param capacity The maximum number of entries held.
+     * @return A new HttpJournal instance.
+     */
+    public static HttpJournal of(int capacity) {
+        return of(capacity, HttpJournalPolicy.OVERWRITE_OLDEST);
+    }
+
+    /**
+     * Creates a journal.
+     *
+     * @param capacity The maximum number of entries held.
+     * @param policy   What the journal does with a new request once it is full.
+     * @return A new HttpJournal instance.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public static HttpJournal of(int capacity, HttpJournalPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        return new HttpJournal(capacity, policy);
+    }
+
+    private HttpJournal(int capacity, HttpJournalPolicy policy) {
+        this.capacity = capacity;
+        this.policy = policy;
+        slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Retrieves the maximum number of entries held.
+     *
+     * @return The capacity of the journal.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Retrieves what the journal does with a new request once it is full.
+     *
+     * @return The journal policy.
+     */
+    public HttpJournalPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Retrieves the number of requests dropped because the journal was full.
+     * Requests are dropped only with the {@link HttpJournalPolicy#DROP_NEWEST} policy.
+     *
+     * @return The number of dropped requests.
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Retrieves the number of entries held.
+     *
+     * @return The number of entries, at most the capacity.
+     */
+    public int size() {
+        return (int) Math.min(nextSequence.get() - clearedSequence, capacity);
+    }
+
+    /**
+     * Retrieves the entries held, from the oldest to the latest.
+     *
+     * @return A snapshot of the entries.
+     */
+    public List<HttpJournalEntry> entries() {
+        final long end = nextSequence.get();
+        final long start = Math.max(clearedSequence, end - capacity);
+        final List<HttpJournalEntry> entries = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            final HttpJournalEntry entry = slots.get(slot(sequence));
+            if (entry != null && entry.getSequence() == sequence) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Iterates over the entries held, from the oldest to the latest, without copying them. The iteration
+     * covers the entries recorded before it started, and passes over those overwritten while it runs.
+     *
+     * @return An iterator over the entries.
+     */
+    public Iterator<HttpJournalEntry> iterator() {
+        final long end = nextSequence.get();
+        return new Iterator<HttpJournalEntry>() {
+            private long sequence = Math.max(clearedSequence, end - capacity);
+            private HttpJournalEntry next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && sequence < end) {
+                    final HttpJournalEntry entry = slots.get(slot(sequence));
+                    if (entry != null && entry.getSequence() == sequence) {
+                        next = entry;
+                    }
+                    sequence = Math.max(sequence + 1, firstSequence());
+                }
+                return next != null;
+            }
+
+            @Override
+            public HttpJournalEntry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final HttpJournalEntry entry = next;
+                next = null;
+                return entry;
+            }
+        };
+    }
+
+    /**
+     * Retrieves the sequence number of the oldest entry held.
+     *
+     * @return The first sequence number, equal to the next one if the journal is empty.
+     */
+    long firstSequence() {
+        return Math.max(clearedSequence, nextSequence.get() - capacity);
+    }
+
+    /**
+     * Retrieves the entries recorded from a sequence number on, up to the first entry not yet written,
+     * so that an entry still being recorded is not passed over.
+     *
+     * @param fromSequence The sequence number of the first entry to retrieve.
+     * @return The entries, from the oldest to the latest.
+     */
+    List<HttpJournalEntry> entriesFrom(long fromSequence) {
+        final long end = nextSequence.get();
+        final List<HttpJournalEntry> entries = new ArrayList<>();
+        for (long sequence = Math.max(fromSequence, firstSequence()); sequence < end; sequence++) {
+            final HttpJournalEntry entry = slots.get(slot(sequence));
+            if (entry == null || entry.getSequence() < sequence) {
+                break;
+            }
+            // A newer entry has overwritten this one since the end was read.
+            if (entry.getSequence() == sequence) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Removes every entry. Requests recorded concurrently may or may not be kept.
+     */
+    public void clear() {
+        clearedSequence = nextSequence.get();
+        droppedCount.reset();
+    }
+
+    /**
+     * Records a request.
+     *
+     * @param entry The entry of the request.
+     * @return {@code true} if the entry was recorded, {@code false} if it was dropped.
+     */
+    boolean record(HttpJournalEntry entry) {
+        final long sequence;
+        if (policy == HttpJournalPolicy.OVERWRITE_OLDEST) {
+            sequence = nextSequence.getAndIncrement();
+        } else {
+            long claimed;
+            do {
+                claimed = nextSequence.get();
+                if (claimed - clearedSequence >= capacity) {
+                    droppedCount.increment();
+                    return false;
+                }
+            } while (!nextSequence.compareAndSet(claimed, claimed + 1));
+            sequence = claimed;
+        }
+        entry.setSequence(sequence);
+        slots.lazySet(slot(sequence), entry);
+        return true;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
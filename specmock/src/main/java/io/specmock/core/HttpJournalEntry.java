@@ -0,0 +1,165 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Represents a request received by the server, as recorded in an {@link HttpJournal}.
+ */
+public final class HttpJournalEntry {
+    private final long timestampMillis;
+    private final HttpRoute route;
+    private final String path;
+    private final Map<String, String> pathParams;
+    private final Map<String, String> queryParams;
+    private final Map<String, String> headers;
+    private final ByteBuffer body;
+    private final HttpExchange exchange;
+    private final long durationNanos;
+    private long sequence;
+
+    HttpJournalEntry(long timestampMillis, HttpRoute route, String path, Map<String, String> pathParams,
+                     Map<String, String> queryParams, Map<String, String> headers, ByteBuffer body,
+                     HttpExchange exchange, long durationNanos) {
+        this.timestampMillis = timestampMillis;
+        this.route = route;
+        this.path = path;
+        this.pathParams = pathParams;
+        this.queryParams = queryParams;
+        this.headers = headers;
+        this.body = body;
+        this.exchange = exchange;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Retrieves the position of the entry in the journal, counted from the first request ever recorded.
+     *
+     * @return The sequence number of the entry.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Retrieves the time the request was received.
+     *
+     * @return The time in milliseconds since the epoch.
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Retrieves the route of the spec that received the request.
+     *
+     * @return The HTTP route.
+     */
+    public HttpRoute getRoute() {
+        return route;
+    }
+
+    /**
+     * Retrieves the HTTP method of the request.
+     *
+     * @return The HTTP method.
+     */
+    public HttpMethod getMethod() {
+        return route.getMethod();
+    }
+
+    /**
+     * Retrieves the path of the request, without its query string.
+     *
+     * @return The request path.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Retrieves the path parameters of the request.
+     *
+     * @return The path parameters, keyed by the names of the path variables of the route.
+     */
+    public Map<String, String> getPathParams() {
+        return pathParams;
+    }
+
+    /**
+     * Retrieves the query parameters of the request.
+     *
+     * @return The query parameters.
+     */
+    public Map<String, String> getQueryParams() {
+        return queryParams;
+    }
+
+    /**
+     * Retrieves the headers of the request.
+     *
+     * @return The request headers, keyed by their lower-case names.
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Retrieves the body of the request. The body is not copied when it is recorded.
+     *
+     * @return A read-only view of the request body, or {@code null} if the request was rejected before its
+     *      body was read.
+     */
+    public ByteBuffer getBody() {
+        return body == null ? null : body.asReadOnlyBuffer();
+    }
+
+    /**
+     * Retrieves the body of the request decoded as UTF-8.
+     *
+     * @return The request body, or {@code null} if the request was rejected before its body was read.
+     */
+    public String getBodyUtf8() {
+        return body == null ? null : StandardCharsets.UTF_8.decode(body.duplicate()).toString();
+    }
+
+    /**
+     * Retrieves the exchange that answered the request.
+     *
+     * @return The matched exchange, or {@code null} if no exchange answered the request.
+     */
+    public HttpExchange getExchange() {
+        return exchange;
+    }
+
+    /**
+     * Retrieves the time taken to match the request against the exchanges, from the moment it was received.
+     * It includes reading the request body, but not any delay or the sending of the response.
+     *
+     * @return The duration in nanoseconds.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.kotlin.KotlinModule;
+
+/**
+ * Exports journal entries as HAR or newline-delimited JSON.
+ *
+ * <p>The export is encoded entry by entry into chunks as it is written, so its size does not affect the heap.
+ * Entries are read from a snapshot of the journal taken without a lock, so requests keep being recorded while
+ * an export is written. As the journal does not record responses, the response of an entry is the one of its
+ * matched exchange; an entry without an exchange has the status 0. The response content of an exchange is
+ * encoded once per export, and content types that are not text are written in base64.
+ */
+public final class HttpJournalExport {
+    private static final int CHUNK_SIZE = 8192;
+    private static final String HTTP_VERSION = "HTTP/1.1";
+    private static final byte[] HAR_SUFFIX = "]}}".getBytes(StandardCharsets.UTF_8);
+    private static final String DEFAULT_MIME_TYPE = "application/json";
+    private static final Content NO_CONTENT = new Content(DEFAULT_MIME_TYPE, 0, null, null);
+
+    private HttpJournalExport() {
+    }
+
+    /**
+     * Writes entries to a stream, such as the entries of {@link HttpJournal#entries()} or of a
+     * {@link HttpJournalLogReader}.
+     *
+     * @param entries The entries to export, from the oldest to the latest.
+     * @param format  The export format.
+     * @param out     The stream to write to. It is not closed.
+     * @throws IOException if the stream cannot be written or an entry cannot be encoded.
+     */
+    public static void write(Iterator<HttpJournalEntry> entries, HttpJournalFormat format, OutputStream out)
+            throws IOException {
+        final Cursor cursor = open(entries, format);
+        for (byte[] chunk = cursor.next(CHUNK_SIZE); chunk != null; chunk = cursor.next(CHUNK_SIZE)) {
+            out.write(chunk);
+        }
+        out.flush();
+    }
+
+    /**
+     * Opens a cursor over the encoded export of entries.
+     *
+     * @param entries The entries to export, from the oldest to the latest.
+     * @param format  The export format.
+     * @return A new cursor positioned at the start of the export.
+     */
+    static Cursor open(Iterator<HttpJournalEntry> entries, HttpJournalFormat format) {
+        return new Cursor(entries, format);
+    }
+
+    /**
+     * Reads the encoded export chunk by chunk. A cursor is not thread-safe.
+     */
+    static final class Cursor {
+        private final ObjectMapper mapper = new ObjectMapper().registerModules(
+                new KotlinModule.Builder().build(), new JavaTimeModule());
+        // Keyed by identity: exchanges come from the specs of the server, so there are only so many of them.
+        private final Map<HttpExchange, Content> contents = new IdentityHashMap<>();
+        private final Iterator<HttpJournalEntry> entries;
+        private final HttpJournalFormat format;
+        private long count = -1;
+        private boolean finished;
+
+        private Cursor(Iterator<HttpJournalEntry> entries, HttpJournalFormat format) {
+            this.entries = entries;
+            this.format = format;
+        }
+
+        /**
+         * Encodes the next chunk of the export.
+         *
+         * @param chunkSize The number of bytes after which no more entries are added to the chunk.
+         * @return The encoded chunk, or {@code null} if the whole export has been read.
+         * @throws IOException if an entry cannot be encoded.
+         */
+        byte[] next(int chunkSize) throws IOException {
+            if (finished) {
+                return null;
+            }
+
+            final ByteArrayOutputStream chunk = new ByteArrayOutputStream(chunkSize);
+            if (count < 0) {
+                if (format == HttpJournalFormat.HAR) {
+                    chunk.write(harPrefix());
+                }
+                count = 0;
+            }
+            while (entries.hasNext() && chunk.size() < chunkSize) {
+                final HttpJournalEntry entry = entries.next();
+                if (format == HttpJournalFormat.HAR && count > 0) {
+                    chunk.write(',');
+                }
+                try (JsonGenerator generator = mapper.getFactory().createGenerator(chunk)) {
+                    if (format == HttpJournalFormat.HAR) {
+                        writeHarEntry(generator, entry);
+                    } else {
+                        writeNdjsonEntry(generator, entry);
+                    }
+                }
+                if (format == HttpJournalFormat.NDJSON) {
+                    chunk.write('\n');
+                }
+                count++;
+            }
+            if (!entries.hasNext()) {
+                if (format == HttpJournalFormat.HAR) {
+                    chunk.write(HAR_SUFFIX);
+                }
+                finished = true;
+            }
+            return chunk.toByteArray();
+        }
+
+        private byte[] harPrefix() throws IOException {
+            return ("{\"log\":{\"version\":\"1.2\",\"creator\":{\"name\":\"specmock\",\"version\":" +
+                    mapper.writeValueAsString(version()) + "},\"entries\":[").getBytes(StandardCharsets.UTF_8);
+        }
+
+        private void writeHarEntry(JsonGenerator generator, HttpJournalEntry entry) throws IOException {
+            final double timeMillis = entry.getDurationNanos() / 1_000_000.0;
+            generator.writeStartObject();
+            generator.writeStringField("startedDateTime",
+                                       Instant.ofEpochMilli(entry.getTimestampMillis()).toString());
+            generator.writeNumberField("time", timeMillis);
+
+            generator.writeObjectFieldStart("request");
+            generator.writeStringField("method", entry.getMethod().name());
+            generator.writeStringField("url", url(entry));
+            generator.writeStringField("httpVersion", HTTP_VERSION);
+            generator.writeArrayFieldStart("cookies");
+            generator.writeEndArray();
+            writeNameValues(generator, "headers", entry.getHeaders());
+            writeNameValues(generator, "queryString", entry.getQueryParams());
+            final String body = entry.getBodyUtf8();
+            if (body != null && !body.isEmpty()) {
+                generator.writeObjectFieldStart("postData");
+                generator.writeStringField("mimeType", mimeType(entry.getHeaders().get("content-type")));
+                generator.writeStringField("text", body);
+                generator.writeEndObject();
+            }
+            generator.writeNumberField("headersSize", -1);
+            generator.writeNumberField("bodySize", body == null ? -1 : entry.getBody().remaining());
+            generator.writeEndObject();
+
+            final HttpExchange exchange = entry.getExchange();
+            final Content content = content(exchange);
+            generator.writeObjectFieldStart("response");
+            generator.writeNumberField("status", exchange == null ? 0 : exchange.getResponseStatus().getCode());
+            generator.writeStringField("statusText",
+                                       exchange == null ? "" : exchange.getResponseStatus().getReasonPhrase());
+            generator.writeStringField("httpVersion", HTTP_VERSION);
+            generator.writeArrayFieldStart("cookies");
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("headers");
+            generator.writeEndArray();
+            generator.writeObjectFieldStart("content");
+            generator.writeNumberField("size", content.size);
+            generator.writeStringField("mimeType", content.mimeType);
+            if (content.text != null) {
+                generator.writeStringField("text", content.text);
+            }
+            if (content.encoding != null) {
+                generator.writeStringField("encoding", content.encoding);
+            }
+            generator.writeEndObject();
+            generator.writeStringField("redirectURL", "");
+            generator.writeNumberField("headersSize", -1);
+            generator.writeNumberField("bodySize", -1);
+            generator.writeEndObject();
+
+            generator.writeObjectFieldStart("cache");
+            generator.writeEndObject();
+            generator.writeObjectFieldStart("timings");
+            generator.writeNumberField("send", 0);
+            generator.writeNumberField("wait", timeMillis);
+            generator.writeNumberField("receive", 0);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+
+        private static void writeNdjsonEntry(JsonGenerator generator, HttpJournalEntry entry)
+                throws IOException {
+            final String timestamp = Instant.ofEpochMilli(entry.getTimestampMillis()).toString();
+            generator.writeStartObject();
+            generator.writeNumberField("sequence", entry.getSequence());
+            generator.writeStringField("timestamp", timestamp);
+            generator.writeStringField("method", entry.getMethod().name());
+            generator.writeStringField("route", entry.getRoute().getPath());
+            generator.writeStringField("path", entry.getPath());
+            writeMap(generator, "pathParams", entry.getPathParams());
+            writeMap(generator, "queryParams", entry.getQueryParams());
+            writeMap(generator, "headers", entry.getHeaders());
+            generator.writeStringField("body", entry.getBodyUtf8());
+            if (entry.getExchange() == null) {
+                generator.writeNullField("status");
+            } else {
+                generator.writeNumberField("status", entry.getExchange().getResponseStatus().getCode());
+            }
+            generator.writeNumberField("durationNanos", entry.getDurationNanos());
+            generator.writeEndObject();
+        }
+
+        private Content content(HttpExchange exchange) throws IOException {
+            if (exchange == null) {
+                return NO_CONTENT;
+            }
+            Content content = contents.get(exchange);
+            if (content == null) {
+                content = newContent(exchange);
+                contents.put(exchange, content);
+            }
+            return content;
+        }
+
+        private Content newContent(HttpExchange exchange) throws IOException {
+            final String contentType = exchange.getResponseContentType();
+            final String mimeType = contentType != null ? contentType : DEFAULT_MIME_TYPE;
+            if (exchange.getResponseStream() != null) {
+                return new Content(mimeType, 0, null, null);
+            }
+            final ByteBuffer responseBody = exchange.getResponseBody();
+            if (responseBody == null) {
+                final byte[] bytes = mapper.writeValueAsBytes(exchange.getResponseObject());
+                return new Content(mimeType, bytes.length, new String(bytes, StandardCharsets.UTF_8), null);
+            }
+            final ByteBuffer body = responseBody.duplicate();
+            final int size = body.remaining();
+            if (isText(mimeType)) {
+                return new Content(mimeType, size, StandardCharsets.UTF_8.decode(body).toString(), null);
+            }
+            final byte[] bytes = new byte[size];
+            body.get(bytes);
+            return new Content(mimeType, size, Base64.getEncoder().encodeToString(bytes), "base64");
+        }
+
+        private static void writeNameValues(JsonGenerator generator, String field, Map<String, String> values)
+                throws IOException {
+            generator.writeArrayFieldStart(field);
+            for (Entry<String, String> each : values.entrySet()) {
+                generator.writeStartObject();
+                generator.writeStringField("name", each.getKey());
+                generator.writeStringField("value", each.getValue());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+
+        private static void writeMap(JsonGenerator generator, String field, Map<String, String> values)
+                throws IOException {
+            generator.writeObjectFieldStart(field);
+            for (Entry<String, String> each : values.entrySet()) {
+                generator.writeStringField(each.getKey(), each.getValue());
+            }
+            generator.writeEndObject();
+        }
+
+        private static String url(HttpJournalEntry entry) throws UnsupportedEncodingException {
+            final String host = entry.getHeaders().get("host");
+            final StringBuilder url = new StringBuilder("http://").append(host != null ? host : "localhost")
+                                                                  .append(entry.getPath());
+            char separator = '?';
+            for (Entry<String, String> each : entry.getQueryParams().entrySet()) {
+                url.append(separator)
+                   .append(URLEncoder.encode(each.getKey(), "UTF-8"))
+                   .append('=')
+                   .append(URLEncoder.encode(each.getValue(), "UTF-8"));
+                separator = '&';
+            }
+            return url.toString();
+        }
+
+        private static boolean isText(String mimeType) {
+            final String type = mimeType.toLowerCase(Locale.ROOT);
+            return type.startsWith("text/") || type.contains("json") || type.contains("xml");
+        }
+
+        private static String mimeType(String contentType) {
+            return contentType != null ? contentType : "application/octet-stream";
+        }
+
+        private static String version() {
+            final String version = HttpJournalExport.class.getPackage().getImplementationVersion();
+            return version != null ? version : "unknown";
+        }
+    }
+
+    /**
+     * The response content of an exchange, as written to a HAR export.
+     */
+    private static final class Content {
+        private final String mimeType;
+        private final int size;
+        private final String text;
+        private final String encoding;
+
+        Content(String mimeType, int size, String text, String encoding) {
+            this.mimeType = mimeType;
+            this.size = size;
+            this.text = text;
+            this.encoding = encoding;
+        }
+    }
+}
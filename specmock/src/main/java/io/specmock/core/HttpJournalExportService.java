@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.util.Locale;
+
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.server.AbstractHttpService;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+/**
+ * Serves the export of the journal over HTTP. The format is chosen by the {@code format} query parameter,
+ * {@code har} or {@code ndjson} by default, and the export is encoded chunk by chunk as the client reads it.
+ */
+final class HttpJournalExportService extends AbstractHttpService {
+    private final HttpJournal journal;
+
+    /**
+     * Constructs an HttpJournalExportService exporting a journal.
+     *
+     * @param journal The journal to export.
+     */
+    HttpJournalExportService(HttpJournal journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    protected HttpResponse doGet(ServiceRequestContext context, HttpRequest request) {
+        final String formatName = context.queryParams().get("format");
+        final HttpJournalFormat format;
+        try {
+            format = formatName == null ? HttpJournalFormat.NDJSON
+                                        : HttpJournalFormat.valueOf(formatName.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return HttpResponse.of(HttpStatus.BAD_REQUEST, MediaType.PLAIN_TEXT_UTF_8,
+                                   HttpData.ofUtf8("Unknown export format: " + formatName));
+        }
+
+        final HttpJournalExport.Cursor cursor = HttpJournalExport.open(journal.iterator(), format);
+        final ResponseHeaders headers = ResponseHeaders.builder(HttpStatus.OK)
+                                                       .contentType(MediaType.parse(format.getContentType()))
+                                                       .build();
+        return ArmeriaHttpSpecHandler.respondChunked(context, headers, chunkSize -> {
+            final byte[] chunk = cursor.next(chunkSize);
+            return chunk != null ? HttpData.wrap(chunk) : null;
+        }, null);
+    }
+}
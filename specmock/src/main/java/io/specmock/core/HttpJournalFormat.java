@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+/**
+ * Enum representing the formats the journal can be exported in.
+ */
+public enum HttpJournalFormat {
+    /**
+     * HTTP Archive 1.2, a single JSON document read by browsers and traffic analysis tools.
+     */
+    HAR("application/json"),
+    /**
+     * Newline-delimited JSON, one request per line.
+     */
+    NDJSON("application/x-ndjson"),
+    ;
+
+    private final String contentType;
+
+    HttpJournalFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * Retrieves the media type of an export in this format.
+     *
+     * @return The content type.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+}
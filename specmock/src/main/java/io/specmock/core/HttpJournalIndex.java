@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+/**
+ * Finds the journal entries matching a request pattern through secondary indexes, so a verification does not
+ * scan a large journal.
+ *
+ * <p>An index over a field, such as the route or a header, is built the first time a pattern has a condition
+ * on that field, and from then on only the entries recorded since the previous verification are added to it.
+ * Entries overwritten or cleared from the journal are pruned from the indexes. Indexing runs on the thread
+ * verifying, never on the threads recording.
+ */
+final class HttpJournalIndex {
+    private final HttpJournal journal;
+    private final Map<String, Index> indexes = new HashMap<>();
+
+    /**
+     * Constructs an HttpJournalIndex over a journal.
+     *
+     * @param journal The journal whose entries are indexed.
+     */
+    HttpJournalIndex(HttpJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Finds the entries matching a pattern.
+     *
+     * @param pattern The request pattern.
+     * @return The matching entries, from the oldest to the latest.
+     */
+    synchronized List<HttpJournalEntry> find(HttpRequestPattern pattern) {
+        final long firstSequence = journal.firstSequence();
+        final List<Collection<HttpJournalEntry>> lookups = new ArrayList<>();
+        if (pattern.getRoute() != null) {
+            lookups.add(lookup("route", entry -> routeKey(entry.getRoute()), routeKey(pattern.getRoute()),
+                               firstSequence));
+        }
+        if (pattern.getPath() != null) {
+            lookups.add(lookup("path", HttpJournalEntry::getPath, pattern.getPath(), firstSequence));
+        }
+        if (pattern.getExchange() != null) {
+            lookups.add(lookup("exchange", HttpJournalEntry::getExchange, pattern.getExchange(),
+                               firstSequence));
+        }
+        for (Entry<String, String> each : pattern.getPathParams().entrySet()) {
+            lookups.add(lookup("pathParam:" + each.getKey(), entry -> entry.getPathParams().get(each.getKey()),
+                               each.getValue(), firstSequence));
+        }
+        for (Entry<String, String> each : pattern.getQueryParams().entrySet()) {
+            lookups.add(lookup("queryParam:" + each.getKey(),
+                               entry -> entry.getQueryParams().get(each.getKey()),
+                               each.getValue(), firstSequence));
+        }
+        for (Entry<String, String> each : pattern.getHeaders().entrySet()) {
+            lookups.add(lookup("header:" + each.getKey(), entry -> entry.getHeaders().get(each.getKey()),
+                               each.getValue(), firstSequence));
+        }
+
+        Collection<HttpJournalEntry> candidates = null;
+        for (Collection<HttpJournalEntry> lookup : lookups) {
+            if (candidates == null || lookup.size() < candidates.size()) {
+                candidates = lookup;
+            }
+        }
+        final List<HttpJournalEntry> found = new ArrayList<>();
+        for (HttpJournalEntry entry : candidates != null ? candidates : journal.entries()) {
+            if (entry.getSequence() >= firstSequence && pattern.isMatch(entry)) {
+                found.add(entry);
+            }
+        }
+        return found;
+    }
+
+    private Collection<HttpJournalEntry> lookup(String field, Function<HttpJournalEntry, Object> key,
+                                                Object value, long firstSequence) {
+        final Index index = indexes.computeIfAbsent(field, unused -> new Index(key));
+        index.update(journal, firstSequence);
+        final Collection<HttpJournalEntry> entries = index.entries.get(value);
+        return entries != null ? entries : Collections.emptyList();
+    }
+
+    private static String routeKey(HttpRoute route) {
+        return route.getMethod() + " " + route.getPath();
+    }
+
+    /**
+     * An index from the values of a field to the entries holding them, in the order they were recorded.
+     */
+    private static final class Index {
+        private final Function<HttpJournalEntry, Object> key;
+        private final Map<Object, ArrayDeque<HttpJournalEntry>> entries = new HashMap<>();
+        private long nextSequence;
+        private long prunedSequence;
+
+        private Index(Function<HttpJournalEntry, Object> key) {
+            this.key = key;
+        }
+
+        private void update(HttpJournal journal, long firstSequence) {
+            if (firstSequence > prunedSequence) {
+                entries.values().removeIf(indexed -> {
+                    while (!indexed.isEmpty() && indexed.peekFirst().getSequence() < firstSequence) {
+                        indexed.pollFirst();
+                    }
+                    return indexed.isEmpty();
+                });
+                prunedSequence = firstSequence;
+            }
+            for (HttpJournalEntry entry : journal.entriesFrom(nextSequence)) {
+                final Object value = key.apply(entry);
+                if (value != null) {
+                    entries.computeIfAbsent(value, unused -> new ArrayDeque<>()).addLast(entry);
+                }
+                nextSequence = entry.getSequence() + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persists the requests recorded by an {@link HttpJournal} to an append-only log on local disk, so a long
+ * run can keep far more requests than the journal holds in the heap.
+ *
+ * <p>The log is a directory of segments. A segment is a file of a fixed size, memory-mapped and filled with
+ * length-prefixed entries; once full, the log rolls over to a new segment. Request threads never write to
+ * the log: a background thread takes the entries recorded since its previous pass from the journal, appends
+ * them in a batch and flushes the segment once per pass. Entries overwritten in the journal before the thread
+ * reached them are counted as lost. The oldest segments beyond the maximum total size or age are deleted on
+ * every roll and every pass.
+ *
+ * <p>The exchange that answered a request is not persisted, so entries read back from the log have none.
+ */
+public final class HttpJournalLog implements Closeable {
+    static final int MAGIC = 0x53504d4a; // "SPMJ"
+    static final int VERSION = 1;
+    static final int HEADER_LENGTH = 8;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxSize;
+    private final Duration maxAge;
+    private final Duration flushInterval;
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong lostCount = new AtomicLong();
+    private Path segmentFile;
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    private HttpJournal journal;
+    private long nextSequence;
+    private ScheduledExecutorService spiller;
+    private volatile IOException failure;
+
+    /**
+     * Creates a new instance of HttpJournalLogBuilder.
+     *
+     * @return A new HttpJournalLogBuilder instance.
+     */
+    public static HttpJournalLogBuilder builder() {
+        return new HttpJournalLogBuilder();
+    }
+
+    /**
+     * Opens a reader over the entries of a log directory, from the oldest segment to the latest.
+     *
+     * @param directory The log directory.
+     * @return A new reader.
+     * @throws IOException if the directory cannot be listed.
+     */
+    public static HttpJournalLogReader reader(Path directory) throws IOException {
+        return new HttpJournalLogReader(segments(directory));
+    }
+
+    HttpJournalLog(Path directory, int segmentSize, long maxSize, Duration maxAge, Duration flushInterval)
+            throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+        this.flushInterval = flushInterval;
+        Files.createDirectories(directory);
+        final List<Path> segments = segments(directory);
+        if (!segments.isEmpty()) {
+            segmentIndex = segmentIndex(segments.get(segments.size() - 1));
+        }
+        roll(0);
+    }
+
+    /**
+     * Retrieves the directory holding the segments of the log.
+     *
+     * @return The log directory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Retrieves the number of entries written to the log.
+     *
+     * @return The number of written entries.
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * Retrieves the number of entries removed from the journal before they could be written to the log.
+     *
+     * @return The number of lost entries.
+     */
+    public long getLostCount() {
+        return lostCount.get();
+    }
+
+    /**
+     * Starts writing the entries recorded by a journal to the log in the background.
+     *
+     * @param journal The journal whose entries are persisted.
+     */
+    synchronized void start(HttpJournal journal) {
+        if (spiller != null) {
+            return;
+        }
+        this.journal = journal;
+        nextSequence = journal.firstSequence();
+        spiller = Executors.newSingleThreadScheduledExecutor(task -> {
+            final Thread thread = new Thread(task, "specmock-journal-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long intervalNanos = flushInterval.toNanos();
+        spiller.scheduleWithFixedDelay(() -> {
+            try {
+                spill();
+            } catch (IOException e) {
+                failure = e;
+                throw new UncheckedIOException(e);
+            }
+        }, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Writes the entries recorded since the previous pass to the log, then flushes the current segment.
+     *
+     * @throws IOException if the log cannot be written.
+     */
+    synchronized void spill() throws IOException {
+        if (journal == null || segment == null) {
+            return;
+        }
+        final long firstSequence = journal.firstSequence();
+        if (firstSequence > nextSequence) {
+            lostCount.addAndGet(firstSequence - nextSequence);
+            nextSequence = firstSequence;
+        }
+        final List<HttpJournalEntry> entries = journal.entriesFrom(nextSequence);
+        for (HttpJournalEntry entry : entries) {
+            append(entry);
+            nextSequence = entry.getSequence() + 1;
+        }
+        if (!entries.isEmpty()) {
+            segment.force();
+        }
+        // Segments also expire while the current one is still filling, so an idle log keeps its retention.
+        deleteExpiredSegments();
+    }
+
+    /**
+     * Appends an entry to the current segment, rolling over to a new segment if it does not fit.
+     *
+     * @param entry The entry to append.
+     * @throws IOException if a new segment cannot be created.
+     */
+    synchronized void append(HttpJournalEntry entry) throws IOException {
+        final byte[] record = encode(entry);
+        if (segment.remaining() < 4 + record.length) {
+            roll(4 + record.length);
+        }
+        final int position = segment.position();
+        segment.position(position + 4);
+        segment.put(record);
+        // The length is written last, so a reader of the segment never sees a partial entry.
+        segment.putInt(position, record.length);
+        writtenCount.incrementAndGet();
+    }
+
+    /**
+     * Stops writing in the background, then writes the remaining entries of the journal and flushes the log.
+     *
+     * @throws IOException if the log cannot be written, now or by an earlier background pass.
+     */
+    @Override
+    public void close() throws IOException {
+        final ScheduledExecutorService spiller;
+        synchronized (this) {
+            spiller = this.spiller;
+        }
+        if (spiller != null) {
+            spiller.shutdown();
+            try {
+                spiller.awaitTermination(flushInterval.toMillis() + 1000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (failure != null) {
+                throw failure;
+            }
+            spill();
+            if (segment != null) {
+                segment.force();
+                segment = null;
+            }
+        }
+    }
+
+    private void roll(int minimumSize) throws IOException {
+        if (segment != null) {
+            segment.force();
+            // Age is counted from the last write, which memory-mapped writes do not always stamp on the file.
+            Files.setLastModifiedTime(segmentFile, FileTime.fromMillis(System.currentTimeMillis()));
+        }
+        segmentIndex++;
+        segmentFile = directory.resolve(SEGMENT_PREFIX + String.format("%020d", segmentIndex) + SEGMENT_SUFFIX);
+        final int size = Math.max(segmentSize, HEADER_LENGTH + minimumSize);
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.CREATE_NEW,
+                                                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(MapMode.READ_WRITE, 0, size);
+        }
+        segment.putInt(MAGIC).putInt(VERSION);
+        deleteExpiredSegments();
+    }
+
+    private void deleteExpiredSegments() throws IOException {
+        if (maxSize <= 0 && maxAge == null) {
+            return;
+        }
+        final List<Path> segments = segments(directory);
+        long totalSize = 0;
+        for (Path each : segments) {
+            totalSize += Files.size(each);
+        }
+        final long expiredMillis = maxAge == null ? Long.MIN_VALUE
+                                                  : System.currentTimeMillis() - maxAge.toMillis();
+        for (Path each : segments) {
+            if (each.equals(segmentFile)) {
+                break;
+            }
+            final long size = Files.size(each);
+            if ((maxSize > 0 && totalSize > maxSize) ||
+                Files.getLastModifiedTime(each).toMillis() < expiredMillis) {
+                Files.deleteIfExists(each);
+                totalSize -= size;
+            }
+        }
+    }
+
+    /**
+     * Lists the segments of a log directory, from the oldest to the latest.
+     *
+     * @param directory The log directory.
+     * @return The segment files.
+     * @throws IOException if the directory cannot be listed.
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        final List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                                                                     SEGMENT_PREFIX + '*' + SEGMENT_SUFFIX)) {
+            for (Path each : stream) {
+                segments.add(each);
+            }
+        }
+        // Segment indexes are zero-padded, so the names sort in the order the segments were created.
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private static long segmentIndex(Path segment) {
+        final String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static byte[] encode(HttpJournalEntry entry) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(entry.getSequence());
+            out.writeLong(entry.getTimestampMillis());
+            out.writeLong(entry.getDurationNanos());
+            HttpBinaryCodec.writeString(out, entry.getMethod().name());
+            HttpBinaryCodec.writeString(out, entry.getRoute().getPath());
+            HttpBinaryCodec.writeString(out, entry.getPath());
+            HttpBinaryCodec.writeMap(out, entry.getPathParams());
+            HttpBinaryCodec.writeMap(out, entry.getQueryParams());
+            HttpBinaryCodec.writeMap(out, entry.getHeaders());
+            HttpBinaryCodec.writeNullableBytes(out, entry.getBody());
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an entry written to a segment.
+     *
+     * @param buffer The segment, positioned at the entry, after its length.
+     * @return The decoded entry, whose body is a slice of the segment.
+     */
+    static HttpJournalEntry decode(ByteBuffer buffer) {
+        final long sequence = buffer.getLong();
+        final long timestampMillis = buffer.getLong();
+        final long durationNanos = buffer.getLong();
+        final String method = HttpBinaryCodec.readString(buffer);
+        final HttpRoute route = HttpRoute.of(method, HttpBinaryCodec.readString(buffer));
+        final String path = HttpBinaryCodec.readString(buffer);
+        final Map<String, String> pathParams = HttpBinaryCodec.readMap(buffer);
+        final Map<String, String> queryParams = HttpBinaryCodec.readMap(buffer);
+        final Map<String, String> headers = HttpBinaryCodec.readMap(buffer);
+        final ByteBuffer body = HttpBinaryCodec.readBytes(buffer);
+        final HttpJournalEntry entry = new HttpJournalEntry(timestampMillis, route, path, pathParams,
+                                                            queryParams, headers, body, null, durationNanos);
+        entry.setSequence(sequence);
+        return entry;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Builder class for constructing HttpJournalLog instances.
+ */
+public final class HttpJournalLogBuilder {
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private Path directory;
+    private int segmentSize = DEFAULT_SEGMENT_SIZE;
+    private long maxSize;
+    private Duration maxAge;
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    HttpJournalLogBuilder() {
+    }
+
+    /**
+     * Sets the directory holding the segments of the log. It is created if it does not exist.
+     *
+     * @param directory The log directory.
+     * @return The HttpJournalLogBuilder instance.
+     */
+    public HttpJournalLogBuilder directory(Path directory) {
+        this.directory = directory;
+        return this;
+    }
+
+    /**
+     * Sets the size of a segment, after which the log rolls over to a new segment. Defaults to 64 MiB.
+     *
+     * @param segmentSize The segment size in bytes.
+     * @return The HttpJournalLogBuilder instance.
+     * @throws IllegalArgumentException if the size is not positive.
+     */
+    public HttpJournalLogBuilder segmentSize(int segmentSize) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("segmentSize must be positive: " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+        return this;
+    }
+
+    /**
+     * Sets the total size of the segments, beyond which the oldest segments are deleted when the log rolls.
+     *
+     * @param maxSize The maximum total size in bytes.
+     * @return The HttpJournalLogBuilder instance.
+     */
+    public HttpJournalLogBuilder maxSize(long maxSize) {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    /**
+     * Sets the age after which a segment is deleted when the log rolls.
+     *
+     * @param maxAge The maximum age of a segment, counted from its last write.
+     * @return The HttpJournalLogBuilder instance.
+     */
+    public HttpJournalLogBuilder maxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+        return this;
+    }
+
+    /**
+     * Sets the interval at which recorded requests are written to the log in a batch and flushed to disk.
+     * Defaults to one second.
+     *
+     * @param flushInterval The flush interval.
+     * @return The HttpJournalLogBuilder instance.
+     */
+    public HttpJournalLogBuilder flushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+        return this;
+    }
+
+    /**
+     * Opens a new HttpJournalLog instance based on the configured parameters.
+     * Segments left in the directory by a previous run are kept, and new entries go to a new segment.
+     *
+     * @return The opened HttpJournalLog instance.
+     * @throws IOException if the directory or the first segment cannot be created.
+     * @throws IllegalStateException if no directory is set.
+     */
+    public HttpJournalLog build() throws IOException {
+        if (directory == null) {
+            throw new IllegalStateException("No journal log directory is set");
+        }
+        return new HttpJournalLog(directory, segmentSize, maxSize, maxAge, flushInterval);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the entries of an {@link HttpJournalLog} sequentially, one memory-mapped segment at a time.
+ * Segments deleted by the log before the reader reaches them are skipped. A reader is not thread-safe.
+ */
+public final class HttpJournalLogReader implements Iterator<HttpJournalEntry> {
+    private final Iterator<Path> segments;
+    private ByteBuffer segment;
+
+    HttpJournalLogReader(List<Path> segments) {
+        this.segments = segments.iterator();
+    }
+
+    /**
+     * Checks if there is another entry, mapping the next segment if the current one has been read.
+     *
+     * @return {@code true} if there is another entry, {@code false} otherwise.
+     * @throws UncheckedIOException if a segment cannot be mapped or is not a journal log segment.
+     */
+    @Override
+    public boolean hasNext() {
+        while (segment == null || segment.remaining() < 4 || segment.getInt(segment.position()) <= 0) {
+            if (!segments.hasNext()) {
+                return false;
+            }
+            segment = map(segments.next());
+        }
+        return true;
+    }
+
+    /**
+     * Reads the next entry. Its body is a slice of the mapped segment.
+     *
+     * @return The next entry.
+     * @throws NoSuchElementException if every entry has been read.
+     */
+    @Override
+    public HttpJournalEntry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final int length = segment.getInt();
+        final ByteBuffer record = segment.slice();
+        record.limit(length);
+        segment.position(segment.position() + length);
+        return HttpJournalLog.decode(record);
+    }
+
+    private static ByteBuffer map(Path file) {
+        final ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (buffer.remaining() < HttpJournalLog.HEADER_LENGTH || buffer.getInt() != HttpJournalLog.MAGIC ||
+            buffer.getInt() != HttpJournalLog.VERSION) {
+            throw new UncheckedIOException(new IOException("Not a journal log segment: " + file));
+        }
+        return buffer;
+    }
+}
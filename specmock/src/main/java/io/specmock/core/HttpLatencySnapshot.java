@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+/**
+ * Represents the latencies recorded by a histogram at a point in time.
+ *
+ * <p>Latencies are counted in logarithmic buckets, so percentiles are the upper bound of the bucket they fall
+ * into, at most 25% above the actual latency.
+ */
+public final class HttpLatencySnapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sumNanos;
+    private final long maxNanos;
+
+    HttpLatencySnapshot(long[] counts, long sumNanos, long maxNanos) {
+        this.counts = counts;
+        long count = 0;
+        for (long each : counts) {
+            count += each;
+        }
+        this.count = count;
+        this.sumNanos = sumNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Retrieves the number of latencies recorded.
+     *
+     * @return The number of latencies.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Retrieves the sum of the latencies recorded.
+     *
+     * @return The sum in nanoseconds.
+     */
+    public long getSumNanos() {
+        return sumNanos;
+    }
+
+    /**
+     * Retrieves the mean of the latencies recorded.
+     *
+     * @return The mean in nanoseconds, or zero if no latency is recorded.
+     */
+    public double getMeanNanos() {
+        return count == 0 ? 0 : (double) sumNanos / count;
+    }
+
+    /**
+     * Retrieves the largest latency recorded.
+     *
+     * @return The maximum in nanoseconds, or zero if no latency is recorded.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Retrieves a percentile of the latencies recorded, such as {@code 99.9}.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The percentile in nanoseconds, or zero if no latency is recorded.
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        }
+        final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(HttpLatencyHistogram.upperBound(i), maxNanos);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Retrieves the number of latencies recorded in the buckets whose upper bound is at most a latency.
+     * Latencies in the bucket across the latency are not counted, so the result may be slightly low.
+     *
+     * @param nanos The latency in nanoseconds.
+     * @return The number of latencies at or below it.
+     */
+    public long getCountAtOrBelow(long nanos) {
+        long seen = 0;
+        for (int i = 0; i < counts.length && HttpLatencyHistogram.upperBound(i) <= nanos; i++) {
+            seen += counts[i];
+        }
+        return seen;
+    }
+}
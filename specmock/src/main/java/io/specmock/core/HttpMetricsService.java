@@ -0,0 +1,208 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.server.AbstractHttpService;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+/**
+ * Serves the metrics of the server in the Prometheus text exposition format.
+ *
+ * <p>The text is rendered on each scrape from snapshots of the route metrics, which read the striped counters
+ * without blocking the requests that update them. Specs sharing a method and path are summed into one series,
+ * and their exchanges are numbered in the order of the specs. Latency buckets are bounded one nanosecond below
+ * the powers of four from 1024 nanoseconds to about 17 seconds; these are the inclusive upper bounds of
+ * histogram buckets, so their counts are exact.
+ */
+final class HttpMetricsService extends AbstractHttpService {
+    private static final MediaType CONTENT_TYPE = MediaType.parse("text/plain; version=0.0.4; charset=utf-8");
+    private static final long[] LATENCY_BOUNDS_NANOS = new long[13];
+
+    static {
+        for (int i = 0; i < LATENCY_BOUNDS_NANOS.length; i++) {
+            LATENCY_BOUNDS_NANOS[i] = HttpLatencyHistogram.upperBound(
+                    HttpLatencyHistogram.bucket(1L << (10 + 2 * i)) - 1);
+        }
+    }
+
+    private final List<HttpSpec> specs;
+    private final ArmeriaHttpSpecServer server;
+
+    /**
+     * Constructs an HttpMetricsService serving the metrics of a server.
+     *
+     * @param specs  The specs of the server.
+     * @param server The server, whose connections and event loops are measured.
+     */
+    HttpMetricsService(List<HttpSpec> specs, ArmeriaHttpSpecServer server) {
+        this.specs = specs;
+        this.server = server;
+    }
+
+    @Override
+    protected HttpResponse doGet(ServiceRequestContext context, HttpRequest request) {
+        final StringBuilder text = new StringBuilder(4096);
+        renderRoutes(text);
+        gauge(text, "specmock_connections", "Open client connections.");
+        text.append("specmock_connections ").append(server.connectionCount()).append('\n');
+        gauge(text, "specmock_event_loop_pending_tasks", "Tasks waiting to run on the event loops.");
+        text.append("specmock_event_loop_pending_tasks ").append(server.pendingTaskCount()).append('\n');
+        renderMemory(text);
+        return HttpResponse.of(HttpStatus.OK, CONTENT_TYPE, text.toString());
+    }
+
+    private void renderRoutes(StringBuilder text) {
+        final Map<String, List<HttpRouteMetricsSnapshot>> routes = new LinkedHashMap<>();
+        for (HttpSpec spec : specs) {
+            final String labels = "method=\"" + spec.getRoute().getMethod() + "\",path=\"" +
+                                  escape(spec.getRoute().getPath()) + '"';
+            routes.computeIfAbsent(labels, key -> new ArrayList<>())
+                  .add(spec.metrics().snapshot(spec.getRoute()));
+        }
+
+        counter(text, "specmock_requests_total", "Requests received by a route.");
+        samples(text, "specmock_requests_total", routes, HttpRouteMetricsSnapshot::getRequestCount);
+        counter(text, "specmock_matches_total", "Requests answered by an exchange.");
+        samples(text, "specmock_matches_total", routes, HttpRouteMetricsSnapshot::getMatchCount);
+        counter(text, "specmock_misses_total", "Requests matching no exchange, rejected with 406.");
+        samples(text, "specmock_misses_total", routes, HttpRouteMetricsSnapshot::getMissCount);
+        counter(text, "specmock_errors_total", "Requests failed with an error.");
+        samples(text, "specmock_errors_total", routes, HttpRouteMetricsSnapshot::getErrorCount);
+        counter(text, "specmock_exchange_matches_total", "Requests answered by an exchange, per exchange.");
+        for (Entry<String, List<HttpRouteMetricsSnapshot>> route : routes.entrySet()) {
+            int index = 0;
+            for (HttpRouteMetricsSnapshot metrics : route.getValue()) {
+                for (HttpExchangeMetricsSnapshot exchange : metrics.getExchanges()) {
+                    sample(text, "specmock_exchange_matches_total",
+                           route.getKey() + ",exchange=\"" + index++ + '"', exchange.getMatchCount());
+                }
+            }
+        }
+
+        text.append("# HELP specmock_request_phase_seconds Time spent in a phase of handling requests.\n")
+            .append("# TYPE specmock_request_phase_seconds histogram\n");
+        for (Entry<String, List<HttpRouteMetricsSnapshot>> route : routes.entrySet()) {
+            histogram(text, route.getKey() + ",phase=\"aggregate\"",
+                      latencies(route.getValue(), HttpRouteMetricsSnapshot::getAggregateLatency));
+            histogram(text, route.getKey() + ",phase=\"match\"",
+                      latencies(route.getValue(), HttpRouteMetricsSnapshot::getMatchLatency));
+            histogram(text, route.getKey() + ",phase=\"serialize\"",
+                      latencies(route.getValue(), HttpRouteMetricsSnapshot::getSerializeLatency));
+        }
+    }
+
+    private static void samples(StringBuilder text, String name,
+                                Map<String, List<HttpRouteMetricsSnapshot>> routes,
+                                ToLongFunction<HttpRouteMetricsSnapshot> counter) {
+        for (Entry<String, List<HttpRouteMetricsSnapshot>> route : routes.entrySet()) {
+            long value = 0;
+            for (HttpRouteMetricsSnapshot metrics : route.getValue()) {
+                value += counter.applyAsLong(metrics);
+            }
+            sample(text, name, route.getKey(), value);
+        }
+    }
+
+    private static List<HttpLatencySnapshot> latencies(List<HttpRouteMetricsSnapshot> metrics,
+                                                       Function<HttpRouteMetricsSnapshot,
+                                                               HttpLatencySnapshot> phase) {
+        final List<HttpLatencySnapshot> latencies = new ArrayList<>(metrics.size());
+        for (HttpRouteMetricsSnapshot each : metrics) {
+            latencies.add(phase.apply(each));
+        }
+        return latencies;
+    }
+
+    private static void histogram(StringBuilder text, String labels, List<HttpLatencySnapshot> latencies) {
+        long count = 0;
+        long sumNanos = 0;
+        for (HttpLatencySnapshot latency : latencies) {
+            count += latency.getCount();
+            sumNanos += latency.getSumNanos();
+        }
+        for (long bound : LATENCY_BOUNDS_NANOS) {
+            long countAtOrBelow = 0;
+            for (HttpLatencySnapshot latency : latencies) {
+                countAtOrBelow += latency.getCountAtOrBelow(bound);
+            }
+            sample(text, "specmock_request_phase_seconds_bucket", labels + ",le=\"" + seconds(bound) + '"',
+                   countAtOrBelow);
+        }
+        sample(text, "specmock_request_phase_seconds_bucket", labels + ",le=\"+Inf\"", count);
+        text.append("specmock_request_phase_seconds_sum{").append(labels).append("} ")
+            .append(seconds(sumNanos)).append('\n');
+        sample(text, "specmock_request_phase_seconds_count", labels, count);
+    }
+
+    private static void renderMemory(StringBuilder text) {
+        final MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        final MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        gauge(text, "jvm_memory_used_bytes", "Used memory of a JVM memory area.");
+        sample(text, "jvm_memory_used_bytes", "area=\"heap\"", heap.getUsed());
+        sample(text, "jvm_memory_used_bytes", "area=\"nonheap\"", nonHeap.getUsed());
+        gauge(text, "jvm_memory_committed_bytes", "Committed memory of a JVM memory area.");
+        sample(text, "jvm_memory_committed_bytes", "area=\"heap\"", heap.getCommitted());
+        sample(text, "jvm_memory_committed_bytes", "area=\"nonheap\"", nonHeap.getCommitted());
+        gauge(text, "jvm_memory_max_bytes", "Maximum memory of a JVM memory area, or -1 if undefined.");
+        sample(text, "jvm_memory_max_bytes", "area=\"heap\"", heap.getMax());
+        sample(text, "jvm_memory_max_bytes", "area=\"nonheap\"", nonHeap.getMax());
+
+        // Direct buffers and memory-mapped spec snapshots and journal segments live outside of the heap.
+        gauge(text, "jvm_buffer_pool_used_bytes", "Used memory of a JVM buffer pool.");
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            sample(text, "jvm_buffer_pool_used_bytes", "pool=\"" + escape(pool.getName()) + '"',
+                   pool.getMemoryUsed());
+        }
+    }
+
+    private static void counter(StringBuilder text, String name, String help) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n')
+            .append("# TYPE ").append(name).append(" counter\n");
+    }
+
+    private static void gauge(StringBuilder text, String name, String help) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n')
+            .append("# TYPE ").append(name).append(" gauge\n");
+    }
+
+    private static void sample(StringBuilder text, String name, String labels, long value) {
+        text.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
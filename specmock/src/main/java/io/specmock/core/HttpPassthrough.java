@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+/**
+ * Forwards the requests not covered by a spec to the real service, for a partial mock that only replaces some
+ * of its routes.
+ *
+ * <p>Requests to a path with no spec, and requests matching no exchange of their spec, are sent to the
+ * upstream service over pooled keep-alive connections, multiplexed over HTTP/2 when the service supports it.
+ * Successful responses to {@code GET} requests may be kept in a bounded cache for a fixed time. Cache lookups
+ * take no lock, and once the cache is full the oldest response is evicted first. Requests with credentials
+ * and responses meant for one client are never cached: a request with an {@code Authorization} or
+ * {@code Cookie} header, and a response with {@code Cache-Control: no-store} or {@code private}, a
+ * {@code Set-Cookie} header or a {@code Vary} header on anything but the negotiation headers of the cache key.
+ */
+public final class HttpPassthrough {
+    private final String upstream;
+    private final HttpUpstream client;
+    private final int cacheSize;
+    private final long cacheTtlNanos;
+    private final ConcurrentHashMap<String, CachedResponse> cache = new ConcurrentHashMap<>();
+    private final Queue<String> cacheOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger cacheCount = new AtomicInteger();
+    private final LongAdder forwardedCount = new LongAdder();
+    private final LongAdder cacheHitCount = new LongAdder();
+
+    /**
+     * Creates a new instance of HttpPassthroughBuilder.
+     *
+     * @return A new HttpPassthroughBuilder instance.
+     */
+    public static HttpPassthroughBuilder builder() {
+        return new HttpPassthroughBuilder();
+    }
+
+    HttpPassthrough(String upstream, Duration idleTimeout, int cacheSize, Duration cacheTtl) {
+        this.upstream = upstream;
+        this.cacheSize = cacheSize;
+        cacheTtlNanos = cacheTtl == null ? 0 : cacheTtl.toNanos();
+        client = new HttpUpstream(upstream, idleTimeout);
+    }
+
+    /**
+     * Retrieves the URI of the service requests are forwarded to.
+     *
+     * @return The upstream URI.
+     */
+    public String getUpstream() {
+        return upstream;
+    }
+
+    /**
+     * Retrieves the number of requests forwarded to the upstream service.
+     *
+     * @return The number of forwarded requests.
+     */
+    public long getForwardedCount() {
+        return forwardedCount.sum();
+    }
+
+    /**
+     * Retrieves the number of requests answered from the cache.
+     *
+     * @return The number of cache hits.
+     */
+    public long getCacheHitCount() {
+        return cacheHitCount.sum();
+    }
+
+    /**
+     * Forwards a request to the upstream service, or answers it from the cache.
+     *
+     * @param context The context of the request.
+     * @param request The aggregated request.
+     * @return The response of the upstream service, or a {@code 502 Bad Gateway} response if it failed.
+     */
+    HttpResponse forward(ServiceRequestContext context, AggregatedHttpRequest request) {
+        final String key = cacheKey(context, request);
+        if (key != null) {
+            final CachedResponse cached = cache.get(key);
+            // An expired response stays until it is replaced by the fresh one or evicted.
+            if (cached != null && System.nanoTime() - cached.expiresAtNanos < 0) {
+                cacheHitCount.increment();
+                return cached.response.toHttpResponse();
+            }
+        }
+        forwardedCount.increment();
+        return HttpResponse.of(client.execute(request).handle((response, cause) -> {
+            if (cause != null) {
+                return HttpResponse.of(HttpStatus.BAD_GATEWAY.getCode());
+            }
+            if (key != null && isCacheable(response)) {
+                cache(key, response);
+            }
+            return response.toHttpResponse();
+        }));
+    }
+
+    /**
+     * Closes the connections to the upstream service.
+     */
+    void close() {
+        client.close();
+    }
+
+    private String cacheKey(ServiceRequestContext context, AggregatedHttpRequest request) {
+        if (cacheSize == 0 || request.method() != HttpMethod.GET || !request.content().isEmpty() ||
+            request.headers().contains(HttpHeaderNames.AUTHORIZATION) ||
+            request.headers().contains(HttpHeaderNames.COOKIE)) {
+            return null;
+        }
+        final String query = context.query();
+        // The representation chosen by the upstream depends on the negotiation headers.
+        return context.path() + (query == null ? "" : '?' + query) + '\n' +
+               request.headers().get(HttpHeaderNames.ACCEPT) + '\n' +
+               request.headers().get(HttpHeaderNames.ACCEPT_ENCODING);
+    }
+
+    private void cache(String key, AggregatedHttpResponse response) {
+        if (cache.put(key, new CachedResponse(response, System.nanoTime() + cacheTtlNanos)) != null) {
+            return;
+        }
+        // Every cached key is queued once, when it is first added, so the queue gives the eviction order.
+        cacheOrder.add(key);
+        if (cacheCount.incrementAndGet() > cacheSize) {
+            // Each key beyond the size was queued before the count was raised, so the queue is not empty.
+            cache.remove(cacheOrder.remove());
+            cacheCount.decrementAndGet();
+        }
+    }
+
+    private static boolean isCacheable(AggregatedHttpResponse response) {
+        final ResponseHeaders headers = response.headers();
+        if (!response.status().isSuccess() || headers.contains(HttpHeaderNames.SET_COOKIE)) {
+            return false;
+        }
+        for (String each : headers.getAll(HttpHeaderNames.CACHE_CONTROL)) {
+            final String directives = each.toLowerCase(Locale.ROOT);
+            if (directives.contains("no-store") || directives.contains("private")) {
+                return false;
+            }
+        }
+        for (String each : headers.getAll(HttpHeaderNames.VARY)) {
+            for (String name : each.split(",")) {
+                // Only the headers in the cache key may select the representation.
+                final String header = name.trim().toLowerCase(Locale.ROOT);
+                if (!header.equals(HttpHeaderNames.ACCEPT.toString()) &&
+                    !header.equals(HttpHeaderNames.ACCEPT_ENCODING.toString())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A response held in the cache until it expires.
+     */
+    private static final class CachedResponse {
+        private final AggregatedHttpResponse response;
+        private final long expiresAtNanos;
+
+        CachedResponse(AggregatedHttpResponse response, long expiresAtNanos) {
+            this.response = response;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
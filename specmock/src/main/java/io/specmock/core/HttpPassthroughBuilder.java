@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.time.Duration;
+
+/**
+ * Builder class for constructing HttpPassthrough instances.
+ */
+public final class HttpPassthroughBuilder {
+    private String upstream;
+    private Duration idleTimeout = Duration.ofMinutes(1);
+    private int cacheSize;
+    private Duration cacheTtl;
+
+    HttpPassthroughBuilder() {
+    }
+
+    /**
+     * Sets the URI of the service requests not covered by a spec are forwarded to,
+     * such as {@code "http://localhost:8080"}.
+     *
+     * @param upstream The upstream URI.
+     * @return The HttpPassthroughBuilder instance.
+     */
+    public HttpPassthroughBuilder upstream(String upstream) {
+        this.upstream = upstream;
+        return this;
+    }
+
+    /**
+     * Sets the time an unused connection to the upstream service is kept open for reuse.
+     * Defaults to one minute.
+     *
+     * @param idleTimeout The idle timeout.
+     * @return The HttpPassthroughBuilder instance.
+     */
+    public HttpPassthroughBuilder idleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * Caches the successful responses of {@code GET} requests, and serves identical requests from the cache
+     * until the response expires. Requests are identical if they have the same path, query and
+     * {@code Accept} and {@code Accept-Encoding} headers. Requests with credentials and responses meant for
+     * one client are not cached. Responses are not cached by default.
+     *
+     * @param size The maximum number of responses held. The oldest response is evicted beyond it.
+     * @param ttl  The time a response is served from the cache.
+     * @return The HttpPassthroughBuilder instance.
+     * @throws IllegalArgumentException if the size or the time is not positive.
+     */
+    public HttpPassthroughBuilder cache(int size, Duration ttl) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        }
+        cacheSize = size;
+        cacheTtl = ttl;
+        return this;
+    }
+
+    /**
+     * Builds a new HttpPassthrough instance based on the configured parameters.
+     *
+     * @return The constructed HttpPassthrough instance.
+     * @throws IllegalStateException if no upstream is set.
+     */
+    public HttpPassthrough build() {
+        if (upstream == null) {
+            throw new IllegalStateException("No upstream is set");
+        }
+        return new HttpPassthrough(upstream, idleTimeout, cacheSize, cacheTtl);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Provides the random numbers used to choose between weighted exchanges.
+ * Without a seed, numbers come from {@link ThreadLocalRandom}. With a seed, the n-th number drawn is
+ * a SplitMix64 hash of the seed and n, so a run that sends requests in the same order gets the same
+ * choices, and drawing costs a single atomic increment.
+ */
+final class HttpRandom {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    private final AtomicLong sequence;
+
+    /**
+     * Creates a source of random numbers.
+     *
+     * @param seed The seed, or {@code null} for an unseeded source.
+     * @return A new HttpRandom instance.
+     */
+    static HttpRandom of(Long seed) {
+        return seed == null ? new HttpRandom(0, null) : new HttpRandom(seed, new AtomicLong());
+    }
+
+    private HttpRandom(long seed, AtomicLong sequence) {
+        this.seed = seed;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Draws a number uniformly distributed between 0, inclusive, and 1, exclusive.
+     *
+     * @return The next random number.
+     */
+    double nextDouble() {
+        if (sequence == null) {
+            return ThreadLocalRandom.current().nextDouble();
+        }
+        long z = seed + sequence.incrementAndGet() * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        z ^= z >>> 31;
+        return (z >>> 11) * 0x1.0p-53;
+    }
+}
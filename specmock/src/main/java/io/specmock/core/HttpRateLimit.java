@@ -0,0 +1,191 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents a token bucket rate limit on the requests of a route.
+ *
+ * <p>The bucket is tracked with the generic cell rate algorithm, which keeps its whole state in a single
+ * {@link AtomicLong} holding the theoretical arrival time of the next request. Admitting a request is a
+ * compare-and-set on that value, so the limiter takes no lock. An instance holds the state of its bucket,
+ * so it should be attached to a single HttpSpec.
+ */
+public final class HttpRateLimit {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final HttpStatus rejectStatus;
+    private final Duration retryAfter;
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+
+    /**
+     * Creates a rate limit that admits the given number of requests per second, without bursts.
+     * Rejected requests get {@link HttpStatus#TOO_MANY_REQUESTS} with a {@code Retry-After} header
+     * telling when the next request would be admitted.
+     *
+     * @param permitsPerSecond The number of requests admitted per second.
+     * @return A new HttpRateLimit instance.
+     */
+    public static HttpRateLimit perSecond(double permitsPerSecond) {
+        return of(permitsPerSecond, 1);
+    }
+
+    /**
+     * Creates a rate limit that admits the given number of requests per second, and bursts of up to
+     * {@code burst} requests at once. Rejected requests get {@link HttpStatus#TOO_MANY_REQUESTS} with
+     * a {@code Retry-After} header telling when the next request would be admitted.
+     *
+     * @param permitsPerSecond The number of requests admitted per second.
+     * @param burst            The size of the bucket, which is the number of requests admitted at once.
+     * @return A new HttpRateLimit instance.
+     */
+    public static HttpRateLimit of(double permitsPerSecond, int burst) {
+        return of(permitsPerSecond, burst, HttpStatus.TOO_MANY_REQUESTS, null);
+    }
+
+    /**
+     * Creates a rate limit that admits the given number of requests per second, and bursts of up to
+     * {@code burst} requests at once.
+     *
+     * @param permitsPerSecond The number of requests admitted per second.
+     * @param burst            The size of the bucket, which is the number of requests admitted at once.
+     * @param rejectStatus     The status of the responses to rejected requests.
+     * @param retryAfter       The value of the {@code Retry-After} header of rejected requests,
+     *                         or {@code null} to tell when the next request would be admitted.
+     * @return A new HttpRateLimit instance.
+     * @throws IllegalArgumentException if {@code permitsPerSecond} or {@code burst} is not positive.
+     */
+    public static HttpRateLimit of(double permitsPerSecond, int burst, HttpStatus rejectStatus,
+                                   Duration retryAfter) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst must be positive: " + burst);
+        }
+        final long emissionIntervalNanos = Math.max(1, (long) (NANOS_PER_SECOND / permitsPerSecond));
+        return new HttpRateLimit(emissionIntervalNanos, emissionIntervalNanos * burst, rejectStatus,
+                                 retryAfter);
+    }
+
+    /**
+     * Creates a rate limit from its emission interval and tolerance, as read back from a spec snapshot.
+     *
+     * @param emissionIntervalNanos The nanoseconds between two admitted requests.
+     * @param toleranceNanos        The nanoseconds a request may arrive early, which allow bursts.
+     * @param rejectStatus          The status of the responses to rejected requests.
+     * @param retryAfter            The value of the {@code Retry-After} header of rejected requests,
+     *                              or {@code null} to tell when the next request would be admitted.
+     * @return A new HttpRateLimit instance.
+     */
+    static HttpRateLimit ofNanos(long emissionIntervalNanos, long toleranceNanos, HttpStatus rejectStatus,
+                                 Duration retryAfter) {
+        return new HttpRateLimit(emissionIntervalNanos, toleranceNanos, rejectStatus, retryAfter);
+    }
+
+    private HttpRateLimit(long emissionIntervalNanos, long toleranceNanos, HttpStatus rejectStatus,
+                          Duration retryAfter) {
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.toleranceNanos = toleranceNanos;
+        this.rejectStatus = rejectStatus;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Retrieves the status of the responses to rejected requests.
+     *
+     * @return The rejection status.
+     */
+    public HttpStatus getRejectStatus() {
+        return rejectStatus;
+    }
+
+    /**
+     * Retrieves the nanoseconds between two admitted requests.
+     *
+     * @return The emission interval.
+     */
+    long emissionIntervalNanos() {
+        return emissionIntervalNanos;
+    }
+
+    /**
+     * Retrieves the nanoseconds a request may arrive early, which allow bursts.
+     *
+     * @return The tolerance.
+     */
+    long toleranceNanos() {
+        return toleranceNanos;
+    }
+
+    /**
+     * Retrieves the value of the {@code Retry-After} header of rejected requests.
+     *
+     * @return The retry delay, or {@code null} to tell when the next request would be admitted.
+     */
+    Duration retryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Tries to admit a request now.
+     *
+     * @return {@code 0} if the request is admitted, or the nanoseconds until a request would be admitted.
+     */
+    long tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    /**
+     * Tries to admit a request at the given time.
+     *
+     * @param nowNanos The current time, as given by {@link System#nanoTime()}.
+     * @return {@code 0} if the request is admitted, or the nanoseconds until a request would be admitted.
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            final long arrivalTime = theoreticalArrivalTime.get();
+            final long nextArrivalTime = (arrivalTime - nowNanos < 0 ? nowNanos : arrivalTime) +
+                                         emissionIntervalNanos;
+            final long waitNanos = nextArrivalTime - nowNanos - toleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(arrivalTime, nextArrivalTime)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Computes the value of the {@code Retry-After} header of a rejected request.
+     *
+     * @param waitNanos The nanoseconds until a request would be admitted.
+     * @return The seconds the client should wait before retrying.
+     */
+    long retryAfterSeconds(long waitNanos) {
+        if (retryAfter != null) {
+            return retryAfter.getSeconds();
+        }
+        return Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+/**
+ * Records the exchanges of a real service, to bootstrap specs from a running instance of it.
+ *
+ * <p>A request that matches no exchange of its spec is forwarded to the upstream service over pooled
+ * keep-alive connections, and the real response is returned. The request and its response are
+ * captured as a new exchange of the route, once per distinct request. Captured exchanges are queued, and a
+ * background thread writes them in batches to spec files in the {@link HttpSpecLoader} format, so the
+ * directory can be loaded back as specs. Response bodies that are not JSON are written next to the spec
+ * files and referenced as {@code responseFile}.
+ */
+public final class HttpRecorder implements Closeable {
+    private static final String FILE_PREFIX = "recorded-";
+    private static final String FILE_SUFFIX = ".json";
+    private static final String BODY_DIRECTORY = "bodies";
+    private static final Duration UPSTREAM_IDLE_TIMEOUT = Duration.ofMinutes(1);
+
+    private final ObjectMapper mapper = new ObjectMapper().enable(
+            DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    private final String upstream;
+    private final Path directory;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final HttpUpstream client;
+    private final Set<UUID> capturedKeys = ConcurrentHashMap.newKeySet();
+    private final Queue<Capture> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private final AtomicLong capturedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private long fileIndex;
+    private volatile ScheduledExecutorService flusher;
+    private volatile IOException failure;
+
+    /**
+     * Creates a new instance of HttpRecorderBuilder.
+     *
+     * @return A new HttpRecorderBuilder instance.
+     */
+    public static HttpRecorderBuilder builder() {
+        return new HttpRecorderBuilder();
+    }
+
+    HttpRecorder(String upstream, Path directory, int batchSize, Duration flushInterval) throws IOException {
+        this.upstream = upstream;
+        this.directory = directory;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        client = new HttpUpstream(upstream, UPSTREAM_IDLE_TIMEOUT);
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                                                                     FILE_PREFIX + '*' + FILE_SUFFIX)) {
+            for (Path each : stream) {
+                final String name = each.getFileName().toString();
+                try {
+                    fileIndex = Math.max(fileIndex, Long.parseLong(
+                            name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // Not a file written by a recorder.
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the URI of the service unmatched requests are forwarded to.
+     *
+     * @return The upstream URI.
+     */
+    public String getUpstream() {
+        return upstream;
+    }
+
+    /**
+     * Retrieves the directory the captured specs are written to.
+     *
+     * @return The spec directory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Retrieves the number of exchanges captured.
+     *
+     * @return The number of captured exchanges.
+     */
+    public long getCapturedCount() {
+        return capturedCount.get();
+    }
+
+    /**
+     * Retrieves the number of captured exchanges written to spec files.
+     *
+     * @return The number of written exchanges.
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * Starts writing captured exchanges in the background, every flush interval or whenever a batch is full.
+     */
+    synchronized void start() {
+        if (flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+            final Thread thread = new Thread(task, "specmock-recorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long intervalNanos = flushInterval.toNanos();
+        flusher.scheduleWithFixedDelay(this::flushInBackground, intervalNanos, intervalNanos,
+                                       TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Forwards a request to the upstream service and captures its response as a new exchange of the route.
+     *
+     * @param context The context of the request.
+     * @param route   The route the request was received on.
+     * @param request The aggregated request.
+     * @return The response of the upstream service, or a {@code 502 Bad Gateway} response if it failed.
+     */
+    HttpResponse forward(ServiceRequestContext context, HttpRoute route, AggregatedHttpRequest request) {
+        final Map<String, String> pathParams = new HashMap<>(context.pathParams());
+        final Map<String, String> queryParams = new HashMap<>();
+        for (Entry<String, String> each : context.queryParams()) {
+            queryParams.put(each.getKey(), each.getValue());
+        }
+        return HttpResponse.of(client.execute(request).handle((response, cause) -> {
+            if (cause != null) {
+                return HttpResponse.of(HttpStatus.BAD_GATEWAY.getCode());
+            }
+            if (capturedKeys.add(captureKey(route, context.path(), queryParams, request.content().array()))) {
+                capture(route, pathParams, queryParams, request.content().array(), response);
+            }
+            return response.toHttpResponse();
+        }));
+    }
+
+    private static UUID captureKey(HttpRoute route, String path, Map<String, String> queryParams,
+                                   byte[] requestBody) {
+        // Only a digest of the request is kept, so the recorder does not hold on to every request body.
+        final byte[] prefix = (route.getMethod() + " " + path + ' ' + queryParams + ' ')
+                .getBytes(StandardCharsets.UTF_8);
+        final byte[] request = new byte[prefix.length + requestBody.length];
+        System.arraycopy(prefix, 0, request, 0, prefix.length);
+        System.arraycopy(requestBody, 0, request, prefix.length, requestBody.length);
+        return UUID.nameUUIDFromBytes(request);
+    }
+
+    private void capture(HttpRoute route, Map<String, String> pathParams, Map<String, String> queryParams,
+                         byte[] requestBody, AggregatedHttpResponse response) {
+        final HttpStatus status;
+        try {
+            status = HttpStatus.of(response.status().code());
+        } catch (IllegalArgumentException e) {
+            // A status specs cannot express is returned but not captured.
+            return;
+        }
+        final HttpExchangeBuilder builder = HttpExchange.builder()
+                                                        .pathParamMap(pathParams)
+                                                        .queryParamMap(queryParams)
+                                                        .requestObject(readJson(requestBody))
+                                                        .responseStatus(status)
+                                                        .responseBody(response.content().array());
+        final MediaType contentType = response.headers().contentType();
+        if (contentType != null) {
+            builder.responseContentType(contentType.toString());
+        }
+        capture(route, builder.build());
+    }
+
+    /**
+     * Queues a captured exchange to be written, and wakes the background thread once a batch is full.
+     * The request thread takes no lock, and wakes the background thread at most once until the next flush.
+     *
+     * @param route    The route of the exchange.
+     * @param exchange The captured exchange.
+     */
+    void capture(HttpRoute route, HttpExchange exchange) {
+        pending.add(new Capture(route, exchange));
+        capturedCount.incrementAndGet();
+        if (pendingCount.incrementAndGet() >= batchSize && flushQueued.compareAndSet(false, true)) {
+            final ScheduledExecutorService flusher = this.flusher;
+            if (flusher != null && !flusher.isShutdown()) {
+                flusher.execute(this::flushInBackground);
+            }
+        }
+    }
+
+    /**
+     * Writes the captured exchanges not written yet to spec files, in batches.
+     *
+     * @throws IOException if a spec file cannot be written.
+     */
+    public void flush() throws IOException {
+        synchronized (flushLock) {
+            flushQueued.set(false);
+            while (!pending.isEmpty()) {
+                final List<Capture> batch = new ArrayList<>(batchSize);
+                Capture capture;
+                while (batch.size() < batchSize && (capture = pending.poll()) != null) {
+                    batch.add(capture);
+                }
+                pendingCount.addAndGet(-batch.size());
+                write(batch);
+                writtenCount.addAndGet(batch.size());
+            }
+        }
+    }
+
+    /**
+     * Stops the background thread and closes the connections to the upstream service, then writes the
+     * remaining captured exchanges.
+     *
+     * @throws IOException if a spec file could not be written, now or by the background thread.
+     */
+    @Override
+    public void close() throws IOException {
+        client.close();
+        final ScheduledExecutorService flusher = this.flusher;
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(flushInterval.toMillis() + 1000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        flush();
+    }
+
+    private void flushInBackground() {
+        try {
+            flush();
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(List<Capture> batch) throws IOException {
+        fileIndex++;
+        final String name = FILE_PREFIX + String.format("%020d", fileIndex);
+        final Map<String, List<Capture>> routes = new LinkedHashMap<>();
+        for (Capture capture : batch) {
+            final HttpRoute route = capture.route;
+            routes.computeIfAbsent(route.getMethod() + " " + route.getPath(), key -> new ArrayList<>())
+                  .add(capture);
+        }
+
+        // Written aside and moved into place, so a loader never reads a partial spec file.
+        final Path temp = directory.resolve(name + ".tmp");
+        int bodyIndex = 0;
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(Files.newOutputStream(temp))) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("specs");
+            for (List<Capture> captures : routes.values()) {
+                final HttpRoute route = captures.get(0).route;
+                generator.writeStartObject();
+                generator.writeStringField("method", route.getMethod().name());
+                generator.writeStringField("path", route.getPath());
+                generator.writeArrayFieldStart("exchanges");
+                for (Capture capture : captures) {
+                    writeExchange(generator, capture.exchange, name + '-' + bodyIndex++);
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        Files.move(temp, directory.resolve(name + FILE_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeExchange(JsonGenerator generator, HttpExchange exchange, String bodyName)
+            throws IOException {
+        generator.writeStartObject();
+        writeMap(generator, "pathParams", exchange.getPathParamMap());
+        writeMap(generator, "queryParams", exchange.getQueryParamMap());
+        if (exchange.getRequestObject() != null) {
+            generator.writeFieldName("request");
+            mapper.writeValue(generator, exchange.getRequestObject());
+        }
+        generator.writeNumberField("status", exchange.getResponseStatus().getCode());
+        if (exchange.getResponseContentType() != null) {
+            generator.writeStringField("contentType", exchange.getResponseContentType());
+        }
+        final ByteBuffer responseBody = exchange.getResponseBody().duplicate();
+        final byte[] body = new byte[responseBody.remaining()];
+        responseBody.get(body);
+        final JsonNode json = readJson(body);
+        if (json != null) {
+            generator.writeFieldName("response");
+            generator.writeTree(json);
+        } else {
+            final Path bodyFile = directory.resolve(BODY_DIRECTORY).resolve(bodyName + ".bin");
+            Files.createDirectories(bodyFile.getParent());
+            Files.write(bodyFile, body);
+            generator.writeStringField("responseFile", BODY_DIRECTORY + '/' + bodyFile.getFileName());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeMap(JsonGenerator generator, String field, Map<String, String> map)
+            throws IOException {
+        if (map.isEmpty()) {
+            return;
+        }
+        generator.writeObjectFieldStart(field);
+        for (Entry<String, String> each : map.entrySet()) {
+            generator.writeStringField(each.getKey(), each.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    private JsonNode readJson(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            return mapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * An exchange captured on a route, waiting to be written.
+     */
+    private static final class Capture {
+        private final HttpRoute route;
+        private final HttpExchange exchange;
+
+        Capture(HttpRoute route, HttpExchange exchange) {
+            this.route = route;
+            this.exchange = exchange;
+        }
+    }
+}
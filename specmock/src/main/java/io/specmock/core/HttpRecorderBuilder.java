@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Builder class for constructing HttpRecorder instances.
+ */
+public final class HttpRecorderBuilder {
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private String upstream;
+    private Path directory;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    HttpRecorderBuilder() {
+    }
+
+    /**
+     * Sets the URI of the service unmatched requests are forwarded to, such as {@code "http://localhost:8080"}.
+     *
+     * @param upstream The upstream URI.
+     * @return The HttpRecorderBuilder instance.
+     */
+    public HttpRecorderBuilder upstream(String upstream) {
+        this.upstream = upstream;
+        return this;
+    }
+
+    /**
+     * Sets the directory the captured specs are written to. It is created if it does not exist.
+     *
+     * @param directory The spec directory.
+     * @return The HttpRecorderBuilder instance.
+     */
+    public HttpRecorderBuilder directory(Path directory) {
+        this.directory = directory;
+        return this;
+    }
+
+    /**
+     * Sets the number of captured exchanges written to a single spec file. Defaults to 100.
+     *
+     * @param batchSize The number of exchanges per spec file.
+     * @return The HttpRecorderBuilder instance.
+     * @throws IllegalArgumentException if the size is not positive.
+     */
+    public HttpRecorderBuilder batchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets the interval at which captured exchanges are written even if they do not fill a batch.
+     * Defaults to one second.
+     *
+     * @param flushInterval The flush interval.
+     * @return The HttpRecorderBuilder instance.
+     */
+    public HttpRecorderBuilder flushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+        return this;
+    }
+
+    /**
+     * Opens a new HttpRecorder instance based on the configured parameters.
+     * Spec files left in the directory by a previous run are kept, and new files are numbered after them.
+     *
+     * @return The opened HttpRecorder instance.
+     * @throws IOException if the directory cannot be created or listed.
+     * @throws IllegalStateException if no upstream or no directory is set.
+     */
+    public HttpRecorder build() throws IOException {
+        if (upstream == null) {
+            throw new IllegalStateException("No upstream is set");
+        }
+        if (directory == null) {
+            throw new IllegalStateException("No recording directory is set");
+        }
+        return new HttpRecorder(upstream, directory, batchSize, flushInterval);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/**
+ * Represents a pattern of requests to verify against the requests received by the server, such as every
+ * POST to {@code /example1} with a given header. A pattern without any condition matches every request.
+ */
+public final class HttpRequestPattern {
+    private final HttpRoute route;
+    private final String path;
+    private final Map<String, String> pathParams;
+    private final Map<String, String> queryParams;
+    private final Map<String, String> headers;
+    private final HttpExchange exchange;
+
+    /**
+     * Creates a new instance of HttpRequestPatternBuilder.
+     *
+     * @return A new HttpRequestPatternBuilder instance.
+     */
+    public static HttpRequestPatternBuilder builder() {
+        return new HttpRequestPatternBuilder();
+    }
+
+    /**
+     * Creates a pattern matching the requests received by a route.
+     *
+     * @param route The route of the spec receiving the requests.
+     * @return A new HttpRequestPattern instance.
+     */
+    public static HttpRequestPattern of(HttpRoute route) {
+        return builder().route(route).build();
+    }
+
+    HttpRequestPattern(HttpRoute route, String path, Map<String, String> pathParams,
+                       Map<String, String> queryParams, Map<String, String> headers, HttpExchange exchange) {
+        this.route = route;
+        this.path = path;
+        this.pathParams = Collections.unmodifiableMap(pathParams);
+        this.queryParams = Collections.unmodifiableMap(queryParams);
+        this.headers = Collections.unmodifiableMap(headers);
+        this.exchange = exchange;
+    }
+
+    /**
+     * Retrieves the route of the spec receiving the requests.
+     *
+     * @return The route, or {@code null} for any route.
+     */
+    public HttpRoute getRoute() {
+        return route;
+    }
+
+    /**
+     * Retrieves the path of the requests.
+     *
+     * @return The request path, or {@code null} for any path.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Retrieves the path parameters the requests must have.
+     *
+     * @return The path parameters.
+     */
+    public Map<String, String> getPathParams() {
+        return pathParams;
+    }
+
+    /**
+     * Retrieves the query parameters the requests must have.
+     *
+     * @return The query parameters.
+     */
+    public Map<String, String> getQueryParams() {
+        return queryParams;
+    }
+
+    /**
+     * Retrieves the headers the requests must have.
+     *
+     * @return The request headers, keyed by their lower-case names.
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Retrieves the exchange that must have answered the requests.
+     *
+     * @return The exchange, or {@code null} for any or no exchange.
+     */
+    public HttpExchange getExchange() {
+        return exchange;
+    }
+
+    /**
+     * Checks if the pattern has no condition other than its route, so that its requests are counted by the
+     * request count of the route.
+     *
+     * @return {@code true} if only the route is set, {@code false} otherwise.
+     */
+    boolean isRouteOnly() {
+        return route != null && exchange == null && hasNoRequestCondition();
+    }
+
+    /**
+     * Checks if the pattern has no condition other than its exchange, so that its requests are counted by the
+     * hit count of the exchange.
+     *
+     * @return {@code true} if only the exchange is set, {@code false} otherwise.
+     */
+    boolean isExchangeOnly() {
+        return exchange != null && route == null && hasNoRequestCondition();
+    }
+
+    /**
+     * Checks if a recorded request matches the pattern.
+     *
+     * @param entry The journal entry of the request.
+     * @return {@code true} if the request matches every condition of the pattern, {@code false} otherwise.
+     */
+    boolean isMatch(HttpJournalEntry entry) {
+        if (route != null && !isSameRoute(route, entry.getRoute())) {
+            return false;
+        }
+        if (path != null && !path.equals(entry.getPath())) {
+            return false;
+        }
+        if (exchange != null && exchange != entry.getExchange()) {
+            return false;
+        }
+        return containsAll(entry.getPathParams(), pathParams) &&
+               containsAll(entry.getQueryParams(), queryParams) &&
+               containsAll(entry.getHeaders(), headers);
+    }
+
+    /**
+     * Checks if two routes have the same method and path.
+     *
+     * @param route The route.
+     * @param other The other route.
+     * @return {@code true} if the routes are the same, {@code false} otherwise.
+     */
+    static boolean isSameRoute(HttpRoute route, HttpRoute other) {
+        return route.getMethod() == other.getMethod() && route.getPath().equals(other.getPath());
+    }
+
+    private boolean hasNoRequestCondition() {
+        return path == null && pathParams.isEmpty() && queryParams.isEmpty() && headers.isEmpty();
+    }
+
+    private static boolean containsAll(Map<String, String> actual, Map<String, String> expected) {
+        for (Entry<String, String> each : expected.entrySet()) {
+            if (!Objects.equals(actual.get(each.getKey()), each.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("HttpRequestPattern{");
+        if (route != null) {
+            builder.append("route=").append(route.getMethod()).append(' ').append(route.getPath()).append(", ");
+        }
+        if (path != null) {
+            builder.append("path=").append(path).append(", ");
+        }
+        return builder.append("pathParams=").append(pathParams)
+                      .append(", queryParams=").append(queryParams)
+                      .append(", headers=").append(headers)
+                      .append(", exchange=").append(exchange != null)
+                      .append('}').toString();
+    }
+}
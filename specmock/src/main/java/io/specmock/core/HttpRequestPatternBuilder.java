@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builder class for constructing HttpRequestPattern instances.
+ */
+public final class HttpRequestPatternBuilder {
+    private HttpRoute route;
+    private String path;
+    private final Map<String, String> pathParams = new HashMap<>();
+    private final Map<String, String> queryParams = new HashMap<>();
+    private final Map<String, String> headers = new HashMap<>();
+    private HttpExchange exchange;
+
+    HttpRequestPatternBuilder() {
+    }
+
+    /**
+     * Sets the route of the spec receiving the requests.
+     *
+     * @param route The route, such as {@code HttpRoute.post("/example1")}.
+     * @return The HttpRequestPatternBuilder instance.
+     */
+    public HttpRequestPatternBuilder route(HttpRoute route) {
+        this.route = route;
+        return this;
+    }
+
+    /**
+     * Sets the path of the requests, without its query string.
+     *
+     * @param path The request path, such as {@code /example6/1/2}.
+     * @return The HttpRequestPatternBuilder instance.
+     */
+    public HttpRequestPatternBuilder path(String path) {
+        this.path = path;
+        return this;
+    }
+
+    /**
+     * Adds a path parameter the requests must have.
+     *
+     * @param name  The name of the path variable.
+     * @param value The value of the path parameter.
+     * @return The HttpRequestPatternBuilder instance.
+     */
+    public HttpRequestPatternBuilder pathParam(String name, String value) {
+        pathParams.put(name, value);
+        return this;
+    }
+
+    /**
+     * Adds a query parameter the requests must have.
+     *
+     * @param name  The name of the query parameter.
+     * @param value The value of the query parameter.
+     * @return The HttpRequestPatternBuilder instance.
+     */
+    public HttpRequestPatternBuilder queryParam(String name, String value) {
+        queryParams.put(name, value);
+        return this;
+    }
+
+    /**
+     * Adds a header the requests must have. Header names are compared ignoring case.
+     *
+     * @param name  The name of the header.
+     * @param value The value of the header.
+     * @return The HttpRequestPatternBuilder instance.
+     */
+    public HttpRequestPatternBuilder header(String name, String value) {
+        headers.put(name.toLowerCase(Locale.ROOT), value);
+        return this;
+    }
+
+    /**
+     * Sets the exchange that must have answered the requests.
+     *
+     * @param exchange The exchange.
+     * @return The HttpRequestPatternBuilder instance.
+     */
+    public HttpRequestPatternBuilder exchange(HttpExchange exchange) {
+        this.exchange = exchange;
+        return this;
+    }
+
+    /**
+     * Builds a new HttpRequestPattern instance based on the configured parameters.
+     *
+     * @return The constructed HttpRequestPattern instance.
+     */
+    public HttpRequestPattern build() {
+        return new HttpRequestPattern(route, path, new HashMap<>(pathParams), new HashMap<>(queryParams),
+                                      new HashMap<>(headers), exchange);
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Represents an in-memory REST resource, such as users or orders, whose records are created, read, updated
+ * and deleted through the routes of a spec instead of being answered with fixed exchanges.
+ *
+ * <p>Records are JSON objects held in a {@link ConcurrentHashMap} keyed by the text of their id field. Each
+ * indexed field has a secondary map from a field value to the ids of the records holding it, so filtering a
+ * list by an indexed field reads only the matching records instead of scanning the whole store. A record and
+ * its index entries are changed together under the lock of its id, and stored records are never modified in
+ * place, so readers always see a whole record.
+ */
+public final class HttpResource {
+    private final String idField;
+    private final List<String> indexedFields;
+    private final ConcurrentHashMap<String, ObjectNode> records = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentHashMap<String, Set<String>>> indexes = new HashMap<>();
+    private final AtomicLong lastId = new AtomicLong();
+
+    /**
+     * Creates an empty resource.
+     *
+     * @param idField       The field holding the id of a record.
+     * @param indexedFields The fields to index, used to filter lists without a scan.
+     * @return A new HttpResource instance.
+     */
+    public static HttpResource of(String idField, String... indexedFields) {
+        return new HttpResource(idField, Arrays.asList(indexedFields));
+    }
+
+    private HttpResource(String idField, List<String> indexedFields) {
+        this.idField = idField;
+        this.indexedFields = Collections.unmodifiableList(indexedFields);
+        for (String field : indexedFields) {
+            indexes.put(field, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Retrieves the field holding the id of a record.
+     *
+     * @return The id field.
+     */
+    public String getIdField() {
+        return idField;
+    }
+
+    /**
+     * Retrieves the indexed fields.
+     *
+     * @return The indexed fields.
+     */
+    public List<String> getIndexedFields() {
+        return indexedFields;
+    }
+
+    /**
+     * Retrieves the number of records.
+     *
+     * @return The number of records.
+     */
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Retrieves a record by its id.
+     *
+     * @param id The id of the record.
+     * @return A copy of the record, or {@code null} if there is none with the id.
+     */
+    public ObjectNode get(String id) {
+        return copy(records.get(id));
+    }
+
+    /**
+     * Creates a record. A record without an id is given the next free numeric id.
+     *
+     * @param record The record to create. It is copied, so later changes to it do not affect the resource.
+     * @return A copy of the created record, or {@code null} if a record with the same id already exists.
+     */
+    public ObjectNode create(ObjectNode record) {
+        final ObjectNode created = record.deepCopy();
+        final JsonNode id = created.get(idField);
+        if (id != null && !id.isNull()) {
+            final String key = id.asText();
+            return records.compute(key, (k, existing) -> {
+                if (existing != null) {
+                    return existing;
+                }
+                index(k, created);
+                return created;
+            }) == created ? created.deepCopy() : null;
+        }
+
+        while (true) {
+            final long nextId = lastId.incrementAndGet();
+            created.put(idField, nextId);
+            final String key = String.valueOf(nextId);
+            if (records.computeIfAbsent(key, k -> {
+                index(k, created);
+                return created;
+            }) == created) {
+                return created.deepCopy();
+            }
+        }
+    }
+
+    /**
+     * Replaces a record.
+     *
+     * @param id     The id of the record.
+     * @param record The new record. It is copied, and its id field is set to the id of the replaced record.
+     * @return A copy of the new record, or {@code null} if there is none with the id.
+     */
+    public ObjectNode update(String id, ObjectNode record) {
+        return copy(records.computeIfPresent(id, (k, existing) -> {
+            final ObjectNode updated = record.deepCopy();
+            updated.set(idField, existing.get(idField));
+            unindex(k, existing);
+            index(k, updated);
+            return updated;
+        }));
+    }
+
+    /**
+     * Merges fields into a record, leaving the fields absent from the patch unchanged.
+     *
+     * @param id    The id of the record.
+     * @param patch The fields to set. The id field of the patch is ignored.
+     * @return A copy of the merged record, or {@code null} if there is none with the id.
+     */
+    public ObjectNode patch(String id, ObjectNode patch) {
+        return copy(records.computeIfPresent(id, (k, existing) -> {
+            final ObjectNode patched = existing.deepCopy();
+            patched.setAll(patch.deepCopy());
+            patched.set(idField, existing.get(idField));
+            unindex(k, existing);
+            index(k, patched);
+            return patched;
+        }));
+    }
+
+    /**
+     * Deletes a record.
+     *
+     * @param id The id of the record.
+     * @return {@code true} if the record was deleted, {@code false} if there is none with the id.
+     */
+    public boolean delete(String id) {
+        final boolean[] deleted = new boolean[1];
+        records.computeIfPresent(id, (k, existing) -> {
+            unindex(k, existing);
+            deleted[0] = true;
+            return null;
+        });
+        return deleted[0];
+    }
+
+    /**
+     * Finds the records whose fields have the given values. When an indexed field is filtered on, only the
+     * records under the smallest of the matching index entries are read.
+     *
+     * @param filter The values of the fields to match, compared as text. An empty filter matches every record.
+     * @return Copies of the matching records, in no particular order.
+     */
+    public List<ObjectNode> find(Map<String, String> filter) {
+        Set<String> candidates = null;
+        for (Entry<String, String> entry : filter.entrySet()) {
+            final ConcurrentHashMap<String, Set<String>> index = indexes.get(entry.getKey());
+            if (index == null) {
+                continue;
+            }
+            final Set<String> ids = index.get(entry.getValue());
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+            if (candidates == null || ids.size() < candidates.size()) {
+                candidates = ids;
+            }
+        }
+
+        final List<ObjectNode> found = new ArrayList<>();
+        if (candidates == null) {
+            for (ObjectNode record : records.values()) {
+                if (isMatch(record, filter)) {
+                    found.add(record.deepCopy());
+                }
+            }
+            return found;
+        }
+        for (String id : candidates) {
+            // The index is read without the record lock, so the record may have changed since.
+            final ObjectNode record = records.get(id);
+            if (record != null && isMatch(record, filter)) {
+                found.add(record.deepCopy());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Deletes every record and resets the generated ids.
+     */
+    public void clear() {
+        for (String id : records.keySet()) {
+            delete(id);
+        }
+        lastId.set(0);
+    }
+
+    /**
+     * Retrieves a live view of the records, which can be iterated while the resource is being changed.
+     *
+     * @return The records, in no particular order.
+     */
+    Collection<ObjectNode> records() {
+        return Collections.unmodifiableCollection(records.values());
+    }
+
+    /**
+     * Retrieves the last generated id.
+     *
+     * @return The last generated id, or 0 if no id has been generated.
+     */
+    long lastId() {
+        return lastId.get();
+    }
+
+    /**
+     * Puts a record back as it was saved, replacing any record with the same id.
+     *
+     * @param record The record to put. It is stored as is.
+     */
+    void restore(ObjectNode record) {
+        records.compute(record.get(idField).asText(), (k, existing) -> {
+            if (existing != null) {
+                unindex(k, existing);
+            }
+            index(k, record);
+            return record;
+        });
+    }
+
+    /**
+     * Sets the last generated id, so that restored records are not given again.
+     *
+     * @param lastId The last generated id.
+     */
+    void restoreLastId(long lastId) {
+        this.lastId.set(lastId);
+    }
+
+    private static ObjectNode copy(ObjectNode record) {
+        return record == null ? null : record.deepCopy();
+    }
+
+    private static boolean isMatch(ObjectNode record, Map<String, String> filter) {
+        for (Entry<String, String> entry : filter.entrySet()) {
+            final String value = indexValue(record.get(entry.getKey()));
+            if (!entry.getValue().equals(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void index(String id, ObjectNode record) {
+        for (Entry<String, ConcurrentHashMap<String, Set<String>>> entry : indexes.entrySet()) {
+            final String value = indexValue(record.get(entry.getKey()));
+            if (value == null) {
+                continue;
+            }
+            entry.getValue().compute(value, (v, ids) -> {
+                final Set<String> indexed = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                indexed.add(id);
+                return indexed;
+            });
+        }
+    }
+
+    private void unindex(String id, ObjectNode record) {
+        for (Entry<String, ConcurrentHashMap<String, Set<String>>> entry : indexes.entrySet()) {
+            final String value = indexValue(record.get(entry.getKey()));
+            if (value == null) {
+                continue;
+            }
+            entry.getValue().computeIfPresent(value, (v, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static String indexValue(JsonNode value) {
+        if (value == null || !value.isValueNode() || value.isNull()) {
+            return null;
+        }
+        return value.asText();
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Holds the encoded response bodies of the exchanges of a spec, computed once when the server is built.
+ * When compression is enabled, gzip and deflate variants of each body are computed up front as well,
+ * and a variant is chosen per request from the {@code Accept-Encoding} header.
+ */
+final class HttpResponseCache {
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    private static final int MIN_COMPRESSIBLE_LENGTH = 1024;
+    // ID1, ID2, deflate method, no flags, no modification time, no extra flags and an unknown OS.
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    private final Map<HttpExchange, Entry> entries = new IdentityHashMap<>();
+
+    /**
+     * Constructs an HttpResponseCache for the given exchanges.
+     * Streamed responses and exchanges whose response object cannot be serialized are left out of the cache.
+     *
+     * @param exchanges   The HTTP exchanges whose response bodies are cached.
+     * @param mapper      The ObjectMapper used to serialize response objects.
+     * @param compression Whether to compute compressed variants of the response bodies.
+     */
+    HttpResponseCache(List<HttpExchange> exchanges, ObjectMapper mapper, boolean compression) {
+        for (HttpExchange exchange : exchanges) {
+            if (exchange.getResponseStream() != null) {
+                continue;
+            }
+            ByteBuffer identity = exchange.getResponseBody();
+            if (identity == null) {
+                try {
+                    identity = ByteBuffer.wrap(mapper.writeValueAsBytes(exchange.getResponseObject()));
+                } catch (JsonProcessingException e) {
+                    continue;
+                }
+            }
+
+            ByteBuffer gzip = null;
+            ByteBuffer deflate = null;
+            if (compression && identity.remaining() >= MIN_COMPRESSIBLE_LENGTH) {
+                gzip = compress(identity, GZIP);
+                // Both codings carry the same deflate stream and gzip frames it in more bytes,
+                // so deflate always pays off when gzip does.
+                if (gzip != null) {
+                    deflate = compress(identity, DEFLATE);
+                }
+            }
+            entries.put(exchange, new Entry(identity, gzip, deflate));
+        }
+    }
+
+    /**
+     * Retrieves the cached response bodies of the exchange.
+     *
+     * @param exchange The HTTP exchange.
+     * @return The cached entry, or {@code null} if the response body of the exchange is not cached.
+     */
+    Entry get(HttpExchange exchange) {
+        return entries.get(exchange);
+    }
+
+    private static ByteBuffer compress(ByteBuffer identity, String encoding) {
+        final byte[] input = new byte[identity.remaining()];
+        identity.duplicate().get(input);
+        final boolean gzip = GZIP.equals(encoding);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(input.length / 2);
+        if (gzip) {
+            bytes.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+        }
+
+        // deflate is a zlib stream; gzip wraps a raw deflate stream in its own header and trailer.
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, gzip);
+        deflater.setInput(input);
+        deflater.finish();
+        final byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            bytes.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+
+        if (gzip) {
+            final CRC32 crc = new CRC32();
+            crc.update(input, 0, input.length);
+            writeIntLittleEndian(bytes, crc.getValue());
+            writeIntLittleEndian(bytes, input.length);
+        }
+        if (bytes.size() >= input.length) {
+            return null;
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static void writeIntLittleEndian(ByteArrayOutputStream out, long value) {
+        for (int i = 0; i < 4; i++) {
+            out.write((int) (value >>> (8 * i)));
+        }
+    }
+
+    /**
+     * The encoded response bodies of a single exchange.
+     */
+    static final class Entry {
+        private final ByteBuffer identity;
+        private final ByteBuffer gzip;
+        private final ByteBuffer deflate;
+        private final String etag;
+        private final String gzipEtag;
+        private final String deflateEtag;
+
+        Entry(ByteBuffer identity, ByteBuffer gzip, ByteBuffer deflate) {
+            this.identity = identity;
+            this.gzip = gzip;
+            this.deflate = deflate;
+
+            final CRC32 crc = new CRC32();
+            crc.update(identity.duplicate());
+            final String tag = Long.toHexString(crc.getValue()) + '-' +
+                               Integer.toHexString(identity.remaining());
+            etag = '"' + tag + '"';
+            // Each content coding is a different representation, so it needs a strong validator of its own.
+            gzipEtag = "\"" + tag + '-' + GZIP + '"';
+            deflateEtag = "\"" + tag + '-' + DEFLATE + '"';
+        }
+
+        /**
+         * Checks whether the response body has any compressed variant, in which case the response varies with
+         * {@code Accept-Encoding}.
+         *
+         * @return {@code true} if gzip and deflate bodies are available.
+         */
+        boolean isEncoded() {
+            return gzip != null;
+        }
+
+        /**
+         * Retrieves the strong entity tag of the response body in the given content coding, used to validate
+         * {@code If-Range}.
+         *
+         * @param encoding The content coding chosen by {@link #negotiate(String)}.
+         * @return The entity tag, including its quotes.
+         */
+        String etag(String encoding) {
+            if (GZIP.equals(encoding)) {
+                return gzipEtag;
+            }
+            if (DEFLATE.equals(encoding)) {
+                return deflateEtag;
+            }
+            return etag;
+        }
+
+        /**
+         * Chooses the content coding of the response from the {@code Accept-Encoding} request header.
+         *
+         * @param acceptEncoding The value of the {@code Accept-Encoding} header, or {@code null} if absent.
+         * @return {@link #GZIP}, {@link #DEFLATE}, or {@code null} to send the body as-is.
+         */
+        String negotiate(String acceptEncoding) {
+            if (acceptEncoding == null || !isEncoded()) {
+                return null;
+            }
+
+            // A negative quality means the coding is not listed and falls back to the wildcard.
+            float gzipQuality = -1;
+            float deflateQuality = -1;
+            float wildcardQuality = 0;
+            for (String each : acceptEncoding.split(",")) {
+                final String[] parts = each.split(";");
+                final String coding = parts[0].trim();
+                float quality = 1;
+                for (int i = 1; i < parts.length; i++) {
+                    final String param = parts[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            quality = Float.parseFloat(param.substring(2));
+                        } catch (NumberFormatException e) {
+                            quality = 0;
+                        }
+                    }
+                }
+                if (GZIP.equalsIgnoreCase(coding) || "x-gzip".equalsIgnoreCase(coding)) {
+                    gzipQuality = quality;
+                } else if (DEFLATE.equalsIgnoreCase(coding)) {
+                    deflateQuality = quality;
+                } else if ("*".equals(coding)) {
+                    wildcardQuality = quality;
+                }
+            }
+            if (gzipQuality < 0) {
+                gzipQuality = wildcardQuality;
+            }
+            if (deflateQuality < 0) {
+                deflateQuality = wildcardQuality;
+            }
+
+            if (gzipQuality > 0 && gzipQuality >= deflateQuality) {
+                return GZIP;
+            }
+            if (deflateQuality > 0) {
+                return DEFLATE;
+            }
+            return null;
+        }
+
+        /**
+         * Retrieves the response body in the given content coding.
+         *
+         * @param encoding The content coding chosen by {@link #negotiate(String)}.
+         * @return A read-only view of the encoded response body.
+         */
+        ByteBuffer body(String encoding) {
+            if (GZIP.equals(encoding)) {
+                return gzip.asReadOnlyBuffer();
+            }
+            if (DEFLATE.equals(encoding)) {
+                return deflate.asReadOnlyBuffer();
+            }
+            return identity.asReadOnlyBuffer();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.function.LongFunction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Represents a response body that is generated and sent incrementally, instead of being encoded up front.
+ * The body is written in chunks as the client consumes it, so its size does not affect the heap.
+ */
+public final class HttpResponseStream {
+    private final long size;
+    private final LongFunction<?> elementGenerator;
+
+    /**
+     * Creates a stream of a JSON array whose elements are generated one by one.
+     *
+     * @param size             The number of elements in the array.
+     * @param elementGenerator The function generating the element at the given index.
+     * @return A new HttpResponseStream instance.
+     */
+    public static HttpResponseStream jsonArray(long size, LongFunction<?> elementGenerator) {
+        return new HttpResponseStream(size, elementGenerator);
+    }
+
+    private HttpResponseStream(long size, LongFunction<?> elementGenerator) {
+        this.size = size;
+        this.elementGenerator = elementGenerator;
+    }
+
+    /**
+     * Retrieves the number of elements in the stream.
+     *
+     * @return The number of elements.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Opens a new cursor over the encoded body of the stream.
+     *
+     * @param mapper The ObjectMapper used to serialize the elements.
+     * @return A new cursor positioned at the start of the body.
+     */
+    Cursor open(ObjectMapper mapper) {
+        return new Cursor(mapper);
+    }
+
+    /**
+     * Reads the encoded body of a stream chunk by chunk. A cursor is not thread-safe.
+     */
+    final class Cursor {
+        private final ObjectMapper mapper;
+        private long index = -1;
+
+        private Cursor(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        /**
+         * Encodes the next chunk of the body.
+         *
+         * @param chunkSize The number of bytes after which no more elements are added to the chunk.
+         * @return The encoded chunk, or {@code null} if the whole body has been read.
+         * @throws IOException if an element cannot be serialized.
+         */
+        byte[] next(int chunkSize) throws IOException {
+            if (index > size) {
+                return null;
+            }
+
+            final ByteArrayOutputStream chunk = new ByteArrayOutputStream(chunkSize);
+            if (index < 0) {
+                chunk.write('[');
+                index = 0;
+            }
+            while (index < size && chunk.size() < chunkSize) {
+                if (index > 0) {
+                    chunk.write(',');
+                }
+                mapper.writeValue(chunk, elementGenerator.apply(index));
+                index++;
+            }
+            if (index == size) {
+                chunk.write(']');
+                index++;
+            }
+            return chunk.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the requests of a route and the latencies of their handling, and of each exchange of the route.
+ *
+ * <p>Unlike the request and hit counts used to verify requests, these metrics are never reset, so they can be
+ * scraped as monotonic counters. Counters are {@link LongAdder}s, so recording takes no lock.
+ */
+final class HttpRouteMetrics {
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder matchCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final HttpLatencyHistogram aggregateLatency = new HttpLatencyHistogram();
+    private final HttpLatencyHistogram matchLatency = new HttpLatencyHistogram();
+    private final HttpLatencyHistogram serializeLatency = new HttpLatencyHistogram();
+    private final List<HttpExchange> exchanges;
+    private final Map<HttpExchange, Exchange> exchangeMetrics = new IdentityHashMap<>();
+
+    /**
+     * Constructs an HttpRouteMetrics for the exchanges of a route.
+     *
+     * @param exchanges The exchanges of the route.
+     */
+    HttpRouteMetrics(List<HttpExchange> exchanges) {
+        this.exchanges = exchanges;
+        for (HttpExchange exchange : exchanges) {
+            exchangeMetrics.put(exchange, new Exchange());
+        }
+    }
+
+    /**
+     * Records that the route has received a request.
+     */
+    void received() {
+        requestCount.increment();
+    }
+
+    /**
+     * Retrieves the number of requests received by the route since the server was built.
+     *
+     * @return The request count.
+     */
+    long requestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * Records the time taken to receive the whole body of a request.
+     *
+     * @param nanos The aggregation time in nanoseconds.
+     */
+    void aggregated(long nanos) {
+        aggregateLatency.record(nanos);
+    }
+
+    /**
+     * Records the time taken to look for the exchange matching a request, whether one was found or not.
+     *
+     * @param nanos The matching time in nanoseconds.
+     */
+    void matching(long nanos) {
+        matchLatency.record(nanos);
+    }
+
+    /**
+     * Records that a request has matched an exchange, and the time taken to build its response.
+     *
+     * @param exchange The matched exchange.
+     * @param nanos    The serialization time in nanoseconds.
+     */
+    void matched(HttpExchange exchange, long nanos) {
+        matchCount.increment();
+        serializeLatency.record(nanos);
+        final Exchange metrics = exchangeMetrics.get(exchange);
+        if (metrics != null) {
+            metrics.matchCount.increment();
+            metrics.serializeLatency.record(nanos);
+        }
+    }
+
+    /**
+     * Records that a request matched no exchange and was rejected with {@code 406 Not Acceptable}.
+     */
+    void missed() {
+        missCount.increment();
+    }
+
+    /**
+     * Records that the response to a request failed or had a {@code 5xx} status.
+     */
+    void failed() {
+        errorCount.increment();
+    }
+
+    /**
+     * Takes a snapshot of the metrics. Requests handled concurrently may be partly counted.
+     *
+     * @param route The route the metrics belong to.
+     * @return A new snapshot.
+     */
+    HttpRouteMetricsSnapshot snapshot(HttpRoute route) {
+        final List<HttpExchangeMetricsSnapshot> exchangeSnapshots = new ArrayList<>(exchanges.size());
+        for (HttpExchange exchange : exchanges) {
+            final Exchange metrics = exchangeMetrics.get(exchange);
+            exchangeSnapshots.add(new HttpExchangeMetricsSnapshot(exchange, metrics.matchCount.sum(),
+                                                                  metrics.serializeLatency.snapshot()));
+        }
+        return new HttpRouteMetricsSnapshot(route, requestCount.sum(), matchCount.sum(), missCount.sum(),
+                                            errorCount.sum(), aggregateLatency.snapshot(),
+                                            matchLatency.snapshot(), serializeLatency.snapshot(),
+                                            Collections.unmodifiableList(exchangeSnapshots));
+    }
+
+    /**
+     * The metrics of a single exchange of the route.
+     */
+    private static final class Exchange {
+        private final LongAdder matchCount = new LongAdder();
+        private final HttpLatencyHistogram serializeLatency = new HttpLatencyHistogram();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.util.List;
+
+/**
+ * Represents the metrics of a route at a point in time.
+ *
+ * <p>The handling of a request is timed in three phases: receiving its whole body, looking for the exchange
+ * matching it, and building the response of the matched exchange. The time a streamed response takes to be
+ * sent is not part of the serialization phase.
+ */
+public final class HttpRouteMetricsSnapshot {
+    private final HttpRoute route;
+    private final long requestCount;
+    private final long matchCount;
+    private final long missCount;
+    private final long errorCount;
+    private final HttpLatencySnapshot aggregateLatency;
+    private final HttpLatencySnapshot matchLatency;
+    private final HttpLatencySnapshot serializeLatency;
+    private final List<HttpExchangeMetricsSnapshot> exchanges;
+
+    HttpRouteMetricsSnapshot(HttpRoute route, long requestCount, long matchCount, long missCount,
+                             long errorCount, HttpLatencySnapshot aggregateLatency,
+                             HttpLatencySnapshot matchLatency, HttpLatencySnapshot serializeLatency,
+                             List<HttpExchangeMetricsSnapshot> exchanges) {
+        this.route = route;
+        this.requestCount = requestCount;
+        this.matchCount = matchCount;
+        this.missCount = missCount;
+        this.errorCount = errorCount;
+        this.aggregateLatency = aggregateLatency;
+        this.matchLatency = matchLatency;
+        this.serializeLatency = serializeLatency;
+        this.exchanges = exchanges;
+    }
+
+    /**
+     * Retrieves the route the metrics belong to.
+     *
+     * @return The route.
+     */
+    public HttpRoute getRoute() {
+        return route;
+    }
+
+    /**
+     * Retrieves the number of requests received by the route, including the rejected and unmatched ones.
+     *
+     * @return The number of requests.
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * Retrieves the number of requests answered by an exchange.
+     *
+     * @return The number of matched requests.
+     */
+    public long getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Retrieves the number of requests that matched no exchange and were rejected with
+     * {@code 406 Not Acceptable}. Unmatched requests answered by a resource or forwarded upstream are not
+     * counted.
+     *
+     * @return The number of missed requests.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Retrieves the number of requests whose response failed or had a {@code 5xx} status, such as a body that
+     * could not be parsed or a stream that failed midway. Counted once the response is complete.
+     *
+     * @return The number of failed requests.
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Retrieves the ratio of the requests answered by an exchange.
+     *
+     * @return The match rate between 0 and 1, or zero if no request is received.
+     */
+    public double getMatchRate() {
+        return requestCount == 0 ? 0 : (double) matchCount / requestCount;
+    }
+
+    /**
+     * Retrieves the latencies of receiving the whole body of the requests.
+     *
+     * @return The aggregation latencies.
+     */
+    public HttpLatencySnapshot getAggregateLatency() {
+        return aggregateLatency;
+    }
+
+    /**
+     * Retrieves the latencies of looking for the exchange matching the requests.
+     *
+     * @return The matching latencies.
+     */
+    public HttpLatencySnapshot getMatchLatency() {
+        return matchLatency;
+    }
+
+    /**
+     * Retrieves the latencies of building the responses of the matched exchanges.
+     *
+     * @return The serialization latencies.
+     */
+    public HttpLatencySnapshot getSerializeLatency() {
+        return serializeLatency;
+    }
+
+    /**
+     * Retrieves the metrics of the exchanges of the route, in the order of the exchanges.
+     *
+     * @return The exchange metrics.
+     */
+    public List<HttpExchangeMetricsSnapshot> getExchanges() {
+        return exchanges;
+    }
+}
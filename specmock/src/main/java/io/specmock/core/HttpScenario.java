@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Represents a named scenario whose state decides which exchanges match, such as
+ * {@code Started}, then {@code Item Added}, then {@code Checked Out} for a shopping cart.
+ *
+ * <p>An exchange bound to a scenario matches only while the scenario is in its required state, and may move
+ * the scenario to a new state when it responds. The state is held in an {@link AtomicReference} and moved
+ * with compare-and-set, so of two concurrent requests that match the same state, only one makes the
+ * transition and the other is matched again against the new state. A scenario may be shared by the exchanges
+ * of several specs.
+ */
+public final class HttpScenario {
+    /**
+     * The state every scenario starts in.
+     */
+    public static final String STARTED = "Started";
+
+    private final String name;
+    private final AtomicReference<String> state = new AtomicReference<>(STARTED);
+
+    /**
+     * Creates a scenario in the {@link #STARTED} state.
+     *
+     * @param name The name of the scenario.
+     * @return A new HttpScenario instance.
+     */
+    public static HttpScenario of(String name) {
+        return new HttpScenario(name);
+    }
+
+    private HttpScenario(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Retrieves the name of the scenario.
+     *
+     * @return The scenario name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the current state of the scenario.
+     *
+     * @return The current state.
+     */
+    public String getState() {
+        return state.get();
+    }
+
+    /**
+     * Moves the scenario to the given state, regardless of its current state.
+     *
+     * @param newState The new state.
+     */
+    public void setState(String newState) {
+        state.set(newState);
+    }
+
+    /**
+     * Moves the scenario back to the {@link #STARTED} state.
+     */
+    public void reset() {
+        state.set(STARTED);
+    }
+
+    /**
+     * Moves the scenario from a state to another, if it is still in the former.
+     *
+     * @param requiredState The state the scenario must be in, or {@code null} for any state.
+     * @param newState      The new state.
+     * @return {@code true} if the scenario moved, {@code false} if it was no longer in the required state.
+     */
+    boolean transition(String requiredState, String newState) {
+        while (true) {
+            final String current = state.get();
+            if (requiredState != null && !requiredState.equals(current)) {
+                return false;
+            }
+            if (state.compareAndSet(current, newState)) {
+                return true;
+            }
+        }
+    }
+}
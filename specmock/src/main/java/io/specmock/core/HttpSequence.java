@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents a sequence over the exchanges of a spec, so successive requests get successive responses,
+ * such as {@code 202 Accepted}, then {@code 200 Pending}, then {@code 200 Done} for a polling flow.
+ *
+ * <p>The n-th request gets the n-th of the exchanges matching it. Positions are kept for the whole route,
+ * or for each client when a client key header is set, in atomic counters, so concurrent callers advance
+ * the sequence without locks. An instance holds the positions of its sequence, so it should be attached
+ * to a single HttpSpec.
+ */
+public final class HttpSequence {
+    private final HttpSequenceMode mode;
+    private final String clientKeyHeader;
+    private final AtomicLong routePosition = new AtomicLong();
+    private final ConcurrentMap<String, AtomicLong> clientPositions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a sequence whose position is shared by every client of the route.
+     *
+     * @param mode What the sequence answers once every exchange has been returned.
+     * @return A new HttpSequence instance.
+     */
+    public static HttpSequence of(HttpSequenceMode mode) {
+        return new HttpSequence(mode, null);
+    }
+
+    /**
+     * Creates a sequence whose position is kept for each client, identified by the value of a request header.
+     * Requests without the header share the position of the route.
+     *
+     * @param mode            What the sequence answers once every exchange has been returned.
+     * @param clientKeyHeader The name of the request header identifying the client, such as
+     *                        {@code x-client-id}.
+     * @return A new HttpSequence instance.
+     */
+    public static HttpSequence of(HttpSequenceMode mode, String clientKeyHeader) {
+        return new HttpSequence(mode, clientKeyHeader);
+    }
+
+    private HttpSequence(HttpSequenceMode mode, String clientKeyHeader) {
+        this.mode = mode;
+        this.clientKeyHeader = clientKeyHeader;
+    }
+
+    /**
+     * Retrieves what the sequence answers once every exchange has been returned.
+     *
+     * @return The sequence mode.
+     */
+    public HttpSequenceMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Retrieves the name of the request header identifying the client.
+     *
+     * @return The client key header, or {@code null} if the position is shared by every client.
+     */
+    public String getClientKeyHeader() {
+        return clientKeyHeader;
+    }
+
+    /**
+     * Moves the sequence back to its first exchange, for every client.
+     */
+    public void reset() {
+        routePosition.set(0);
+        clientPositions.clear();
+    }
+
+    /**
+     * Moves the sequence back to its first exchange, for a single client.
+     *
+     * @param clientKey The value of the client key header of the client.
+     */
+    public void reset(String clientKey) {
+        clientPositions.remove(clientKey);
+    }
+
+    /**
+     * Retrieves the position of the route, shared by requests without a client key.
+     *
+     * @return The number of exchanges taken from the route position.
+     */
+    long routePosition() {
+        return routePosition.get();
+    }
+
+    /**
+     * Retrieves a live view of the positions of the clients, keyed by the value of the client key header.
+     *
+     * @return The client positions.
+     */
+    Map<String, AtomicLong> clientPositions() {
+        return Collections.unmodifiableMap(clientPositions);
+    }
+
+    /**
+     * Sets a position of the sequence, as it was saved.
+     *
+     * @param clientKey The value of the client key header, or {@code null} to set the position of the route.
+     * @param position  The number of exchanges taken.
+     */
+    void restore(String clientKey, long position) {
+        if (clientKey == null) {
+            routePosition.set(position);
+        } else {
+            clientPositions.put(clientKey, new AtomicLong(position));
+        }
+    }
+
+    /**
+     * Takes the next position of the sequence, without choosing an exchange yet.
+     *
+     * @param clientKey The value of the client key header, or {@code null} to use the position of the route.
+     * @return The position taken, to be turned into an index with {@link #index(long, int)}.
+     */
+    long take(String clientKey) {
+        final AtomicLong position;
+        if (clientKey == null) {
+            position = routePosition;
+        } else {
+            position = clientPositions.computeIfAbsent(clientKey, key -> new AtomicLong());
+        }
+        return position.getAndIncrement();
+    }
+
+    /**
+     * Chooses the exchange at a position taken from the sequence.
+     *
+     * @param position The position taken with {@link #take(String)}.
+     * @param size     The number of exchanges matching the request.
+     * @return The index of the exchange answering the request, from 0 to {@code size - 1}.
+     */
+    int index(long position, int size) {
+        if (mode == HttpSequenceMode.CYCLIC) {
+            return (int) (position % size);
+        }
+        return (int) Math.min(position, size - 1);
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+/**
+ * Enum representing what a sequence of exchanges answers once every exchange has been returned.
+ */
+public enum HttpSequenceMode {
+    /**
+     * Starts over from the first exchange.
+     */
+    CYCLIC,
+    /**
+     * Keeps answering with the last exchange.
+     */
+    STICK_AT_LAST,
+}
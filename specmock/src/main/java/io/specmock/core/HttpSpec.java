@@ -24,6 +24,15 @@ import java.util.List;
 public final class HttpSpec {
     private final HttpRoute route;
     private final List<HttpExchange> exchanges;
+    private final HttpDelay delay;
+    private final HttpRateLimit rateLimit;
+    private final HttpConcurrencyLimit concurrencyLimit;
+    private final Long seed;
+    private final HttpSequence sequence;
+    private final HttpResource resource;
+    private final HttpRouteMetrics metrics;
+    // The route metrics are never reset, so the request count is kept as an offset from them.
+    private volatile long requestCountReset;
 
     /**
      * Creates a new instance of HttpSpecBuilder.
@@ -43,9 +52,31 @@ public final class HttpSpec {
         return new SpringWebHttpSpecBuilder();
     }
 
+    /**
+     * Creates a new instance of HttpSpecLoader.
+     *
+     * @return A new HttpSpecLoader instance.
+     */
+    public static HttpSpecLoader loader() {
+        return new HttpSpecLoader();
+    }
+
     HttpSpec(HttpRoute route, List<HttpExchange> exchanges) {
+        this(route, exchanges, null, null, null, null, null, null);
+    }
+
+    HttpSpec(HttpRoute route, List<HttpExchange> exchanges, HttpDelay delay, HttpRateLimit rateLimit,
+             HttpConcurrencyLimit concurrencyLimit, Long seed, HttpSequence sequence,
+             HttpResource resource) {
         this.route = route;
         this.exchanges = exchanges;
+        this.delay = delay;
+        this.rateLimit = rateLimit;
+        this.concurrencyLimit = concurrencyLimit;
+        this.seed = seed;
+        this.sequence = sequence;
+        this.resource = resource;
+        metrics = new HttpRouteMetrics(exchanges);
     }
 
     /**
@@ -65,4 +96,86 @@ public final class HttpSpec {
     public List<HttpExchange> getExchanges() {
         return exchanges;
     }
+
+    /**
+     * Retrieves the delay applied before responding with exchanges that have no delay of their own.
+     *
+     * @return The default delay of the specification, or {@code null} if none.
+     */
+    public HttpDelay getDelay() {
+        return delay;
+    }
+
+    /**
+     * Retrieves the rate limit on the requests of the route.
+     *
+     * @return The rate limit, or {@code null} if the route is not rate limited.
+     */
+    public HttpRateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    /**
+     * Retrieves the limit on the number of requests of the route handled at once.
+     *
+     * @return The concurrency limit, or {@code null} if the route is not concurrency limited.
+     */
+    public HttpConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * Retrieves the seed of the random choice between weighted exchanges.
+     *
+     * @return The seed, or {@code null} if the choice is not reproducible.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Retrieves the sequence over the exchanges of the specification.
+     *
+     * @return The sequence, or {@code null} if every request gets the first matching exchange.
+     */
+    public HttpSequence getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Retrieves the in-memory resource answering the requests that match none of the exchanges.
+     *
+     * @return The resource, or {@code null} if such requests are not acceptable.
+     */
+    public HttpResource getResource() {
+        return resource;
+    }
+
+    /**
+     * Retrieves the number of requests received by the route, including the rejected and unmatched ones.
+     *
+     * @return The request count.
+     */
+    public long getRequestCount() {
+        return metrics.requestCount() - requestCountReset;
+    }
+
+    /**
+     * Retrieves the metrics of the route, which are not reset with the request count.
+     *
+     * @return The route metrics.
+     */
+    HttpRouteMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Resets the request count of the route and the hit counts of its exchanges to zero.
+     */
+    void resetCounts() {
+        requestCountReset = metrics.requestCount();
+        for (HttpExchange exchange : exchanges) {
+            exchange.resetHitCount();
+        }
+    }
 }
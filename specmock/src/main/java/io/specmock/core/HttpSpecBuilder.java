@@ -26,6 +26,12 @@ import java.util.List;
 public final class HttpSpecBuilder {
     private HttpRoute route;
     private List<HttpExchange> exchanges = new ArrayList<>();
+    private HttpDelay delay;
+    private HttpRateLimit rateLimit;
+    private HttpConcurrencyLimit concurrencyLimit;
+    private Long seed;
+    private HttpSequence sequence;
+    private HttpResource resource;
 
     HttpSpecBuilder() {
     }
@@ -74,6 +80,81 @@ public final class HttpSpecBuilder {
         return this;
     }
 
+    /**
+     * Sets the delay applied before responding with exchanges that have no delay of their own,
+     * such as a latency profile recorded from the real service with
+     * {@link HttpDelay#percentileDistribution(java.nio.file.Path, java.util.concurrent.TimeUnit)}.
+     *
+     * @param delay The default delay of the specification.
+     * @return The HttpSpecBuilder instance.
+     */
+    public HttpSpecBuilder delay(HttpDelay delay) {
+        this.delay = delay;
+        return this;
+    }
+
+    /**
+     * Sets the rate limit on the requests of the route, such as {@code HttpRateLimit.of(100, 10)}.
+     * Requests over the limit are rejected before they are matched against the exchanges.
+     *
+     * @param rateLimit The rate limit of the route.
+     * @return The HttpSpecBuilder instance.
+     */
+    public HttpSpecBuilder rateLimit(HttpRateLimit rateLimit) {
+        this.rateLimit = rateLimit;
+        return this;
+    }
+
+    /**
+     * Sets the limit on the number of requests of the route handled at once,
+     * such as {@code HttpConcurrencyLimit.of(8)}.
+     * Requests over the limit are rejected before they are matched against the exchanges.
+     *
+     * @param concurrencyLimit The concurrency limit of the route.
+     * @return The HttpSpecBuilder instance.
+     */
+    public HttpSpecBuilder concurrencyLimit(HttpConcurrencyLimit concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+        return this;
+    }
+
+    /**
+     * Sets the seed of the random choice between weighted exchanges, so that requests sent in the same order
+     * get the same responses on every run.
+     *
+     * @param seed The seed of the random choice.
+     * @return The HttpSpecBuilder instance.
+     */
+    public HttpSpecBuilder seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Sets a sequence over the exchanges, so successive requests get successive matching exchanges,
+     * such as {@code HttpSequence.of(HttpSequenceMode.STICK_AT_LAST)}. Weights are ignored in a sequence.
+     *
+     * @param sequence The sequence over the exchanges.
+     * @return The HttpSpecBuilder instance.
+     */
+    public HttpSpecBuilder sequence(HttpSequence sequence) {
+        this.sequence = sequence;
+        return this;
+    }
+
+    /**
+     * Sets an in-memory resource, such as {@code HttpResource.of("id", "team")}, that answers the requests
+     * matching none of the exchanges: POST creates a record, GET reads one by id or lists them filtered by
+     * the query parameters, PUT replaces, PATCH merges and DELETE removes one.
+     *
+     * @param resource The resource backing the route.
+     * @return The HttpSpecBuilder instance.
+     */
+    public HttpSpecBuilder resource(HttpResource resource) {
+        this.resource = resource;
+        return this;
+    }
+
     /**
      * Builds a new HttpSpec instance based on the configured parameters.
      *
@@ -81,6 +162,7 @@ public final class HttpSpecBuilder {
      */
     public HttpSpec build() {
         assert route != null;
-        return new HttpSpec(route, exchanges);
+        return new HttpSpec(route, exchanges, delay, rateLimit, concurrencyLimit, seed, sequence,
+                            resource);
     }
 }
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+/**
+ * Loads HTTP specifications from JSON or YAML spec files.
+ *
+ * <p>Spec files are parsed token by token, so only one exchange is held in memory while reading.
+ * Request bodies are kept as JSON trees for matching, and response bodies are kept as raw encoded bytes,
+ * never as object graphs. A response may also point to a {@code responseFile}, relative to the spec file,
+ * which is memory-mapped instead of read onto the heap. A spec or an exchange may point to a
+ * {@code latencyProfile}, an HdrHistogram percentile distribution file in milliseconds, whose latencies
+ * are replayed before responding. Exchanges naming the same {@code scenario} share it, and match only in
+ * their {@code requiredState}. A spec file looks like:
+ * <pre>{@code
+ * {
+ *   "specs": [
+ *     {
+ *       "method": "POST",
+ *       "path": "/example1",
+ *       "latencyProfile": "profiles/example1.hgrm",
+ *       "exchanges": [
+ *         {
+ *           "pathParams": { "id": "1" },
+ *           "queryParams": { "page": "0" },
+ *           "headers": { "x-tenant": "specmock" },
+ *           "request": { "stringValue": "REQ" },
+ *           "status": 200,
+ *           "response": { "stringValue": "RES" }
+ *         },
+ *         {
+ *           "status": 200,
+ *           "contentType": "application/octet-stream",
+ *           "responseFile": "fixtures/large.bin"
+ *         }
+ *       ]
+ *     }
+ *   ]
+ * }
+ * }</pre>
+ */
+public final class HttpSpecLoader {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = mapper.getFactory();
+    private final JsonFactory yamlFactory = new YAMLFactory();
+    private final Map<String, HttpScenario> scenarios = new HashMap<>();
+
+    /**
+     * Constructs an HttpSpecLoader.
+     * Package-private access to limit instantiation outside the package.
+     */
+    HttpSpecLoader() {
+    }
+
+    /**
+     * Retrieves a scenario referenced by the loaded spec files, to inspect or reset its state.
+     * Exchanges that name the same scenario share it, across all the files loaded by this loader.
+     *
+     * @param name The name of the scenario.
+     * @return The scenario, or {@code null} if no loaded exchange references it.
+     */
+    public HttpScenario getScenario(String name) {
+        return scenarios.get(name);
+    }
+
+    /**
+     * Loads HTTP specifications from a spec file, or from every spec file under a directory.
+     * Specs that share the same method and path are merged into a single specification.
+     *
+     * @param path The spec file or the directory containing spec files.
+     * @return The list of loaded HttpSpec instances.
+     * @throws IOException if a spec file cannot be read or is malformed.
+     */
+    public List<HttpSpec> load(Path path) throws IOException {
+        final Map<String, HttpSpecBuilder> builders = new LinkedHashMap<>();
+        if (Files.isDirectory(path)) {
+            final List<Path> files;
+            try (Stream<Path> walk = Files.walk(path)) {
+                files = walk.filter(Files::isRegularFile)
+                            .filter(file -> isJson(file) || isYaml(file))
+                            .sorted()
+                            .collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                loadFile(file, builders);
+            }
+        } else {
+            loadFile(path, builders);
+        }
+
+        final List<HttpSpec> specs = new ArrayList<>();
+        for (HttpSpecBuilder builder : builders.values()) {
+            specs.add(builder.build());
+        }
+        return specs;
+    }
+
+    private void loadFile(Path file, Map<String, HttpSpecBuilder> builders) throws IOException {
+        final JsonFactory factory = isYaml(file) ? yamlFactory : jsonFactory;
+        try (InputStream in = Files.newInputStream(file);
+             JsonParser parser = factory.createParser(in)) {
+            if (parser.nextToken() == null) {
+                return;
+            }
+            expect(parser, JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("specs".equals(field)) {
+                    expect(parser, JsonToken.START_ARRAY);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readSpec(parser, file, builders);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readSpec(JsonParser parser, Path file, Map<String, HttpSpecBuilder> builders)
+            throws IOException {
+        String method = null;
+        String path = null;
+        HttpDelay delay = null;
+        final List<HttpExchange> exchanges = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "method":
+                    method = parser.getText();
+                    break;
+                case "path":
+                    path = parser.getText();
+                    break;
+                case "latencyProfile":
+                    delay = readLatencyProfile(parser, file);
+                    break;
+                case "exchanges":
+                    expect(parser, JsonToken.START_ARRAY);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        exchanges.add(readExchange(parser, file));
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (method == null || path == null) {
+            throw new JsonParseException(parser, "A spec requires both 'method' and 'path'");
+        }
+
+        final HttpRoute route = HttpRoute.of(method, path);
+        final HttpSpecBuilder builder = builders.computeIfAbsent(route.getMethod() + " " + route.getPath(),
+                                                                 key -> HttpSpec.builder().route(route));
+        builder.exchanges(exchanges.toArray(new HttpExchange[0]));
+        if (delay != null) {
+            builder.delay(delay);
+        }
+    }
+
+    private HttpExchange readExchange(JsonParser parser, Path file) throws IOException {
+        final HttpExchangeBuilder builder = HttpExchange.builder();
+        String scenario = null;
+        String requiredState = null;
+        String newState = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "pathParams":
+                    builder.pathParamMap(readStringMap(parser));
+                    break;
+                case "queryParams":
+                    builder.queryParamMap(readStringMap(parser));
+                    break;
+                case "headers":
+                    builder.headerMap(readStringMap(parser));
+                    break;
+                case "request":
+                    builder.requestObject(mapper.readTree(parser));
+                    break;
+                case "status":
+                    builder.responseStatus(HttpStatus.of(parser.getIntValue()));
+                    break;
+                case "response":
+                    builder.responseBody(readRawValue(parser));
+                    break;
+                case "responseFile":
+                    builder.responseFile(file.resolveSibling(parser.getText()));
+                    break;
+                case "contentType":
+                    builder.responseContentType(parser.getText());
+                    break;
+                case "latencyProfile":
+                    builder.delay(readLatencyProfile(parser, file));
+                    break;
+                case "weight":
+                    builder.weight(parser.getDoubleValue());
+                    break;
+                case "scenario":
+                    scenario = parser.getText();
+                    break;
+                case "requiredState":
+                    requiredState = parser.getText();
+                    break;
+                case "newState":
+                    newState = parser.getText();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (scenario != null) {
+            builder.scenario(scenarios.computeIfAbsent(scenario, HttpScenario::of), requiredState, newState);
+        }
+        return builder.build();
+    }
+
+    private static HttpDelay readLatencyProfile(JsonParser parser, Path file) throws IOException {
+        return HttpDelay.percentileDistribution(file.resolveSibling(parser.getText()), TimeUnit.MILLISECONDS);
+    }
+
+    private static Map<String, String> readStringMap(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        final Map<String, String> map = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String key = parser.getCurrentName();
+            parser.nextToken();
+            map.put(key, parser.getValueAsString());
+        }
+        return map;
+    }
+
+    private byte[] readRawValue(JsonParser parser) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return out.toByteArray();
+    }
+
+    private static void expect(JsonParser parser, JsonToken token) throws IOException {
+        if (parser.currentToken() != token) {
+            throw new JsonParseException(parser, "Expected " + token + " but was " + parser.currentToken());
+        }
+    }
+
+    private static boolean isJson(Path file) {
+        return file.getFileName().toString().endsWith(".json");
+    }
+
+    private static boolean isYaml(Path file) {
+        final String fileName = file.getFileName().toString();
+        return fileName.endsWith(".yaml") || fileName.endsWith(".yml");
+    }
+}
@@ -16,7 +16,17 @@
  */
 package io.specmock.core;
 
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents an HTTP specification server handling multiple HttpSpec instances.
@@ -24,6 +34,12 @@ import java.util.List;
 public final class HttpSpecServer {
     private final int port;
     private final List<HttpSpec> specs;
+    private final Path stateFile;
+    private final HttpJournal journal;
+    private final HttpJournalIndex journalIndex;
+    private final HttpJournalLog journalLog;
+    private final HttpRecorder recorder;
+    private final HttpPassthrough passthrough;
     private final ArmeriaHttpSpecServer server;
 
     /**
@@ -42,9 +58,19 @@ public final class HttpSpecServer {
      * @param specs The list of HTTP specifications to handle.
      */
     public HttpSpecServer(int port, List<HttpSpec> specs) {
+        this(port, specs, new HttpSpecServerOptions());
+    }
+
+    HttpSpecServer(int port, List<HttpSpec> specs, HttpSpecServerOptions options) {
         this.port = port;
         this.specs = specs;
-        server = new ArmeriaHttpSpecServer(port, specs);
+        stateFile = options.getStateFile();
+        journal = options.getJournal();
+        journalIndex = journal != null ? new HttpJournalIndex(journal) : null;
+        journalLog = options.getJournalLog();
+        recorder = options.getRecorder();
+        passthrough = options.getPassthrough();
+        server = new ArmeriaHttpSpecServer(port, specs, options);
     }
 
     /**
@@ -66,16 +92,189 @@ public final class HttpSpecServer {
     }
 
     /**
-     * Starts the HTTP specification server.
+     * Retrieves the journal recording the requests received by the server.
+     *
+     * @return The journal, or {@code null} if requests are not recorded.
+     */
+    public HttpJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Takes a snapshot of the metrics of every route of the server, such as request counts, match rates and
+     * latency histograms. The metrics are counted since the server was built, and are not reset by
+     * {@link #resetRequests()}.
+     *
+     * @return The route metrics, in the order of the specs.
+     */
+    public List<HttpRouteMetricsSnapshot> getMetrics() {
+        final List<HttpRouteMetricsSnapshot> metrics = new ArrayList<>(specs.size());
+        for (HttpSpec spec : specs) {
+            metrics.add(spec.metrics().snapshot(spec.getRoute()));
+        }
+        return metrics;
+    }
+
+    /**
+     * Counts the requests received by the server that match a pattern. A pattern with only a route or only an
+     * exchange is counted by the counters of the route or exchange, which are exact even if the journal has
+     * dropped or overwritten some of the requests, and need no journal.
+     *
+     * @param pattern The request pattern.
+     * @return The number of matching requests.
+     * @throws IllegalStateException if the pattern needs the journal and the server has none.
+     */
+    public long count(HttpRequestPattern pattern) {
+        if (pattern.isExchangeOnly()) {
+            return pattern.getExchange().getHitCount();
+        }
+        if (pattern.isRouteOnly()) {
+            long count = 0;
+            for (HttpSpec spec : specs) {
+                if (HttpRequestPattern.isSameRoute(pattern.getRoute(), spec.getRoute())) {
+                    count += spec.getRequestCount();
+                }
+            }
+            return count;
+        }
+        return find(pattern).size();
+    }
+
+    /**
+     * Finds the requests recorded in the journal that match a pattern.
+     *
+     * @param pattern The request pattern.
+     * @return The journal entries of the matching requests, from the oldest to the latest.
+     * @throws IllegalStateException if the server has no journal.
+     */
+    public List<HttpJournalEntry> find(HttpRequestPattern pattern) {
+        if (journalIndex == null) {
+            throw new IllegalStateException("Requests are not recorded, as the server has no journal");
+        }
+        return journalIndex.find(pattern);
+    }
+
+    /**
+     * Verifies that the server has received no request matching a pattern.
+     *
+     * @param pattern The request pattern.
+     * @throws AssertionError if a matching request has been received.
+     * @throws IllegalStateException if the pattern needs the journal and the server has none.
+     */
+    public void assertNever(HttpRequestPattern pattern) {
+        final long count = count(pattern);
+        if (count > 0) {
+            throw new AssertionError("Expected no request matching " + pattern + ", but received " + count);
+        }
+    }
+
+    /**
+     * Exports the requests recorded in the journal to a file. The export is written entry by entry while
+     * requests keep being served and recorded, and covers the requests recorded before it started.
+     *
+     * @param file   The file to write.
+     * @param format The export format.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalStateException if the server has no journal.
+     * @see HttpJournalExport#write(Iterator, HttpJournalFormat, OutputStream)
+     */
+    public void exportJournal(Path file, HttpJournalFormat format) throws IOException {
+        if (journal == null) {
+            throw new IllegalStateException("Requests are not recorded, as the server has no journal");
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            HttpJournalExport.write(journal.iterator(), format, out);
+        }
+    }
+
+    /**
+     * Forgets the requests received so far, by clearing the journal and resetting the request counts of the
+     * routes and the hit counts of the exchanges.
+     */
+    public void resetRequests() {
+        if (journal != null) {
+            journal.clear();
+        }
+        for (HttpSpec spec : specs) {
+            spec.resetCounts();
+        }
+    }
+
+    /**
+     * Starts the HTTP specification server, after restoring the mutable state of the specs from the state file
+     * if there is one.
+     *
+     * @throws UncheckedIOException if the state file exists but cannot be restored.
      */
     public void start() {
+        if (stateFile != null && Files.exists(stateFile)) {
+            try {
+                HttpStateSnapshot.restore(specs, stateFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
         server.start();
+        if (journalLog != null) {
+            journalLog.start(journal);
+        }
+        if (recorder != null) {
+            recorder.start();
+        }
+    }
+
+    /**
+     * Saves the mutable state of the specs to the state file in the background, while requests keep being
+     * served.
+     *
+     * @return A future completed once the state is saved.
+     * @throws IllegalStateException if the server has no state file.
+     */
+    public CompletableFuture<Void> saveState() {
+        if (stateFile == null) {
+            throw new IllegalStateException("No state file is set");
+        }
+        return saveState(stateFile);
     }
 
     /**
-     * Terminates the HTTP specification server.
+     * Saves the mutable state of the specs to a file in the background, while requests keep being served.
+     *
+     * @param file The state file to write.
+     * @return A future completed once the state is saved.
+     * @see HttpStateSnapshot#save(List, Path)
+     */
+    public CompletableFuture<Void> saveState(Path file) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final Thread saver = new Thread(() -> {
+            try {
+                HttpStateSnapshot.save(specs, file);
+                future.complete(null);
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }, "specmock-state-saver");
+        saver.setDaemon(true);
+        saver.start();
+        return future;
+    }
+
+    /**
+     * Terminates the HTTP specification server and closes the connections of the passthrough, then writes the
+     * remaining captured exchanges of the recorder and the remaining requests of the journal to the journal
+     * log, if there are.
+     * Each of them is closed even if an earlier one fails.
+     *
+     * @throws UncheckedIOException if the recorded specs or the journal log cannot be written.
      */
     public void terminate() {
-        server.terminate();
+        // Closed in reverse order once no request is in flight, with later failures added as suppressed.
+        try (Closeable closeJournalLog = journalLog;
+             Closeable closeRecorder = recorder;
+             Closeable closePassthrough = passthrough != null ? passthrough::close : null) {
+            server.terminate();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
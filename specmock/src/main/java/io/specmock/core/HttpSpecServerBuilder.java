@@ -16,6 +16,7 @@
  */
 package io.specmock.core;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -24,8 +25,11 @@ import java.util.List;
  * Builder class for constructing HttpSpecServer instances.
  */
 public final class HttpSpecServerBuilder {
+    private static final int DEFAULT_JOURNAL_CAPACITY = 64 * 1024;
+
     private int port = 18080;
     private final List<HttpSpec> specs = new ArrayList<>();
+    private final HttpSpecServerOptions options = new HttpSpecServerOptions();
 
     HttpSpecServerBuilder() {
     }
@@ -74,12 +78,133 @@ public final class HttpSpecServerBuilder {
         return this;
     }
 
+    /**
+     * Sets whether response bodies are served compressed to clients that accept it.
+     * The gzip and deflate variants of each response body are computed once when the server is built,
+     * and chosen per request from the {@code Accept-Encoding} header.
+     *
+     * @param responseCompression Whether to serve precompressed response bodies.
+     * @return The HttpSpecServerBuilder instance.
+     */
+    public HttpSpecServerBuilder responseCompression(boolean responseCompression) {
+        options.responseCompression(responseCompression);
+        return this;
+    }
+
+    /**
+     * Sets the bandwidth of the responses of every exchange that has no bandwidth of its own,
+     * such as {@code HttpBandwidth.bytesPerSecond(16 * 1024)}.
+     *
+     * @param bandwidth The bandwidth of the responses.
+     * @return The HttpSpecServerBuilder instance.
+     */
+    public HttpSpecServerBuilder bandwidth(HttpBandwidth bandwidth) {
+        options.bandwidth(bandwidth);
+        return this;
+    }
+
+    /**
+     * Sets the file keeping the mutable state of the specs across restarts, such as the records of their
+     * resources. The state is restored from the file when the server starts, if the file exists,
+     * and saved to it by {@link HttpSpecServer#saveState()}.
+     *
+     * @param stateFile The state file.
+     * @return The HttpSpecServerBuilder instance.
+     */
+    public HttpSpecServerBuilder stateFile(Path stateFile) {
+        options.stateFile(stateFile);
+        return this;
+    }
+
+    /**
+     * Sets the journal recording the requests received by the server, such as {@code HttpJournal.of(10000)}.
+     *
+     * @param journal The journal.
+     * @return The HttpSpecServerBuilder instance.
+     */
+    public HttpSpecServerBuilder journal(HttpJournal journal) {
+        options.journal(journal);
+        return this;
+    }
+
+    /**
+     * Sets the log persisting the requests recorded by the journal to disk, such as
+     * {@code HttpJournalLog.builder().directory(Paths.get("journal")).build()}. If no journal is set, a journal
+     * of 65536 entries is used. The log is started and closed with the server.
+     *
+     * @param journalLog The journal log.
+     * @return The HttpSpecServerBuilder instance.
+     */
+    public HttpSpecServerBuilder journalLog(HttpJournalLog journalLog) {
+        options.journalLog(journalLog);
+        return this;
+    }
+
+    /**
+     * Sets the path of an admin endpoint streaming the journal to HTTP clients, such as
+     * {@code "/_specmock/journal"}. A {@code GET} request exports the journal as newline-delimited JSON,
+     * or as HAR with the {@code format=har} query parameter. If no journal is set, a journal of 65536 entries
+     * is used.
+     *
+     * @param journalExportPath The export path.
+     * @return The HttpSpecServerBuilder instance.
+     */
+    public HttpSpecServerBuilder journalExportPath(String journalExportPath) {
+        options.journalExportPath(journalExportPath);
+        return this;
+    }
+
+    /**
+     * Sets the recorder that forwards requests matching no exchange to a real service, returns its response
+     * and captures it as a new exchange, such as
+     * {@code HttpRecorder.builder().upstream("http://localhost:8080").directory(Paths.get("specs")).build()}.
+     * The recorder is started and closed with the server.
+     *
+     * @param recorder The recorder.
+     * @return The HttpSpecServerBuilder instance.
+     */
+    public HttpSpecServerBuilder recorder(HttpRecorder recorder) {
+        options.recorder(recorder);
+        return this;
+    }
+
+    /**
+     * Sets the passthrough that forwards the requests not covered by a spec to the real service, turning the
+     * server into a partial mock, such as {@code HttpPassthrough.builder().upstream("http://localhost:8080")
+     * .build()}. Requests to a path with no spec and requests matching no exchange are forwarded, unless a
+     * recorder captures the latter. The connections to the service are closed with the server.
+     *
+     * @param passthrough The passthrough.
+     * @return The HttpSpecServerBuilder instance.
+     */
+    public HttpSpecServerBuilder passthrough(HttpPassthrough passthrough) {
+        options.passthrough(passthrough);
+        return this;
+    }
+
+    /**
+     * Sets the path of an endpoint serving the metrics of the server in the Prometheus text format, such as
+     * {@code "/metrics"}. The metrics cover the requests of every route, the open connections, the tasks
+     * pending on the event loops and the memory of the JVM.
+     *
+     * @param metricsPath The metrics path.
+     * @return The HttpSpecServerBuilder instance.
+     */
+    public HttpSpecServerBuilder metricsPath(String metricsPath) {
+        options.metricsPath(metricsPath);
+        return this;
+    }
+
     /**
      * Builds a new HttpSpecServer instance based on the configured parameters.
      *
      * @return The constructed HttpSpecServer instance.
      */
     public HttpSpecServer build() {
-        return new HttpSpecServer(port, specs);
+        if ((options.getJournalLog() != null || options.getJournalExportPath() != null) &&
+            options.getJournal() == null) {
+            options.journal(HttpJournal.of(DEFAULT_JOURNAL_CAPACITY));
+        }
+        return new HttpSpecServer(port, specs, options);
     }
 }
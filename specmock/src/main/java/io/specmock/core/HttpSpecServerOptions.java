@@ -0,0 +1,214 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.nio.file.Path;
+
+/**
+ * Holds the server-wide options of an HTTP specification server, set through HttpSpecServerBuilder.
+ */
+final class HttpSpecServerOptions {
+    private boolean responseCompression;
+    private HttpBandwidth bandwidth;
+    private Path stateFile;
+    private HttpJournal journal;
+    private HttpJournalLog journalLog;
+    private String journalExportPath;
+    private HttpRecorder recorder;
+    private HttpPassthrough passthrough;
+    private String metricsPath;
+
+    /**
+     * Retrieves whether precompressed response bodies are served to clients accepting them.
+     *
+     * @return {@code true} if responses are compressed, {@code false} otherwise.
+     */
+    boolean isResponseCompression() {
+        return responseCompression;
+    }
+
+    /**
+     * Sets whether precompressed response bodies are served to clients accepting them.
+     *
+     * @param responseCompression Whether to serve precompressed response bodies.
+     * @return The HttpSpecServerOptions instance.
+     */
+    HttpSpecServerOptions responseCompression(boolean responseCompression) {
+        this.responseCompression = responseCompression;
+        return this;
+    }
+
+    /**
+     * Retrieves the bandwidth applied to exchanges that have no bandwidth of their own.
+     *
+     * @return The default bandwidth, or {@code null} if responses are not throttled.
+     */
+    HttpBandwidth getBandwidth() {
+        return bandwidth;
+    }
+
+    /**
+     * Sets the bandwidth applied to exchanges that have no bandwidth of their own.
+     *
+     * @param bandwidth The default bandwidth.
+     * @return The HttpSpecServerOptions instance.
+     */
+    HttpSpecServerOptions bandwidth(HttpBandwidth bandwidth) {
+        this.bandwidth = bandwidth;
+        return this;
+    }
+
+    /**
+     * Retrieves the file the mutable state of the specs is restored from at startup and saved to.
+     *
+     * @return The state file, or {@code null} if the state is not kept across restarts.
+     */
+    Path getStateFile() {
+        return stateFile;
+    }
+
+    /**
+     * Sets the file the mutable state of the specs is restored from at startup and saved to.
+     *
+     * @param stateFile The state file.
+     * @return The HttpSpecServerOptions instance.
+     */
+    HttpSpecServerOptions stateFile(Path stateFile) {
+        this.stateFile = stateFile;
+        return this;
+    }
+
+    /**
+     * Retrieves the journal recording the requests received by the server.
+     *
+     * @return The journal, or {@code null} if requests are not recorded.
+     */
+    HttpJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Sets the journal recording the requests received by the server.
+     *
+     * @param journal The journal.
+     * @return The HttpSpecServerOptions instance.
+     */
+    HttpSpecServerOptions journal(HttpJournal journal) {
+        this.journal = journal;
+        return this;
+    }
+
+    /**
+     * Retrieves the log persisting the entries of the journal.
+     *
+     * @return The journal log, or {@code null} if the journal is kept in the heap only.
+     */
+    HttpJournalLog getJournalLog() {
+        return journalLog;
+    }
+
+    /**
+     * Sets the log persisting the entries of the journal.
+     *
+     * @param journalLog The journal log.
+     * @return The HttpSpecServerOptions instance.
+     */
+    HttpSpecServerOptions journalLog(HttpJournalLog journalLog) {
+        this.journalLog = journalLog;
+        return this;
+    }
+
+    /**
+     * Retrieves the path of the admin endpoint exporting the journal.
+     *
+     * @return The export path, or {@code null} if the journal is not exported over HTTP.
+     */
+    String getJournalExportPath() {
+        return journalExportPath;
+    }
+
+    /**
+     * Sets the path of the admin endpoint exporting the journal.
+     *
+     * @param journalExportPath The export path.
+     * @return The HttpSpecServerOptions instance.
+     */
+    HttpSpecServerOptions journalExportPath(String journalExportPath) {
+        this.journalExportPath = journalExportPath;
+        return this;
+    }
+
+    /**
+     * Retrieves the recorder forwarding unmatched requests to a real service and capturing its responses.
+     *
+     * @return The recorder, or {@code null} if unmatched requests are rejected.
+     */
+    HttpRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Sets the recorder forwarding unmatched requests to a real service and capturing its responses.
+     *
+     * @param recorder The recorder.
+     * @return The HttpSpecServerOptions instance.
+     */
+    HttpSpecServerOptions recorder(HttpRecorder recorder) {
+        this.recorder = recorder;
+        return this;
+    }
+
+    /**
+     * Retrieves the passthrough forwarding the requests not covered by a spec to the real service.
+     *
+     * @return The passthrough, or {@code null} if such requests are rejected.
+     */
+    HttpPassthrough getPassthrough() {
+        return passthrough;
+    }
+
+    /**
+     * Sets the passthrough forwarding the requests not covered by a spec to the real service.
+     *
+     * @param passthrough The passthrough.
+     * @return The HttpSpecServerOptions instance.
+     */
+    HttpSpecServerOptions passthrough(HttpPassthrough passthrough) {
+        this.passthrough = passthrough;
+        return this;
+    }
+
+    /**
+     * Retrieves the path of the endpoint serving the metrics in the Prometheus text format.
+     *
+     * @return The metrics path, or {@code null} if the metrics are not served.
+     */
+    String getMetricsPath() {
+        return metricsPath;
+    }
+
+    /**
+     * Sets the path of the endpoint serving the metrics in the Prometheus text format.
+     *
+     * @param metricsPath The metrics path.
+     * @return The HttpSpecServerOptions instance.
+     */
+    HttpSpecServerOptions metricsPath(String metricsPath) {
+        this.metricsPath = metricsPath;
+        return this;
+    }
+}
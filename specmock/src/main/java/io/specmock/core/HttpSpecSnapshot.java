@@ -0,0 +1,440 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.kotlin.KotlinModule;
+
+/**
+ * Compiles HTTP specifications into a compact binary snapshot file and loads them back.
+ *
+ * <p>A snapshot holds the routes, a spec offset index, the objects shared between specs and the exchanges
+ * with their request and response bodies already encoded. Loading memory-maps the file, and response bodies
+ * are served directly from slices of the mapping, so no response serialization happens at server startup.
+ * Request objects are stored with their class name and deserialized back to it, so requests are matched the
+ * same way as by the source spec.
+ *
+ * <p>Scenarios, sequences, resources and limits are stored once and shared again by every spec and exchange
+ * that shared them, so they keep counting and moving together. They are loaded in their initial state; the
+ * records of a resource are kept, while the states of scenarios and the positions of sequences are not.
+ */
+public final class HttpSpecSnapshot {
+    private static final int MAGIC = 0x53504d4b; // "SPMK"
+    private static final int VERSION = 4;
+    private static final int ABSENT = -1;
+
+    private HttpSpecSnapshot() {
+    }
+
+    /**
+     * Compiles the HTTP specifications into a binary snapshot file.
+     *
+     * @param specs The list of HTTP specifications to compile.
+     * @param file  The snapshot file to write.
+     * @throws IOException if the snapshot cannot be written or a body cannot be encoded.
+     * @throws IllegalArgumentException if an exchange has a streamed response, which cannot be pre-encoded.
+     */
+    public static void compile(List<HttpSpec> specs, Path file) throws IOException {
+        final ObjectMapper mapper = newMapper();
+        final SharedObjects shared = new SharedObjects();
+        final List<byte[]> encodedSpecs = new ArrayList<>(specs.size());
+        for (HttpSpec spec : specs) {
+            encodedSpecs.add(encodeSpec(mapper, shared, spec));
+        }
+        final byte[] encodedShared = encodeShared(mapper, shared);
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(encodedSpecs.size());
+            long offset = 12L + 8L * encodedSpecs.size() + encodedShared.length;
+            for (byte[] encodedSpec : encodedSpecs) {
+                out.writeLong(offset);
+                offset += encodedSpec.length;
+            }
+            out.write(encodedShared);
+            for (byte[] encodedSpec : encodedSpecs) {
+                out.write(encodedSpec);
+            }
+        }
+    }
+
+    /**
+     * Loads HTTP specifications from a binary snapshot file by memory-mapping it.
+     *
+     * @param file The snapshot file to load.
+     * @return The list of HttpSpec instances whose response bodies are backed by the mapped file.
+     * @throws IOException if the file cannot be mapped, is not a valid snapshot, or holds a request object
+     *      whose class cannot be found.
+     */
+    public static List<HttpSpec> load(Path file) throws IOException {
+        final ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too large to map: " + file);
+            }
+            buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < 12 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a spec snapshot: " + file);
+        }
+        final int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported spec snapshot version " + version + ": " + file);
+        }
+
+        final ObjectMapper mapper = newMapper();
+        final int specCount = buffer.getInt();
+        buffer.position(12 + 8 * specCount);
+        final SharedObjects shared = decodeShared(mapper, buffer);
+        final List<HttpSpec> specs = new ArrayList<>(specCount);
+        for (int i = 0; i < specCount; i++) {
+            buffer.position((int) buffer.getLong(12 + 8 * i));
+            specs.add(decodeSpec(mapper, shared, buffer));
+        }
+        return specs;
+    }
+
+    private static byte[] encodeShared(ObjectMapper mapper, SharedObjects shared) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(shared.scenarios.size());
+            for (HttpScenario scenario : shared.scenarios.values) {
+                HttpBinaryCodec.writeString(out, scenario.getName());
+            }
+            out.writeInt(shared.sequences.size());
+            for (HttpSequence sequence : shared.sequences.values) {
+                HttpBinaryCodec.writeString(out, sequence.getMode().name());
+                HttpBinaryCodec.writeNullableString(out, sequence.getClientKeyHeader());
+            }
+            out.writeInt(shared.resources.size());
+            for (HttpResource resource : shared.resources.values) {
+                HttpBinaryCodec.writeString(out, resource.getIdField());
+                out.writeInt(resource.getIndexedFields().size());
+                for (String field : resource.getIndexedFields()) {
+                    HttpBinaryCodec.writeString(out, field);
+                }
+                out.writeLong(resource.lastId());
+                final List<ObjectNode> records = new ArrayList<>(resource.records());
+                out.writeInt(records.size());
+                for (ObjectNode record : records) {
+                    HttpBinaryCodec.writeBytes(out, mapper.writeValueAsBytes(record));
+                }
+            }
+            out.writeInt(shared.rateLimits.size());
+            for (HttpRateLimit rateLimit : shared.rateLimits.values) {
+                out.writeLong(rateLimit.emissionIntervalNanos());
+                out.writeLong(rateLimit.toleranceNanos());
+                out.writeShort(rateLimit.getRejectStatus().getCode());
+                writeDuration(out, rateLimit.retryAfter());
+            }
+            out.writeInt(shared.concurrencyLimits.size());
+            for (HttpConcurrencyLimit concurrencyLimit : shared.concurrencyLimits.values) {
+                out.writeInt(concurrencyLimit.maxInFlight());
+                out.writeShort(concurrencyLimit.getRejectStatus().getCode());
+                writeDuration(out, concurrencyLimit.retryAfter());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static SharedObjects decodeShared(ObjectMapper mapper, ByteBuffer buffer) throws IOException {
+        final SharedObjects shared = new SharedObjects();
+        final int scenarioCount = buffer.getInt();
+        for (int i = 0; i < scenarioCount; i++) {
+            shared.scenarios.values.add(HttpScenario.of(HttpBinaryCodec.readString(buffer)));
+        }
+        final int sequenceCount = buffer.getInt();
+        for (int i = 0; i < sequenceCount; i++) {
+            final HttpSequenceMode mode = HttpSequenceMode.valueOf(HttpBinaryCodec.readString(buffer));
+            shared.sequences.values.add(HttpSequence.of(mode, HttpBinaryCodec.readNullableString(buffer)));
+        }
+        final int resourceCount = buffer.getInt();
+        for (int i = 0; i < resourceCount; i++) {
+            final String idField = HttpBinaryCodec.readString(buffer);
+            final String[] indexedFields = new String[buffer.getInt()];
+            for (int j = 0; j < indexedFields.length; j++) {
+                indexedFields[j] = HttpBinaryCodec.readString(buffer);
+            }
+            final HttpResource resource = HttpResource.of(idField, indexedFields);
+            resource.restoreLastId(buffer.getLong());
+            final int recordCount = buffer.getInt();
+            for (int j = 0; j < recordCount; j++) {
+                resource.restore((ObjectNode) mapper.readTree(HttpBinaryCodec.readByteArray(buffer)));
+            }
+            shared.resources.values.add(resource);
+        }
+        final int rateLimitCount = buffer.getInt();
+        for (int i = 0; i < rateLimitCount; i++) {
+            shared.rateLimits.values.add(HttpRateLimit.ofNanos(buffer.getLong(), buffer.getLong(),
+                                                               HttpStatus.of(buffer.getShort()),
+                                                               readDuration(buffer)));
+        }
+        final int concurrencyLimitCount = buffer.getInt();
+        for (int i = 0; i < concurrencyLimitCount; i++) {
+            shared.concurrencyLimits.values.add(HttpConcurrencyLimit.of(buffer.getInt(),
+                                                                        HttpStatus.of(buffer.getShort()),
+                                                                        readDuration(buffer)));
+        }
+        return shared;
+    }
+
+    private static byte[] encodeSpec(ObjectMapper mapper, SharedObjects shared, HttpSpec spec)
+            throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            HttpBinaryCodec.writeString(out, spec.getRoute().getMethod().name());
+            HttpBinaryCodec.writeString(out, spec.getRoute().getPath());
+            writeDelay(out, spec.getDelay());
+            out.writeInt(shared.rateLimits.indexOf(spec.getRateLimit()));
+            out.writeInt(shared.concurrencyLimits.indexOf(spec.getConcurrencyLimit()));
+            out.writeBoolean(spec.getSeed() != null);
+            if (spec.getSeed() != null) {
+                out.writeLong(spec.getSeed());
+            }
+            out.writeInt(shared.sequences.indexOf(spec.getSequence()));
+            out.writeInt(shared.resources.indexOf(spec.getResource()));
+            out.writeInt(spec.getExchanges().size());
+            for (HttpExchange exchange : spec.getExchanges()) {
+                if (exchange.getResponseStream() != null) {
+                    throw new IllegalArgumentException(
+                            "Streamed responses cannot be compiled: " + spec.getRoute().getPath());
+                }
+                HttpBinaryCodec.writeMap(out, exchange.getPathParamMap());
+                HttpBinaryCodec.writeMap(out, exchange.getQueryParamMap());
+                HttpBinaryCodec.writeMap(out, exchange.getHeaderMap());
+                out.writeShort(exchange.getResponseStatus().getCode());
+                if (exchange.getRequestObject() == null) {
+                    out.writeInt(ABSENT);
+                } else {
+                    HttpBinaryCodec.writeString(out, exchange.getRequestObject().getClass().getName());
+                    HttpBinaryCodec.writeBytes(out, mapper.writeValueAsBytes(exchange.getRequestObject()));
+                }
+                final ByteBuffer responseBody = exchange.getResponseBody();
+                if (responseBody != null) {
+                    final byte[] body = new byte[responseBody.remaining()];
+                    responseBody.get(body);
+                    HttpBinaryCodec.writeBytes(out, body);
+                } else {
+                    HttpBinaryCodec.writeBytes(out, mapper.writeValueAsBytes(exchange.getResponseObject()));
+                }
+                HttpBinaryCodec.writeNullableString(out, exchange.getResponseContentType());
+                writeDelay(out, exchange.getDelay());
+                writeBandwidth(out, exchange.getBandwidth());
+                writeFault(out, exchange.getFault());
+                out.writeDouble(exchange.getWeight());
+                out.writeInt(shared.scenarios.indexOf(exchange.getScenario()));
+                HttpBinaryCodec.writeNullableString(out, exchange.getRequiredState());
+                HttpBinaryCodec.writeNullableString(out, exchange.getNewState());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static HttpSpec decodeSpec(ObjectMapper mapper, SharedObjects shared, ByteBuffer buffer)
+            throws IOException {
+        final String method = HttpBinaryCodec.readString(buffer);
+        final HttpRoute route = HttpRoute.of(method, HttpBinaryCodec.readString(buffer));
+        final HttpSpecBuilder specBuilder = HttpSpec.builder()
+                                                    .route(route)
+                                                    .delay(readDelay(buffer))
+                                                    .rateLimit(shared.rateLimits.get(buffer.getInt()))
+                                                    .concurrencyLimit(
+                                                            shared.concurrencyLimits.get(buffer.getInt()));
+        if (buffer.get() != 0) {
+            specBuilder.seed(buffer.getLong());
+        }
+        specBuilder.sequence(shared.sequences.get(buffer.getInt()))
+                   .resource(shared.resources.get(buffer.getInt()));
+
+        final int exchangeCount = buffer.getInt();
+        final List<HttpExchange> exchanges = new ArrayList<>(exchangeCount);
+        for (int i = 0; i < exchangeCount; i++) {
+            final HttpExchangeBuilder builder = HttpExchange.builder()
+                                                            .pathParamMap(HttpBinaryCodec.readMap(buffer))
+                                                            .queryParamMap(HttpBinaryCodec.readMap(buffer))
+                                                            .headerMap(HttpBinaryCodec.readMap(buffer))
+                                                            .responseStatus(HttpStatus.of(buffer.getShort()));
+            final String requestClass = HttpBinaryCodec.readNullableString(buffer);
+            if (requestClass != null) {
+                builder.requestObject(mapper.readValue(HttpBinaryCodec.readByteArray(buffer),
+                                                       loadClass(requestClass)));
+            }
+            builder.responseBody(HttpBinaryCodec.readBytes(buffer))
+                   .responseContentType(HttpBinaryCodec.readNullableString(buffer))
+                   .delay(readDelay(buffer))
+                   .bandwidth(readBandwidth(buffer))
+                   .fault(readFault(buffer));
+            final double weight = buffer.getDouble();
+            if (weight > 0) {
+                builder.weight(weight);
+            }
+            final HttpScenario scenario = shared.scenarios.get(buffer.getInt());
+            final String requiredState = HttpBinaryCodec.readNullableString(buffer);
+            final String newState = HttpBinaryCodec.readNullableString(buffer);
+            if (scenario != null) {
+                builder.scenario(scenario, requiredState, newState);
+            }
+            exchanges.add(builder.build());
+        }
+        return specBuilder.exchanges(exchanges).build();
+    }
+
+    private static void writeDelay(DataOutputStream out, HttpDelay delay) throws IOException {
+        if (delay == null) {
+            out.writeInt(ABSENT);
+            return;
+        }
+        out.writeInt(delay.kind());
+        out.writeInt(delay.nanos().length);
+        for (long nanos : delay.nanos()) {
+            out.writeLong(nanos);
+        }
+        out.writeInt(delay.parameters().length);
+        for (double parameter : delay.parameters()) {
+            out.writeDouble(parameter);
+        }
+    }
+
+    private static HttpDelay readDelay(ByteBuffer buffer) {
+        final int kind = buffer.getInt();
+        if (kind == ABSENT) {
+            return null;
+        }
+        final long[] nanos = new long[buffer.getInt()];
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i] = buffer.getLong();
+        }
+        final double[] parameters = new double[buffer.getInt()];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = buffer.getDouble();
+        }
+        return HttpDelay.of(kind, nanos, parameters);
+    }
+
+    private static void writeBandwidth(DataOutputStream out, HttpBandwidth bandwidth) throws IOException {
+        if (bandwidth == null) {
+            out.writeInt(ABSENT);
+            return;
+        }
+        out.writeInt(bandwidth.chunkSize());
+        out.writeLong(bandwidth.bytesPerSecond());
+        out.writeLong(bandwidth.dripIntervalNanos());
+    }
+
+    private static HttpBandwidth readBandwidth(ByteBuffer buffer) {
+        final int chunkSize = buffer.getInt();
+        if (chunkSize == ABSENT) {
+            return null;
+        }
+        return HttpBandwidth.of(chunkSize, buffer.getLong(), buffer.getLong());
+    }
+
+    private static void writeFault(DataOutputStream out, HttpFault fault) throws IOException {
+        if (fault == null) {
+            out.writeInt(ABSENT);
+            return;
+        }
+        out.writeInt(fault.getType().ordinal());
+        out.writeDouble(fault.getProbability());
+    }
+
+    private static HttpFault readFault(ByteBuffer buffer) {
+        final int type = buffer.getInt();
+        if (type == ABSENT) {
+            return null;
+        }
+        return HttpFault.of(HttpFaultType.values()[type], buffer.getDouble());
+    }
+
+    private static void writeDuration(DataOutputStream out, Duration duration) throws IOException {
+        out.writeLong(duration == null ? ABSENT : duration.toNanos());
+    }
+
+    private static Duration readDuration(ByteBuffer buffer) {
+        final long nanos = buffer.getLong();
+        return nanos == ABSENT ? null : Duration.ofNanos(nanos);
+    }
+
+    private static ObjectMapper newMapper() {
+        return new ObjectMapper().registerModules(new KotlinModule.Builder().build(), new JavaTimeModule());
+    }
+
+    private static Class<?> loadClass(String className) throws IOException {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Request class of spec snapshot not found: " + className, e);
+        }
+    }
+
+    /**
+     * The objects shared by specs and exchanges, stored once in a snapshot and referenced by their index.
+     */
+    private static final class SharedObjects {
+        private final Table<HttpScenario> scenarios = new Table<>();
+        private final Table<HttpSequence> sequences = new Table<>();
+        private final Table<HttpResource> resources = new Table<>();
+        private final Table<HttpRateLimit> rateLimits = new Table<>();
+        private final Table<HttpConcurrencyLimit> concurrencyLimits = new Table<>();
+    }
+
+    /**
+     * Numbers distinct instances in the order they are first seen.
+     */
+    private static final class Table<T> {
+        private final List<T> values = new ArrayList<>();
+        private final Map<T, Integer> indexes = new IdentityHashMap<>();
+
+        int indexOf(T value) {
+            if (value == null) {
+                return ABSENT;
+            }
+            return indexes.computeIfAbsent(value, unused -> {
+                values.add(value);
+                return values.size() - 1;
+            });
+        }
+
+        T get(int index) {
+            return index == ABSENT ? null : values.get(index);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
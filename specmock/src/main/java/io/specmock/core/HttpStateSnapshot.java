@@ -0,0 +1,214 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Saves the mutable state of HTTP specifications, that is the records of their resources, the states of their
+ * scenarios and the positions of their sequences, to a compressed binary file and restores it.
+ *
+ * <p>Saving does not pause the server. Resources are read with the weakly consistent iterators of their
+ * concurrent maps, one record at a time, and a stored record is never modified in place, so every saved
+ * record is whole. A record created or deleted while the state is being saved may or may not be in the file.
+ *
+ * <p>Scenarios are identified by name, and resources and sequences by the method and path of the first route
+ * using them, so a state file can be restored into a server built again from the same specs. State whose
+ * scenario or route no longer exists is skipped.
+ */
+public final class HttpStateSnapshot {
+    private static final int MAGIC = 0x53504d53; // "SPMS"
+    private static final int VERSION = 1;
+    private static final int END = -1;
+
+    private HttpStateSnapshot() {
+    }
+
+    /**
+     * Saves the mutable state of the HTTP specifications to a file.
+     * The file is written next to its destination first and then moved into place, so an interrupted save
+     * leaves the previous file intact.
+     *
+     * @param specs The list of HTTP specifications whose state is saved.
+     * @param file  The state file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void save(List<HttpSpec> specs, Path file) throws IOException {
+        final ObjectMapper mapper = new ObjectMapper();
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            final Map<String, HttpScenario> scenarios = scenarios(specs);
+            out.writeInt(scenarios.size());
+            for (HttpScenario scenario : scenarios.values()) {
+                out.writeUTF(scenario.getName());
+                out.writeUTF(scenario.getState());
+            }
+
+            final Map<String, HttpSequence> sequences = routeKeyed(specs, HttpSpec::getSequence);
+            out.writeInt(sequences.size());
+            for (Entry<String, HttpSequence> entry : sequences.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().routePosition());
+                for (Entry<String, AtomicLong> position : entry.getValue().clientPositions().entrySet()) {
+                    out.writeBoolean(true);
+                    out.writeUTF(position.getKey());
+                    out.writeLong(position.getValue().get());
+                }
+                out.writeBoolean(false);
+            }
+
+            final Map<String, HttpResource> resources = routeKeyed(specs, HttpSpec::getResource);
+            out.writeInt(resources.size());
+            for (Entry<String, HttpResource> entry : resources.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().lastId());
+                // The number of records may change while they are written, so the list is terminated instead.
+                for (ObjectNode record : entry.getValue().records()) {
+                    final byte[] encoded = mapper.writeValueAsBytes(record);
+                    out.writeInt(encoded.length);
+                    out.write(encoded);
+                }
+                out.writeInt(END);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores the mutable state of the HTTP specifications from a file. The records of each restored resource
+     * replace its current records.
+     *
+     * @param specs The list of HTTP specifications whose state is restored.
+     * @param file  The state file to read.
+     * @throws IOException if the file cannot be read or is not a valid state file.
+     */
+    public static void restore(List<HttpSpec> specs, Path file) throws IOException {
+        final ObjectMapper mapper = new ObjectMapper();
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a state snapshot: " + file);
+            }
+            final int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported state snapshot version " + version + ": " + file);
+            }
+
+            final Map<String, HttpScenario> scenarios = scenarios(specs);
+            final int scenarioCount = in.readInt();
+            for (int i = 0; i < scenarioCount; i++) {
+                final HttpScenario scenario = scenarios.get(in.readUTF());
+                final String state = in.readUTF();
+                if (scenario != null) {
+                    scenario.setState(state);
+                }
+            }
+
+            final Map<String, HttpSequence> sequences = routeKeyed(specs, HttpSpec::getSequence);
+            final int sequenceCount = in.readInt();
+            for (int i = 0; i < sequenceCount; i++) {
+                final HttpSequence sequence = sequences.get(in.readUTF());
+                final long routePosition = in.readLong();
+                if (sequence != null) {
+                    sequence.reset();
+                    sequence.restore(null, routePosition);
+                }
+                while (in.readBoolean()) {
+                    final String clientKey = in.readUTF();
+                    final long position = in.readLong();
+                    if (sequence != null) {
+                        sequence.restore(clientKey, position);
+                    }
+                }
+            }
+
+            final Map<String, HttpResource> resources = routeKeyed(specs, HttpSpec::getResource);
+            final int resourceCount = in.readInt();
+            for (int i = 0; i < resourceCount; i++) {
+                final HttpResource resource = resources.get(in.readUTF());
+                final long lastId = in.readLong();
+                if (resource != null) {
+                    resource.clear();
+                    resource.restoreLastId(lastId);
+                }
+                for (int length = in.readInt(); length != END; length = in.readInt()) {
+                    final byte[] encoded = new byte[length];
+                    in.readFully(encoded);
+                    if (resource == null) {
+                        continue;
+                    }
+                    final JsonNode record = mapper.readTree(encoded);
+                    if (!(record instanceof ObjectNode)) {
+                        throw new IOException("Invalid record in state snapshot: " + file);
+                    }
+                    resource.restore((ObjectNode) record);
+                }
+            }
+        }
+    }
+
+    private static Map<String, HttpScenario> scenarios(List<HttpSpec> specs) {
+        final Map<String, HttpScenario> scenarios = new LinkedHashMap<>();
+        for (HttpSpec spec : specs) {
+            for (HttpExchange exchange : spec.getExchanges()) {
+                if (exchange.getScenario() != null) {
+                    scenarios.putIfAbsent(exchange.getScenario().getName(), exchange.getScenario());
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    private static <T> Map<String, T> routeKeyed(List<HttpSpec> specs, Function<HttpSpec, T> getter) {
+        final Map<String, T> states = new LinkedHashMap<>();
+        final Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (HttpSpec spec : specs) {
+            final T state = getter.apply(spec);
+            // A resource is shared by every route of a Spring Web interface, and is keyed by the first of them.
+            if (state != null && seen.add(state)) {
+                states.put(spec.getRoute().getMethod() + " " + spec.getRoute().getPath(), state);
+            }
+        }
+        return states;
+    }
+}
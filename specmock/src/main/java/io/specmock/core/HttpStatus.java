@@ -100,6 +100,22 @@ public enum HttpStatus {
         this.reasonPhrase = reasonPhrase;
     }
 
+    /**
+     * Finds the HttpStatus for the given status code.
+     *
+     * @param code The HTTP status code.
+     * @return The matching HttpStatus.
+     * @throws IllegalArgumentException if no HttpStatus has the given code.
+     */
+    public static HttpStatus of(int code) {
+        for (HttpStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown HTTP status code: " + code);
+    }
+
     /**
      * Retrieves the HTTP status code.
      *
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.RequestHeaders;
+
+/**
+ * Forwards requests received by the mock to a real service.
+ *
+ * <p>Requests go through a client factory of its own, which keeps idle connections open for reuse and
+ * multiplexes concurrent requests over a single HTTP/2 connection when the upstream supports it, falling back
+ * to a pool of HTTP/1.1 keep-alive connections otherwise.
+ */
+final class HttpUpstream {
+    private final ClientFactory factory;
+    private final WebClient client;
+
+    /**
+     * Constructs an HttpUpstream forwarding to a service.
+     *
+     * @param uri         The URI of the service, such as {@code "http://localhost:8080"}.
+     * @param idleTimeout The time an unused connection is kept open.
+     */
+    HttpUpstream(String uri, Duration idleTimeout) {
+        factory = ClientFactory.builder()
+                               .idleTimeoutMillis(idleTimeout.toMillis())
+                               .useHttp2Preface(true)
+                               .build();
+        client = WebClient.builder(uri)
+                          .factory(factory)
+                          .build();
+    }
+
+    /**
+     * Forwards a request to the service.
+     *
+     * @param request The aggregated request.
+     * @return A future completed with the aggregated response of the service.
+     */
+    CompletableFuture<AggregatedHttpResponse> execute(AggregatedHttpRequest request) {
+        // The service is addressed by the client, not by the authority the mock was reached with.
+        final RequestHeaders headers = request.headers().toBuilder()
+                                              .removeAndThen(HttpHeaderNames.AUTHORITY)
+                                              .removeAndThen(HttpHeaderNames.HOST)
+                                              .build();
+        return client.execute(headers, request.content()).aggregate();
+    }
+
+    /**
+     * Closes the connections to the service.
+     */
+    void close() {
+        factory.close();
+    }
+}
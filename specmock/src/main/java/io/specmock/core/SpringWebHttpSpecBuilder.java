@@ -41,6 +41,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 public final class SpringWebHttpSpecBuilder {
     private List<HttpRouteClassMapping> routeClassMappings = new ArrayList<>();
     private List<HttpExchange> exchanges = new ArrayList<>();
+    private HttpResource resource;
 
     /**
      * Constructs a SpringWebHttpSpecBuilder.
@@ -183,6 +184,20 @@ public final class SpringWebHttpSpecBuilder {
         return this;
     }
 
+    /**
+     * Sets an in-memory resource backing every route of the bound class, so that the routes behave as a
+     * functional fake of the API instead of answering fixed exchanges. Requests matching an exchange are still
+     * answered with it.
+     *
+     * @param resource The resource backing the routes.
+     * @return The SpringWebHttpSpecBuilder instance.
+     * @see HttpSpecBuilder#resource(HttpResource)
+     */
+    public SpringWebHttpSpecBuilder resource(HttpResource resource) {
+        this.resource = resource;
+        return this;
+    }
+
     /**
      * Builds a list of HTTP specifications based on Spring Web annotations and exchanges.
      *
@@ -198,7 +213,8 @@ public final class SpringWebHttpSpecBuilder {
                 }
                 matchedExchangeSpecs.add(exchange);
             }
-            specs.add(new HttpSpec(mapping.getRoute(), matchedExchangeSpecs));
+            specs.add(new HttpSpec(mapping.getRoute(), matchedExchangeSpecs, null, null, null, null, null,
+                                   resource));
         }
         return specs;
     }
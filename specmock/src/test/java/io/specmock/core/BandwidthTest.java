@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+
+import io.specmock.core.example.Example1Response;
+
+class BandwidthTest {
+    private static final byte[] BODY = new byte[4096];
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        Arrays.fill(BODY, (byte) 'x');
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .bandwidth(HttpBandwidth.bytesPerSecond(8192))
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/throttled"))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .responseBody(BODY)
+                                                                       .responseContentType("text/plain")
+                                                                       .build())
+                                                 .build())
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/drip"))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .responseObject(
+                                                                               new Example1Response("DRIP"))
+                                                                       .bandwidth(HttpBandwidth.drip(
+                                                                               4, Duration.ofMillis(50)))
+                                                                       .build())
+                                                 .build())
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void serverBandwidth() {
+        final long start = System.nanoTime();
+        final AggregatedHttpResponse response = webClient.get("/throttled").aggregate().join();
+        final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        assertThat(response.content().array()).isEqualTo(BODY);
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(400);
+    }
+
+    @Test
+    void drip() {
+        final long start = System.nanoTime();
+        final AggregatedHttpResponse response = webClient.get("/drip").aggregate().join();
+        final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // 22 bytes in chunks of 4, with a pause after each of the 6 chunks.
+        assertThat(response.contentUtf8()).isEqualTo("{\"stringValue\":\"DRIP\"}");
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(250);
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+}
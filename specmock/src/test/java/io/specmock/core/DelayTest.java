@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+
+import io.specmock.core.example.Example1Response;
+
+class DelayTest {
+    private static final long DELAY_MILLIS = 200;
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/slow"))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .responseObject(
+                                                                               new Example1Response("SLOW"))
+                                                                       .delay(Duration.ofMillis(DELAY_MILLIS))
+                                                                       .build())
+                                                 .build())
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/profiled"))
+                                                 .delay(HttpDelay.uniform(Duration.ofMillis(DELAY_MILLIS),
+                                                                          Duration.ofMillis(DELAY_MILLIS * 2)))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .responseObject(
+                                                                               new Example1Response("PROFILED"))
+                                                                       .build())
+                                                 .build())
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void delayedResponse() {
+        final long start = System.nanoTime();
+        final AggregatedHttpResponse response = webClient.get("/slow").aggregate().join();
+        final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        assertThat(response.contentUtf8()).isEqualTo("{\"stringValue\":\"SLOW\"}");
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(DELAY_MILLIS);
+    }
+
+    @Test
+    void specDelay() {
+        final long start = System.nanoTime();
+        final AggregatedHttpResponse response = webClient.get("/profiled").aggregate().join();
+        final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(response.contentUtf8()).isEqualTo("{\"stringValue\":\"PROFILED\"}");
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(DELAY_MILLIS);
+    }
+
+    @Test
+    void concurrentDelayedResponsesDoNotQueue() {
+        final long start = System.nanoTime();
+        final List<CompletableFuture<AggregatedHttpResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            responses.add(webClient.get("/slow").aggregate());
+        }
+        for (CompletableFuture<AggregatedHttpResponse> response : responses) {
+            assertThat(response.join().status()).isEqualTo(HttpStatus.OK);
+        }
+        final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(elapsedMillis).isLessThan(DELAY_MILLIS * 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+}
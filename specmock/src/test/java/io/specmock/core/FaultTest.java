@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+
+import io.specmock.core.example.Example1Response;
+
+class FaultTest {
+    private static final String BODY = "{\"stringValue\":\"FAULT\"}";
+    private final WebClient webClient = WebClient.builder("http://localhost:18080")
+                                                 .responseTimeoutMillis(1000)
+                                                 .build();
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        final HttpSpecServerBuilder builder = HttpSpecServer.builder().port(18080);
+        for (HttpFaultType type : HttpFaultType.values()) {
+            builder.spec(faultSpec("/" + type.name().toLowerCase(), HttpFault.of(type)));
+        }
+        specServer = builder.spec(faultSpec("/never", HttpFault.of(HttpFaultType.CONNECTION_CLOSE, 0)))
+                            .build();
+        specServer.start();
+    }
+
+    @Test
+    void connectionClose() {
+        assertThatThrownBy(() -> webClient.get("/connection_close").aggregate().join())
+                .isInstanceOf(Exception.class);
+    }
+
+    @Test
+    void resetBeforeHeaders() {
+        assertThatThrownBy(() -> webClient.get("/reset_before_headers").aggregate().join())
+                .isInstanceOf(Exception.class);
+    }
+
+    @Test
+    void truncatedBody() {
+        assertThatThrownBy(() -> webClient.get("/truncated_body").aggregate().join())
+                .isInstanceOf(Exception.class);
+    }
+
+    @Test
+    void malformedBody() {
+        final AggregatedHttpResponse response = webClient.get("/malformed_body").aggregate().join();
+
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        assertThat(BODY).startsWith(response.contentUtf8());
+        assertThat(response.contentUtf8()).isNotEqualTo(BODY);
+        assertThatThrownBy(() -> new ObjectMapper().readTree(response.contentUtf8()))
+                .isInstanceOf(Exception.class);
+    }
+
+    @Test
+    void stall() {
+        assertThatThrownBy(() -> webClient.get("/stall").aggregate().join())
+                .isInstanceOf(Exception.class);
+    }
+
+    @Test
+    void zeroProbability() {
+        final AggregatedHttpResponse response = webClient.get("/never").aggregate().join();
+
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        assertThat(response.contentUtf8()).isEqualTo(BODY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+
+    private static HttpSpec faultSpec(String path, HttpFault fault) {
+        return HttpSpec.builder()
+                       .route(HttpRoute.get(path))
+                       .exchange(HttpExchange.builder()
+                                             .responseObject(new Example1Response("FAULT"))
+                                             .fault(fault)
+                                             .build())
+                       .build();
+    }
+}
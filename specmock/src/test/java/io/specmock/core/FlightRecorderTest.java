@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.linecorp.armeria.client.WebClient;
+
+import io.specmock.core.example.Example1Response;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecorderTest {
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private HttpSpecServer specServer;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        final ObjectMapper mapper = new ObjectMapper();
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.post("/example1/{id}"))
+                                                 .exchange(exchange(mapper, "1"))
+                                                 .exchange(exchange(mapper, "2"))
+                                                 .build())
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void events() throws IOException {
+        final Path file = directory.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.start();
+            webClient.post("/example1/2", "{\"stringValue\":\"REQ\"}").aggregate().join();
+            webClient.post("/example1/3", "{\"stringValue\":\"REQ\"}").aggregate().join();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        final Map<String, Integer> counts = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            final String name = event.getEventType().getName();
+            if (!name.startsWith("io.specmock.")) {
+                continue;
+            }
+            counts.merge(name, 1, Integer::sum);
+            assertThat(event.getString("path")).isEqualTo("/example1/{id}");
+            if ("io.specmock.Matching".equals(name)) {
+                // Both exchanges are examined, by the request matching the second one and by the miss.
+                assertThat(event.getLong("candidates")).isEqualTo(2);
+            } else if ("io.specmock.Miss".equals(name)) {
+                assertThat(event.getInt("exchanges")).isEqualTo(2);
+            } else if ("io.specmock.Aggregation".equals(name)) {
+                assertThat(event.getLong("bodySize")).isEqualTo(21);
+            }
+        }
+
+        assertThat(counts).containsEntry("io.specmock.Aggregation", 2)
+                          .containsEntry("io.specmock.Matching", 2)
+                          .containsEntry("io.specmock.JsonComparison", 1)
+                          .containsEntry("io.specmock.Encoding", 1)
+                          .containsEntry("io.specmock.Miss", 1);
+    }
+
+    private static HttpExchange exchange(ObjectMapper mapper, String id) {
+        return HttpExchange.builder()
+                           .pathParamMap(Collections.singletonMap("id", id))
+                           .requestObject(mapper.createObjectNode().put("stringValue", "REQ"))
+                           .responseObject(new Example1Response(id))
+                           .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+}
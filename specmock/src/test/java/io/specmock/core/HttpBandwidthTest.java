@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class HttpBandwidthTest {
+    @Test
+    void bytesPerSecond() {
+        final HttpBandwidth bandwidth = HttpBandwidth.bytesPerSecond(100_000);
+
+        assertThat(bandwidth.chunkSize()).isEqualTo(1000);
+        assertThat(bandwidth.intervalNanos(1000)).isEqualTo(10_000_000L);
+        assertThat(bandwidth.intervalNanos(500)).isEqualTo(5_000_000L);
+    }
+
+    @Test
+    void bytesPerSecondChunkSizeBounds() {
+        assertThat(HttpBandwidth.bytesPerSecond(1).chunkSize()).isEqualTo(1);
+        assertThat(HttpBandwidth.bytesPerSecond(1).intervalNanos(1)).isEqualTo(1_000_000_000L);
+        assertThat(HttpBandwidth.bytesPerSecond(1L << 40).chunkSize()).isEqualTo(64 * 1024);
+    }
+
+    @Test
+    void drip() {
+        final HttpBandwidth bandwidth = HttpBandwidth.drip(16, Duration.ofMillis(100));
+
+        assertThat(bandwidth.chunkSize()).isEqualTo(16);
+        assertThat(bandwidth.intervalNanos(16)).isEqualTo(100_000_000L);
+        assertThat(bandwidth.intervalNanos(3)).isEqualTo(100_000_000L);
+    }
+
+    @Test
+    void invalid() {
+        assertThatThrownBy(() -> HttpBandwidth.bytesPerSecond(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpBandwidth.drip(0, Duration.ofMillis(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpBandwidth.drip(1, Duration.ofMillis(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class HttpByteRangeTest {
+    private final ByteBuffer body = ByteBuffer.wrap("0123456789".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void closedRange() {
+        final HttpByteRange range = HttpByteRange.parse("bytes=2-4", 10);
+        assertThat(range.isSatisfiable()).isTrue();
+        assertThat(range.contentRange()).isEqualTo("bytes 2-4/10");
+        assertThat(toUtf8(range.slice(body))).isEqualTo("234");
+    }
+
+    @Test
+    void openAndSuffixRanges() {
+        assertThat(toUtf8(HttpByteRange.parse("bytes=7-", 10).slice(body))).isEqualTo("789");
+        assertThat(toUtf8(HttpByteRange.parse("bytes=-2", 10).slice(body))).isEqualTo("89");
+        assertThat(toUtf8(HttpByteRange.parse("bytes=-20", 10).slice(body))).isEqualTo("0123456789");
+        assertThat(HttpByteRange.parse("bytes=8-100", 10).contentRange()).isEqualTo("bytes 8-9/10");
+    }
+
+    @Test
+    void unsatisfiableRanges() {
+        assertThat(HttpByteRange.parse("bytes=10-", 10).isSatisfiable()).isFalse();
+        assertThat(HttpByteRange.parse("bytes=-0", 10).isSatisfiable()).isFalse();
+        assertThat(HttpByteRange.parse("bytes=10-", 10).contentRange()).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void ignoredRanges() {
+        assertThat(HttpByteRange.parse("items=0-1", 10)).isNull();
+        assertThat(HttpByteRange.parse("bytes=0-1,4-5", 10)).isNull();
+        assertThat(HttpByteRange.parse("bytes=5", 10)).isNull();
+        assertThat(HttpByteRange.parse("bytes=4-2", 10)).isNull();
+        assertThat(HttpByteRange.parse("bytes=a-b", 10)).isNull();
+    }
+
+    private static String toUtf8(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class HttpConcurrencyLimitTest {
+    @Test
+    void acquireAndRelease() {
+        final HttpConcurrencyLimit concurrencyLimit = HttpConcurrencyLimit.of(2);
+
+        assertThat(concurrencyLimit.tryAcquire()).isTrue();
+        assertThat(concurrencyLimit.tryAcquire()).isTrue();
+        assertThat(concurrencyLimit.tryAcquire()).isFalse();
+        assertThat(concurrencyLimit.getInFlight()).isEqualTo(2);
+
+        concurrencyLimit.release();
+        assertThat(concurrencyLimit.getInFlight()).isEqualTo(1);
+        assertThat(concurrencyLimit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void rejection() {
+        assertThat(HttpConcurrencyLimit.of(1).getRejectStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(HttpConcurrencyLimit.of(1).retryAfterSeconds()).isEqualTo(-1);
+
+        final HttpConcurrencyLimit concurrencyLimit =
+                HttpConcurrencyLimit.of(1, HttpStatus.TOO_MANY_REQUESTS, Duration.ofSeconds(5));
+        assertThat(concurrencyLimit.getRejectStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(concurrencyLimit.retryAfterSeconds()).isEqualTo(5);
+    }
+
+    @Test
+    void invalid() {
+        assertThatThrownBy(() -> HttpConcurrencyLimit.of(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
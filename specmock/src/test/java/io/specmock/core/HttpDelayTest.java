@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HttpDelayTest {
+    private static final int SAMPLES = 10_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fixed() {
+        assertThat(HttpDelay.fixed(Duration.ofMillis(5)).sampleNanos()).isEqualTo(5_000_000L);
+    }
+
+    @Test
+    void uniform() {
+        final HttpDelay delay = HttpDelay.uniform(Duration.ofMillis(10), Duration.ofMillis(20));
+        for (int i = 0; i < SAMPLES; i++) {
+            assertThat(delay.sampleNanos()).isBetween(10_000_000L, 20_000_000L);
+        }
+        assertThat(HttpDelay.uniform(Duration.ofMillis(10), Duration.ofMillis(10)).sampleNanos())
+                .isEqualTo(10_000_000L);
+    }
+
+    @Test
+    void logNormal() {
+        final HttpDelay delay = HttpDelay.logNormal(Duration.ofMillis(20), 0.5);
+        int belowMedian = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            final long sample = delay.sampleNanos();
+            assertThat(sample).isPositive();
+            if (sample < 20_000_000L) {
+                belowMedian++;
+            }
+        }
+        assertThat(belowMedian).isBetween(SAMPLES * 45 / 100, SAMPLES * 55 / 100);
+        assertThat(HttpDelay.logNormal(Duration.ofMillis(20), 0).sampleNanos()).isEqualTo(20_000_000L);
+    }
+
+    @Test
+    void percentiles() {
+        final Map<Double, Duration> table = new HashMap<>();
+        table.put(50.0, Duration.ofMillis(10));
+        table.put(99.0, Duration.ofMillis(100));
+        table.put(100.0, Duration.ofMillis(1000));
+        final HttpDelay delay = HttpDelay.percentiles(table);
+
+        int belowP50 = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            final long sample = delay.sampleNanos();
+            assertThat(sample).isBetween(10_000_000L, 1_000_000_000L);
+            if (sample <= 10_000_000L) {
+                belowP50++;
+            }
+        }
+        assertThat(belowP50).isBetween(SAMPLES * 45 / 100, SAMPLES * 55 / 100);
+    }
+
+    @Test
+    void percentilesAreMonotonic() {
+        final Map<Double, Duration> table = new HashMap<>();
+        table.put(0.0, Duration.ofMillis(50));
+        table.put(100.0, Duration.ofMillis(10));
+
+        assertThat(HttpDelay.percentiles(table).sampleNanos()).isEqualTo(50_000_000L);
+    }
+
+    @Test
+    void invalid() {
+        assertThatThrownBy(() -> HttpDelay.fixed(Duration.ofMillis(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpDelay.uniform(Duration.ofMillis(20), Duration.ofMillis(10)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpDelay.logNormal(Duration.ofMillis(20), -1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpDelay.percentiles(Collections.emptyMap()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpDelay.percentiles(Collections.singletonMap(101.0, Duration.ZERO)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpDelay.percentiles(Collections.singletonMap(-1.0, Duration.ZERO)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpDelay.of(99, new long[0], new double[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void percentileDistribution() throws Exception {
+        final Path file = write(
+                "       Value     Percentile TotalCount 1/(1-Percentile)\n" +
+                "\n" +
+                "      10.000 0.000000000000          1           1.00\n" +
+                "      10.000 0.500000000000       5000           2.00\n" +
+                "     100.000 0.990000000000       9900         100.00\n" +
+                "    1000.000 1.000000000000      10000            inf\n" +
+                "#[Mean    =       15.000, StdDeviation   =       30.000]\n" +
+                "#[Max     =     1000.000, Total count    =        10000]\n");
+        final HttpDelay delay = HttpDelay.percentileDistribution(file, TimeUnit.MILLISECONDS);
+
+        int belowP50 = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            final long sample = delay.sampleNanos();
+            assertThat(sample).isBetween(10_000_000L, 1_000_000_000L);
+            if (sample <= 10_000_000L) {
+                belowP50++;
+            }
+        }
+        assertThat(belowP50).isBetween(SAMPLES * 45 / 100, SAMPLES * 55 / 100);
+    }
+
+    @Test
+    void percentileDistributionCsv() throws Exception {
+        final Path file = write("value,percentile\n250,0.0\n250,1.0\n");
+
+        assertThat(HttpDelay.percentileDistribution(file, TimeUnit.MICROSECONDS).sampleNanos())
+                .isEqualTo(250_000L);
+    }
+
+    @Test
+    void invalidPercentileDistribution() throws Exception {
+        final Path empty = write("#[Mean = 0]\n");
+        assertThatThrownBy(() -> HttpDelay.percentileDistribution(empty, TimeUnit.MILLISECONDS))
+                .isInstanceOf(IOException.class);
+
+        final Path malformed = write("10.0 p50\n");
+        assertThatThrownBy(() -> HttpDelay.percentileDistribution(malformed, TimeUnit.MILLISECONDS))
+                .isInstanceOf(IOException.class);
+
+        final Path outOfRange = write("10.0 50\n");
+        assertThatThrownBy(() -> HttpDelay.percentileDistribution(outOfRange, TimeUnit.MILLISECONDS))
+                .isInstanceOf(IOException.class);
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.write(Files.createTempFile(tempDir, "latency", ".hgrm"),
+                           content.getBytes(StandardCharsets.UTF_8));
+    }
+}
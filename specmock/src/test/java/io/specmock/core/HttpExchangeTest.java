@@ -17,12 +17,18 @@
 package io.specmock.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import io.specmock.core.example.Example1Request;
 import io.specmock.core.example.Example1Response;
@@ -32,6 +38,9 @@ class HttpExchangeTest {
     private final Example1Request exampleRequest = new Example1Request("REQ", 1, 1L, BigDecimal.ONE);
     private final Example1Response exampleResponse = new Example1Response("RES");
 
+    @TempDir
+    Path tempDir;
+
     @Test
     void matchRequest() {
         final HttpExchange exchange = HttpExchange.builder()
@@ -104,4 +113,28 @@ class HttpExchangeTest {
         incorrectRequestHeaderMap.put("header1", "INCORRECT");
         assertThat(exchange.isNotMatchHeader(incorrectRequestHeaderMap)).isFalse();
     }
+
+    @Test
+    void responseFile() throws Exception {
+        final byte[] fixture = new byte[64 * 1024];
+        fixture[fixture.length - 1] = 1;
+        final Path file = Files.write(tempDir.resolve("fixture.bin"), fixture);
+
+        final HttpExchange exchange = HttpExchange.builder()
+                                                  .responseFile(file)
+                                                  .responseContentType("application/octet-stream")
+                                                  .build();
+
+        final ByteBuffer responseBody = exchange.getResponseBody();
+        assertThat(responseBody.isDirect()).isTrue();
+        assertThat(responseBody.remaining()).isEqualTo(fixture.length);
+        assertThat(responseBody.get(fixture.length - 1)).isEqualTo((byte) 1);
+        assertThat(exchange.getResponseContentType()).isEqualTo("application/octet-stream");
+    }
+
+    @Test
+    void responseFileNotFound() {
+        assertThatThrownBy(() -> HttpExchange.builder().responseFile(tempDir.resolve("missing.bin")))
+                .isInstanceOf(UncheckedIOException.class);
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class HttpFaultTest {
+    @Test
+    void always() {
+        final HttpFault fault = HttpFault.of(HttpFaultType.STALL);
+
+        assertThat(fault.getType()).isEqualTo(HttpFaultType.STALL);
+        assertThat(fault.getProbability()).isEqualTo(1);
+        assertThat(fault.sample()).isTrue();
+    }
+
+    @Test
+    void never() {
+        final HttpFault fault = HttpFault.of(HttpFaultType.STALL, 0);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(fault.sample()).isFalse();
+        }
+    }
+
+    @Test
+    void probability() {
+        final HttpFault fault = HttpFault.of(HttpFaultType.TRUNCATED_BODY, 0.25);
+        int faulted = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (fault.sample()) {
+                faulted++;
+            }
+        }
+        assertThat(faulted).isBetween(2000, 3000);
+    }
+
+    @Test
+    void invalid() {
+        assertThatThrownBy(() -> HttpFault.of(HttpFaultType.STALL, -0.1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpFault.of(HttpFaultType.STALL, 1.1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class HttpFlightRecorderTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void noopWhenNotRecording() {
+        final HttpFlightRecorder recorder = HttpFlightRecorder.DEFAULT;
+        assertThat(recorder.beginAggregation()).isSameAs(HttpFlightRecorder.NOOP);
+        assertThat(recorder.beginMatching()).isSameAs(HttpFlightRecorder.NOOP);
+        assertThat(recorder.beginJsonComparison()).isSameAs(HttpFlightRecorder.NOOP);
+        assertThat(recorder.beginEncoding()).isSameAs(HttpFlightRecorder.NOOP);
+    }
+
+    @Test
+    void noEventsWithoutFlightRecorder() throws IOException {
+        final Path file = directory.resolve("events.jfr");
+        final HttpFlightRecorder recorder = new HttpFlightRecorder(false);
+        try (Recording recording = new Recording()) {
+            recording.enable("io.specmock.Matching");
+            recording.enable("io.specmock.Miss");
+            recording.start();
+
+            assertThat(recorder.beginAggregation()).isSameAs(HttpFlightRecorder.NOOP);
+            assertThat(recorder.beginMatching()).isSameAs(HttpFlightRecorder.NOOP);
+            assertThat(recorder.beginJsonComparison()).isSameAs(HttpFlightRecorder.NOOP);
+            assertThat(recorder.beginEncoding()).isSameAs(HttpFlightRecorder.NOOP);
+            recorder.miss(HttpRoute.get("/example2"), 4);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertThat(RecordingFile.readAllEvents(file)).isEmpty();
+    }
+
+    @Test
+    void detectFlightRecorder() {
+        assertThat(HttpFlightRecorder.isAvailable("jdk.jfr.Event")).isTrue();
+        assertThat(HttpFlightRecorder.isAvailable("jdk.jfr.MissingEvent")).isFalse();
+    }
+
+    @Test
+    void events() throws IOException {
+        final Path file = directory.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("io.specmock.Matching");
+            recording.enable("io.specmock.Miss");
+            recording.start();
+
+            final HttpFlightRecorder.Span matching = HttpFlightRecorder.DEFAULT.beginMatching();
+            assertThat(matching).isNotSameAs(HttpFlightRecorder.NOOP);
+            matching.add(2);
+            matching.add(1);
+            matching.end(HttpRoute.post("/example1/{id}"));
+            HttpFlightRecorder.DEFAULT.miss(HttpRoute.get("/example2"), 4);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).hasSize(2);
+        final RecordedEvent matching = events.get(0);
+        assertThat(matching.getEventType().getName()).isEqualTo("io.specmock.Matching");
+        assertThat(matching.getString("method")).isEqualTo("POST");
+        assertThat(matching.getString("path")).isEqualTo("/example1/{id}");
+        assertThat(matching.getLong("candidates")).isEqualTo(3);
+        final RecordedEvent miss = events.get(1);
+        assertThat(miss.getEventType().getName()).isEqualTo("io.specmock.Miss");
+        assertThat(miss.getString("path")).isEqualTo("/example2");
+        assertThat(miss.getInt("exchanges")).isEqualTo(4);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.specmock.core.example.Example1Response;
+
+class HttpJournalExportTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpExchange exchange = HttpExchange.builder()
+                                                      .responseObject(new Example1Response("SUCCESS"))
+                                                      .build();
+
+    @Test
+    void har() throws IOException {
+        final JsonNode har = mapper.readTree(export(HttpJournalFormat.HAR, entry("/users/1", exchange),
+                                                    entry("/users/2", null)));
+
+        assertThat(har.at("/log/version").asText()).isEqualTo("1.2");
+        assertThat(har.at("/log/entries")).hasSize(2);
+
+        final JsonNode first = har.at("/log/entries/0");
+        assertThat(first.at("/startedDateTime").asText()).isEqualTo("1970-01-01T00:00:01Z");
+        assertThat(first.at("/time").asDouble()).isEqualTo(2.0);
+        assertThat(first.at("/request/method").asText()).isEqualTo("POST");
+        assertThat(first.at("/request/url").asText()).isEqualTo("http://example.com/users/1?q=a+b");
+        assertThat(first.at("/request/headers/0/name").asText()).isEqualTo("host");
+        assertThat(first.at("/request/queryString/0/value").asText()).isEqualTo("a b");
+        assertThat(first.at("/request/postData/text").asText()).isEqualTo("{\"name\":\"kim\"}");
+        assertThat(first.at("/response/status").asInt()).isEqualTo(200);
+        assertThat(first.at("/response/content/text").asText()).isEqualTo("{\"stringValue\":\"SUCCESS\"}");
+
+        assertThat(har.at("/log/entries/1/response/status").asInt()).isZero();
+    }
+
+    @Test
+    void harContent() throws IOException {
+        final byte[] png = { (byte) 0x89, 'P', 'N', 'G' };
+        final HttpExchange binary = HttpExchange.builder()
+                                                .responseBody(png)
+                                                .responseContentType("image/png")
+                                                .build();
+        final HttpExchange text = HttpExchange.builder()
+                                              .responseBody("h\u00e9llo".getBytes(StandardCharsets.UTF_8))
+                                              .responseContentType("text/plain; charset=utf-8")
+                                              .build();
+        final HttpExchange xml = HttpExchange.builder()
+                                             .responseBody("<a/>".getBytes(StandardCharsets.UTF_8))
+                                             .responseContentType("application/xml")
+                                             .build();
+        final HttpExchange stream = HttpExchange.builder()
+                                                .responseStream(HttpResponseStream.jsonArray(1, i -> i))
+                                                .build();
+        final JsonNode entries = mapper.readTree(export(HttpJournalFormat.HAR, entry("/users/1", binary),
+                                                        entry("/users/2", binary), entry("/users/3", text),
+                                                        entry("/users/4", xml), entry("/users/5", stream)))
+                                       .at("/log/entries");
+
+        for (int i = 0; i < 2; i++) {
+            final JsonNode content = entries.at("/" + i + "/response/content");
+            assertThat(content.at("/size").asInt()).isEqualTo(4);
+            assertThat(content.at("/mimeType").asText()).isEqualTo("image/png");
+            assertThat(content.at("/encoding").asText()).isEqualTo("base64");
+            assertThat(content.at("/text").asText()).isEqualTo("iVBORw==");
+        }
+        assertThat(entries.at("/2/response/content/size").asInt()).isEqualTo(6);
+        assertThat(entries.at("/2/response/content/text").asText()).isEqualTo("h\u00e9llo");
+        assertThat(entries.at("/2/response/content/encoding").isMissingNode()).isTrue();
+        assertThat(entries.at("/3/response/content/text").asText()).isEqualTo("<a/>");
+        assertThat(entries.at("/4/response/content/size").asInt()).isZero();
+        assertThat(entries.at("/4/response/content/text").isMissingNode()).isTrue();
+    }
+
+    @Test
+    void ndjson() throws IOException {
+        final String export = export(HttpJournalFormat.NDJSON, entry("/users/1", exchange),
+                                     entry("/users/2", null));
+
+        final String[] lines = export.split("\n");
+        assertThat(lines).hasSize(2);
+        final JsonNode first = mapper.readTree(lines[0]);
+        assertThat(first.get("method").asText()).isEqualTo("POST");
+        assertThat(first.get("route").asText()).isEqualTo("/users/{id}");
+        assertThat(first.get("path").asText()).isEqualTo("/users/1");
+        assertThat(first.at("/queryParams/q").asText()).isEqualTo("a b");
+        assertThat(first.get("body").asText()).isEqualTo("{\"name\":\"kim\"}");
+        assertThat(first.get("status").asInt()).isEqualTo(200);
+        assertThat(mapper.readTree(lines[1]).get("status").isNull()).isTrue();
+    }
+
+    @Test
+    void empty() throws IOException {
+        assertThat(mapper.readTree(export(HttpJournalFormat.HAR)).at("/log/entries")).isEmpty();
+        assertThat(export(HttpJournalFormat.NDJSON)).isEmpty();
+    }
+
+    @Test
+    void chunks() throws IOException {
+        final List<HttpJournalEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.add(entry("/users/" + i, exchange));
+        }
+
+        final HttpJournalExport.Cursor cursor = HttpJournalExport.open(entries.iterator(),
+                                                                       HttpJournalFormat.HAR);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int chunkCount = 0;
+        for (byte[] chunk = cursor.next(4096); chunk != null; chunk = cursor.next(4096)) {
+            out.write(chunk);
+            chunkCount++;
+        }
+
+        assertThat(chunkCount).isGreaterThan(1);
+        assertThat(mapper.readTree(out.toByteArray()).at("/log/entries")).hasSize(1000);
+    }
+
+    private static String export(HttpJournalFormat format, HttpJournalEntry... entries) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HttpJournalExport.write(Arrays.asList(entries).iterator(), format, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static HttpJournalEntry entry(String path, HttpExchange exchange) {
+        return new HttpJournalEntry(1000, HttpRoute.post("/users/{id}"), path,
+                                    Collections.singletonMap("id", path.substring(7)),
+                                    Collections.singletonMap("q", "a b"),
+                                    Collections.singletonMap("host", "example.com"),
+                                    ByteBuffer.wrap("{\"name\":\"kim\"}".getBytes(StandardCharsets.UTF_8)),
+                                    exchange, 2_000_000);
+    }
+}
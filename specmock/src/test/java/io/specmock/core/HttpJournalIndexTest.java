@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class HttpJournalIndexTest {
+    private final HttpExchange exchange = HttpExchange.builder().responseObject("SUCCESS").build();
+
+    @Test
+    void findByRouteAndHeader() {
+        final HttpJournal journal = HttpJournal.of(100);
+        final HttpJournalIndex index = new HttpJournalIndex(journal);
+        for (int i = 0; i < 10; i++) {
+            journal.record(entry(HttpRoute.post("/example1"), "tenant" + i % 2, i % 3 == 0 ? exchange : null));
+            journal.record(entry(HttpRoute.get("/example2"), "tenant0", null));
+        }
+
+        assertThat(index.find(HttpRequestPattern.of(HttpRoute.post("/example1")))).hasSize(10);
+        assertThat(index.find(HttpRequestPattern.builder()
+                                                .route(HttpRoute.post("/example1"))
+                                                .header("X-Tenant", "tenant0")
+                                                .build())).hasSize(5);
+        assertThat(index.find(HttpRequestPattern.builder().exchange(exchange).build())).hasSize(4);
+        assertThat(index.find(HttpRequestPattern.builder().header("x-tenant", "tenant2").build())).isEmpty();
+        assertThat(index.find(HttpRequestPattern.builder().build())).hasSize(20);
+    }
+
+    @Test
+    void indexNewEntries() {
+        final HttpJournal journal = HttpJournal.of(100);
+        final HttpJournalIndex index = new HttpJournalIndex(journal);
+        final HttpRequestPattern pattern = HttpRequestPattern.of(HttpRoute.post("/example1"));
+        journal.record(entry(HttpRoute.post("/example1"), "tenant0", null));
+        assertThat(index.find(pattern)).hasSize(1);
+
+        journal.record(entry(HttpRoute.post("/example1"), "tenant0", null));
+        assertThat(index.find(pattern)).hasSize(2);
+    }
+
+    @Test
+    void pruneOverwrittenAndClearedEntries() {
+        final HttpJournal journal = HttpJournal.of(4);
+        final HttpJournalIndex index = new HttpJournalIndex(journal);
+        final HttpRequestPattern pattern = HttpRequestPattern.of(HttpRoute.post("/example1"));
+        for (int i = 0; i < 3; i++) {
+            journal.record(entry(HttpRoute.post("/example1"), "tenant0", null));
+        }
+        assertThat(index.find(pattern)).hasSize(3);
+
+        for (int i = 0; i < 3; i++) {
+            journal.record(entry(HttpRoute.get("/example2"), "tenant0", null));
+        }
+        assertThat(index.find(pattern)).hasSize(1);
+
+        journal.clear();
+        assertThat(index.find(pattern)).isEmpty();
+    }
+
+    private static HttpJournalEntry entry(HttpRoute route, String tenant, HttpExchange exchange) {
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("x-tenant", tenant);
+        return new HttpJournalEntry(0, route, route.getPath(), Collections.emptyMap(), Collections.emptyMap(),
+                                    headers, null, exchange, 0);
+    }
+}
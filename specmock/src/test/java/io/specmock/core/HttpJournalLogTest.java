@@ -0,0 +1,180 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HttpJournalLogTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void spillAndRead() throws Exception {
+        final HttpJournal journal = HttpJournal.of(1000);
+        final HttpJournalLog log = HttpJournalLog.builder()
+                                                 .directory(tempDir)
+                                                 .flushInterval(Duration.ofHours(1))
+                                                 .build();
+        log.start(journal);
+        for (int i = 0; i < 10; i++) {
+            journal.record(entry(i));
+        }
+        log.spill();
+        journal.record(entry(10));
+        log.close();
+
+        final List<HttpJournalEntry> entries = readAll(tempDir);
+        assertThat(entries).hasSize(11);
+        assertThat(log.getWrittenCount()).isEqualTo(11);
+
+        final HttpJournalEntry first = entries.get(0);
+        assertThat(first.getSequence()).isZero();
+        assertThat(first.getMethod()).isEqualTo(HttpMethod.POST);
+        assertThat(first.getRoute().getPath()).isEqualTo("/example1/{id}");
+        assertThat(first.getPath()).isEqualTo("/example1/0");
+        assertThat(first.getPathParams()).containsEntry("id", "0");
+        assertThat(first.getHeaders()).containsEntry("x-tenant", "specmock");
+        assertThat(first.getBodyUtf8()).isEqualTo("{\"index\":0}");
+        assertThat(first.getExchange()).isNull();
+        assertThat(entries.get(10).getSequence()).isEqualTo(10);
+    }
+
+    @Test
+    void rollAndDeleteBySize() throws Exception {
+        final HttpJournal journal = HttpJournal.of(10000);
+        final HttpJournalLog log = HttpJournalLog.builder()
+                                                 .directory(tempDir)
+                                                 .segmentSize(4096)
+                                                 .maxSize(4 * 4096)
+                                                 .flushInterval(Duration.ofHours(1))
+                                                 .build();
+        log.start(journal);
+        for (int i = 0; i < 1000; i++) {
+            journal.record(entry(i));
+        }
+        log.close();
+
+        assertThat(HttpJournalLog.segments(tempDir)).hasSize(4);
+        final List<HttpJournalEntry> entries = readAll(tempDir);
+        assertThat(entries).isNotEmpty();
+        assertThat(entries.get(entries.size() - 1).getSequence()).isEqualTo(999);
+    }
+
+    @Test
+    void deleteByAge() throws Exception {
+        final HttpJournalLog old = HttpJournalLog.builder().directory(tempDir).segmentSize(4096).build();
+        old.close();
+        for (Path segment : HttpJournalLog.segments(tempDir)) {
+            Files.setLastModifiedTime(segment, FileTime.fromMillis(0));
+        }
+
+        final HttpJournalLog log = HttpJournalLog.builder()
+                                                 .directory(tempDir)
+                                                 .segmentSize(4096)
+                                                 .maxAge(Duration.ofDays(1))
+                                                 .build();
+        log.close();
+        assertThat(HttpJournalLog.segments(tempDir)).hasSize(1);
+    }
+
+    @Test
+    void deleteByAgeWithoutRolling() throws Exception {
+        final HttpJournalLog old = HttpJournalLog.builder().directory(tempDir).segmentSize(4096).build();
+        old.close();
+
+        final HttpJournal journal = HttpJournal.of(100);
+        final HttpJournalLog log = HttpJournalLog.builder()
+                                                 .directory(tempDir)
+                                                 .segmentSize(4096)
+                                                 .maxAge(Duration.ofDays(1))
+                                                 .flushInterval(Duration.ofHours(1))
+                                                 .build();
+        log.start(journal);
+        assertThat(HttpJournalLog.segments(tempDir)).hasSize(2);
+        Files.setLastModifiedTime(HttpJournalLog.segments(tempDir).get(0), FileTime.fromMillis(0));
+        log.spill();
+        assertThat(HttpJournalLog.segments(tempDir)).hasSize(1);
+        log.close();
+    }
+
+    @Test
+    void reopenKeepsSegments() throws Exception {
+        for (int run = 0; run < 2; run++) {
+            final HttpJournal journal = HttpJournal.of(100);
+            final HttpJournalLog log = HttpJournalLog.builder().directory(tempDir).segmentSize(4096).build();
+            log.start(journal);
+            journal.record(entry(run));
+            log.close();
+        }
+
+        assertThat(readAll(tempDir)).hasSize(2);
+    }
+
+    @Test
+    void countLostEntries() throws Exception {
+        final HttpJournal journal = HttpJournal.of(10);
+        final HttpJournalLog log = HttpJournalLog.builder()
+                                                 .directory(tempDir)
+                                                 .flushInterval(Duration.ofHours(1))
+                                                 .build();
+        log.start(journal);
+        for (int i = 0; i < 25; i++) {
+            journal.record(entry(i));
+        }
+        log.close();
+
+        assertThat(log.getLostCount()).isEqualTo(15);
+        assertThat(readAll(tempDir)).hasSize(10);
+    }
+
+    @Test
+    void invalidSegmentSize() {
+        assertThatThrownBy(() -> HttpJournalLog.builder().segmentSize(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HttpJournalEntry entry(int index) {
+        final ByteBuffer body = ByteBuffer.wrap(("{\"index\":" + index + '}').getBytes(StandardCharsets.UTF_8));
+        return new HttpJournalEntry(System.currentTimeMillis(), HttpRoute.post("/example1/{id}"),
+                                    "/example1/" + index, Collections.singletonMap("id", String.valueOf(index)),
+                                    Collections.emptyMap(), Collections.singletonMap("x-tenant", "specmock"),
+                                    body, null, 1000);
+    }
+
+    private static List<HttpJournalEntry> readAll(Path directory) throws Exception {
+        final List<HttpJournalEntry> entries = new ArrayList<>();
+        final HttpJournalLogReader reader = HttpJournalLog.reader(directory);
+        while (reader.hasNext()) {
+            entries.add(reader.next());
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class HttpJournalTest {
+    @Test
+    void overwriteOldest() {
+        final HttpJournal journal = HttpJournal.of(3);
+        for (int i = 0; i < 5; i++) {
+            assertThat(journal.record(entry("/" + i))).isTrue();
+        }
+
+        assertThat(journal.size()).isEqualTo(3);
+        assertThat(paths(journal)).containsExactly("/2", "/3", "/4");
+        assertThat(journal.entries().get(0).getSequence()).isEqualTo(2);
+        assertThat(journal.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void dropNewest() {
+        final HttpJournal journal = HttpJournal.of(3, HttpJournalPolicy.DROP_NEWEST);
+        for (int i = 0; i < 5; i++) {
+            journal.record(entry("/" + i));
+        }
+
+        assertThat(paths(journal)).containsExactly("/0", "/1", "/2");
+        assertThat(journal.getDroppedCount()).isEqualTo(2);
+
+        journal.clear();
+        assertThat(journal.size()).isZero();
+        assertThat(journal.record(entry("/5"))).isTrue();
+        assertThat(paths(journal)).containsExactly("/5");
+    }
+
+    @Test
+    void clear() {
+        final HttpJournal journal = HttpJournal.of(3);
+        journal.record(entry("/0"));
+        journal.clear();
+
+        assertThat(journal.entries()).isEmpty();
+        journal.record(entry("/1"));
+        assertThat(paths(journal)).containsExactly("/1");
+    }
+
+    @Test
+    void iterator() {
+        final HttpJournal journal = HttpJournal.of(3);
+        for (int i = 0; i < 4; i++) {
+            journal.record(entry("/" + i));
+        }
+
+        final Iterator<HttpJournalEntry> iterator = journal.iterator();
+        assertThat(iterator.next().getPath()).isEqualTo("/1");
+        // Overwrites "/1" and "/2" with entries recorded after the iteration started.
+        journal.record(entry("/4"));
+        journal.record(entry("/5"));
+        assertThat(iterator.next().getPath()).isEqualTo("/3");
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    void concurrentRecords() {
+        final HttpJournal journal = HttpJournal.of(1000, HttpJournalPolicy.DROP_NEWEST);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 500; j++) {
+                    journal.record(entry("/"));
+                }
+            }));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        assertThat(journal.entries()).hasSize(1000);
+        assertThat(journal.getDroppedCount()).isEqualTo(3000);
+    }
+
+    @Test
+    void invalidCapacity() {
+        assertThatThrownBy(() -> HttpJournal.of(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HttpJournalEntry entry(String path) {
+        return new HttpJournalEntry(0, HttpRoute.get(path), path, Collections.emptyMap(),
+                                    Collections.emptyMap(), Collections.emptyMap(), null, null, 0);
+    }
+
+    private static List<String> paths(HttpJournal journal) {
+        final List<String> paths = new ArrayList<>();
+        for (HttpJournalEntry entry : journal.entries()) {
+            paths.add(entry.getPath());
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class HttpLatencyHistogramTest {
+    @Test
+    void buckets() {
+        long previous = -1;
+        for (int i = 0; i < HttpLatencyHistogram.BUCKET_COUNT; i++) {
+            final long upperBound = HttpLatencyHistogram.upperBound(i);
+            assertThat(upperBound).isGreaterThan(previous);
+            assertThat(HttpLatencyHistogram.bucket(previous + 1)).isEqualTo(i);
+            assertThat(HttpLatencyHistogram.bucket(upperBound)).isEqualTo(i);
+            previous = upperBound;
+        }
+        assertThat(previous).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void percentiles() {
+        final HttpLatencyHistogram histogram = new HttpLatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        final HttpLatencySnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(1000);
+        assertThat(snapshot.getMaxNanos()).isEqualTo(1_000_000);
+        assertThat(snapshot.getMeanNanos()).isEqualTo(500_500.0);
+        assertThat(snapshot.getPercentileNanos(50)).isBetween(500_000L, 625_000L);
+        assertThat(snapshot.getPercentileNanos(100)).isEqualTo(1_000_000);
+        assertThat(snapshot.getCountAtOrBelow(HttpLatencyHistogram.upperBound(
+                HttpLatencyHistogram.bucket(100_000)))).isBetween(100L, 125L);
+        assertThatThrownBy(() -> snapshot.getPercentileNanos(101)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void empty() {
+        final HttpLatencySnapshot snapshot = new HttpLatencyHistogram().snapshot();
+        assertThat(snapshot.getCount()).isZero();
+        assertThat(snapshot.getMeanNanos()).isZero();
+        assertThat(snapshot.getPercentileNanos(99)).isZero();
+    }
+
+    @Test
+    void concurrentRecords() {
+        final HttpLatencyHistogram histogram = new HttpLatencyHistogram();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    histogram.record(j);
+                }
+            }));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        assertThat(histogram.snapshot().getCount()).isEqualTo(80000);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class HttpPassthroughTest {
+    @Test
+    void build() {
+        final HttpPassthrough passthrough = HttpPassthrough.builder()
+                                                           .upstream("http://localhost:18081")
+                                                           .cache(100, Duration.ofSeconds(10))
+                                                           .build();
+        try {
+            assertThat(passthrough.getUpstream()).isEqualTo("http://localhost:18081");
+            assertThat(passthrough.getForwardedCount()).isZero();
+            assertThat(passthrough.getCacheHitCount()).isZero();
+        } finally {
+            passthrough.close();
+        }
+    }
+
+    @Test
+    void invalidParameters() {
+        assertThatThrownBy(() -> HttpPassthrough.builder().build()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> HttpPassthrough.builder().cache(0, Duration.ofSeconds(10)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpPassthrough.builder().cache(10, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpPassthrough.builder().cache(10, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpPassthrough.builder().cache(10, Duration.ofSeconds(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class HttpRandomTest {
+    @Test
+    void unseeded() {
+        final HttpRandom random = HttpRandom.of(null);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(random.nextDouble()).isGreaterThanOrEqualTo(0).isLessThan(1);
+        }
+    }
+
+    @Test
+    void seededIsReproducible() {
+        final HttpRandom first = HttpRandom.of(42L);
+        final HttpRandom second = HttpRandom.of(42L);
+        final HttpRandom other = HttpRandom.of(43L);
+
+        boolean differs = false;
+        for (int i = 0; i < 1000; i++) {
+            final double value = first.nextDouble();
+            assertThat(value).isGreaterThanOrEqualTo(0).isLessThan(1);
+            assertThat(second.nextDouble()).isEqualTo(value);
+            differs |= other.nextDouble() != value;
+        }
+        assertThat(differs).isTrue();
+    }
+
+    @Test
+    void seededIsUniform() {
+        final HttpRandom random = HttpRandom.of(7L);
+        int below = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (random.nextDouble() < 0.5) {
+                below++;
+            }
+        }
+        assertThat(below).isBetween(4_500, 5_500);
+    }
+}
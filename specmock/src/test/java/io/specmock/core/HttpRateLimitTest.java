@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class HttpRateLimitTest {
+    @Test
+    void burstThenRefill() {
+        final HttpRateLimit rateLimit = HttpRateLimit.of(10, 3);
+        final long now = System.nanoTime();
+
+        assertThat(rateLimit.tryAcquire(now)).isZero();
+        assertThat(rateLimit.tryAcquire(now)).isZero();
+        assertThat(rateLimit.tryAcquire(now)).isZero();
+        assertThat(rateLimit.tryAcquire(now)).isEqualTo(100_000_000L);
+
+        assertThat(rateLimit.tryAcquire(now + 100_000_000L)).isZero();
+        assertThat(rateLimit.tryAcquire(now + 100_000_000L)).isPositive();
+    }
+
+    @Test
+    void idleDoesNotAccumulateBeyondBurst() {
+        final HttpRateLimit rateLimit = HttpRateLimit.perSecond(1);
+        final long later = System.nanoTime() + Duration.ofMinutes(1).toNanos();
+
+        assertThat(rateLimit.tryAcquire(later)).isZero();
+        assertThat(rateLimit.tryAcquire(later)).isEqualTo(1_000_000_000L);
+    }
+
+    @Test
+    void concurrentAcquireAdmitsBurstOnly() throws Exception {
+        final HttpRateLimit rateLimit = HttpRateLimit.of(0.001, 100);
+        final AtomicInteger admitted = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Thread thread = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    if (rateLimit.tryAcquire() == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(admitted.get()).isEqualTo(100);
+    }
+
+    @Test
+    void retryAfter() {
+        assertThat(HttpRateLimit.perSecond(1).retryAfterSeconds(1)).isEqualTo(1);
+        assertThat(HttpRateLimit.perSecond(1).retryAfterSeconds(2_500_000_000L)).isEqualTo(3);
+        assertThat(HttpRateLimit.of(1, 1, HttpStatus.SERVICE_UNAVAILABLE, Duration.ofSeconds(30))
+                                .retryAfterSeconds(1)).isEqualTo(30);
+        assertThat(HttpRateLimit.perSecond(1).getRejectStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void invalid() {
+        assertThatThrownBy(() -> HttpRateLimit.perSecond(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HttpRateLimit.of(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class HttpRecorderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeBatches() throws Exception {
+        final HttpRecorder recorder = recorder(tempDir);
+        final HttpRoute route = HttpRoute.post("/example1/{id}");
+        recorder.capture(route, HttpExchange.builder()
+                                            .pathParamMap(Collections.singletonMap("id", "1"))
+                                            .requestObject(new ObjectMapper().readTree("{\"name\":\"kim\"}"))
+                                            .responseBody("{\"stringValue\":\"RES\"}".getBytes(
+                                                    StandardCharsets.UTF_8))
+                                            .build());
+        recorder.capture(route, HttpExchange.builder()
+                                            .pathParamMap(Collections.singletonMap("id", "2"))
+                                            .responseBody("plain text".getBytes(StandardCharsets.UTF_8))
+                                            .responseContentType("text/plain")
+                                            .build());
+        recorder.capture(HttpRoute.get("/example2"), HttpExchange.builder()
+                                                                 .responseStatus(HttpStatus.NOT_FOUND)
+                                                                 .responseBody(new byte[0])
+                                                                 .build());
+        recorder.close();
+
+        assertThat(recorder.getCapturedCount()).isEqualTo(3);
+        assertThat(recorder.getWrittenCount()).isEqualTo(3);
+        assertThat(Files.exists(tempDir.resolve("recorded-00000000000000000001.json"))).isTrue();
+        assertThat(Files.exists(tempDir.resolve("recorded-00000000000000000002.json"))).isTrue();
+
+        final List<HttpSpec> specs = HttpSpec.loader().load(tempDir);
+        assertThat(specs).hasSize(2);
+        final List<HttpExchange> exchanges = specs.get(0).getExchanges();
+        assertThat(exchanges).hasSize(2);
+        assertThat(exchanges.get(0).getPathParamMap()).containsEntry("id", "1");
+        assertThat(exchanges.get(0).getRequestObject()).hasToString("{\"name\":\"kim\"}");
+        assertThat(StandardCharsets.UTF_8.decode(exchanges.get(0).getResponseBody()).toString())
+                .isEqualTo("{\"stringValue\":\"RES\"}");
+        assertThat(exchanges.get(1).getResponseContentType()).isEqualTo("text/plain");
+        assertThat(StandardCharsets.UTF_8.decode(exchanges.get(1).getResponseBody()).toString())
+                .isEqualTo("plain text");
+
+        final HttpExchange notFound = specs.get(1).getExchanges().get(0);
+        assertThat(notFound.getResponseStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(notFound.getResponseBody().remaining()).isZero();
+    }
+
+    @Test
+    void continueNumbering() throws Exception {
+        final HttpRecorder first = recorder(tempDir);
+        first.capture(HttpRoute.get("/example1"), HttpExchange.builder().responseBody(new byte[0]).build());
+        first.close();
+
+        final HttpRecorder second = recorder(tempDir);
+        second.capture(HttpRoute.get("/example2"), HttpExchange.builder().responseBody(new byte[0]).build());
+        second.close();
+
+        assertThat(Files.exists(tempDir.resolve("recorded-00000000000000000002.json"))).isTrue();
+        assertThat(HttpSpec.loader().load(tempDir)).hasSize(2);
+    }
+
+    @Test
+    void writeFullBatchInBackground() throws Exception {
+        final HttpRecorder recorder = recorder(tempDir);
+        recorder.start();
+        recorder.capture(HttpRoute.get("/example1"), HttpExchange.builder().responseBody(new byte[0]).build());
+        recorder.capture(HttpRoute.get("/example2"), HttpExchange.builder().responseBody(new byte[0]).build());
+        for (int i = 0; i < 100 && recorder.getWrittenCount() < 2; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(recorder.getWrittenCount()).isEqualTo(2);
+        recorder.close();
+
+        // Once closed, full batches are only written by an explicit flush.
+        recorder.capture(HttpRoute.get("/example3"), HttpExchange.builder().responseBody(new byte[0]).build());
+        recorder.capture(HttpRoute.get("/example4"), HttpExchange.builder().responseBody(new byte[0]).build());
+        assertThat(recorder.getWrittenCount()).isEqualTo(2);
+        recorder.flush();
+        assertThat(recorder.getWrittenCount()).isEqualTo(4);
+    }
+
+    @Test
+    void reportBackgroundFailureOnClose() throws Exception {
+        final Path directory = tempDir.resolve("specs");
+        final HttpRecorder recorder = recorder(directory);
+        recorder.start();
+        // A file in place of the directory makes every spec file write fail.
+        Files.delete(directory);
+        Files.createFile(directory);
+        recorder.capture(HttpRoute.get("/example1"), HttpExchange.builder().responseBody(new byte[0]).build());
+        recorder.capture(HttpRoute.get("/example2"), HttpExchange.builder().responseBody(new byte[0]).build());
+
+        assertThatThrownBy(recorder::close).isInstanceOf(IOException.class);
+        assertThat(recorder.getWrittenCount()).isZero();
+    }
+
+    @Test
+    void requireUpstreamAndDirectory() {
+        assertThatThrownBy(() -> HttpRecorder.builder().directory(tempDir).build())
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> HttpRecorder.builder().upstream("http://localhost:18081").build())
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> HttpRecorder.builder().batchSize(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HttpRecorder recorder(Path directory) throws Exception {
+        return HttpRecorder.builder()
+                           .upstream("http://localhost:18081")
+                           .directory(directory)
+                           .batchSize(2)
+                           .flushInterval(Duration.ofHours(1))
+                           .build();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+class HttpResourceTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void createGeneratesIds() {
+        final HttpResource resource = HttpResource.of("id");
+
+        assertThat(resource.create(user(null, "kim", "blue")).get("id").asLong()).isEqualTo(1);
+        assertThat(resource.create(user(null, "lee", "blue")).get("id").asLong()).isEqualTo(2);
+        assertThat(resource.get("2").get("name").asText()).isEqualTo("lee");
+        assertThat(resource.size()).isEqualTo(2);
+    }
+
+    @Test
+    void createRejectsDuplicateId() {
+        final HttpResource resource = HttpResource.of("id");
+
+        assertThat(resource.create(user(1L, "kim", "blue"))).isNotNull();
+        assertThat(resource.create(user(1L, "lee", "red"))).isNull();
+        assertThat(resource.create(user(null, "park", "red")).get("id").asLong()).isEqualTo(2);
+        assertThat(resource.get("1").get("name").asText()).isEqualTo("kim");
+    }
+
+    @Test
+    void updateAndPatch() {
+        final HttpResource resource = HttpResource.of("id", "team");
+        resource.create(user(1L, "kim", "blue"));
+
+        assertThat(resource.update("1", user(null, "lee", "red")).get("id").asLong()).isEqualTo(1);
+        assertThat(resource.find(filter("team", "blue"))).isEmpty();
+        assertThat(resource.find(filter("team", "red"))).hasSize(1);
+
+        final ObjectNode patched = resource.patch("1", mapper.createObjectNode().put("team", "green"));
+        assertThat(patched.get("name").asText()).isEqualTo("lee");
+        assertThat(resource.find(filter("team", "green"))).hasSize(1);
+
+        assertThat(resource.update("2", user(null, "park", "red"))).isNull();
+        assertThat(resource.patch("2", user(null, "park", "red"))).isNull();
+    }
+
+    @Test
+    void delete() {
+        final HttpResource resource = HttpResource.of("id", "team");
+        resource.create(user(1L, "kim", "blue"));
+
+        assertThat(resource.delete("1")).isTrue();
+        assertThat(resource.delete("1")).isFalse();
+        assertThat(resource.get("1")).isNull();
+        assertThat(resource.find(filter("team", "blue"))).isEmpty();
+    }
+
+    @Test
+    void findByIndexedAndUnindexedFields() {
+        final HttpResource resource = HttpResource.of("id", "team");
+        for (long i = 1; i <= 100; i++) {
+            resource.create(user(i, "user" + i % 10, i % 2 == 0 ? "blue" : "red"));
+        }
+
+        assertThat(resource.find(filter("team", "blue"))).hasSize(50);
+        assertThat(resource.find(filter("name", "user3"))).hasSize(10);
+
+        final Map<String, String> both = filter("team", "red");
+        both.put("name", "user3");
+        assertThat(resource.find(both)).hasSize(10);
+        both.put("name", "user4");
+        assertThat(resource.find(both)).isEmpty();
+
+        assertThat(resource.find(Collections.emptyMap())).hasSize(100);
+        assertThat(resource.find(filter("team", "green"))).isEmpty();
+    }
+
+    @Test
+    void concurrentCreatesGetDistinctIds() {
+        final HttpResource resource = HttpResource.of("id", "team");
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    resource.create(user(null, "user", "blue"));
+                }
+            }));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        assertThat(resource.size()).isEqualTo(8000);
+        assertThat(resource.find(filter("team", "blue"))).hasSize(8000);
+    }
+
+    @Test
+    void returnedRecordsAreCopies() {
+        final HttpResource resource = HttpResource.of("id", "team");
+        resource.create(user(null, "kim", "blue")).put("team", "red");
+        resource.get("1").put("team", "red");
+        resource.update("1", user(null, "kim", "blue")).put("team", "red");
+        resource.patch("1", mapper.createObjectNode().put("name", "lee")).put("team", "red");
+        resource.find(filter("team", "blue")).get(0).put("team", "red");
+        resource.find(filter("name", "lee")).get(0).put("team", "red");
+
+        assertThat(resource.get("1").get("team").asText()).isEqualTo("blue");
+        assertThat(resource.find(filter("team", "blue"))).hasSize(1);
+        assertThat(resource.find(filter("team", "red"))).isEmpty();
+    }
+
+    @Test
+    void clear() {
+        final HttpResource resource = HttpResource.of("id", "team");
+        resource.create(user(null, "kim", "blue"));
+        resource.clear();
+
+        assertThat(resource.size()).isZero();
+        assertThat(resource.find(filter("team", "blue"))).isEmpty();
+        assertThat(resource.create(user(null, "lee", "blue")).get("id").asLong()).isEqualTo(1);
+    }
+
+    private ObjectNode user(Long id, String name, String team) {
+        final ObjectNode user = mapper.createObjectNode().put("name", name).put("team", team);
+        if (id != null) {
+            user.put("id", id);
+        }
+        return user;
+    }
+
+    private static Map<String, String> filter(String field, String value) {
+        final Map<String, String> filter = new HashMap<>();
+        filter.put(field, value);
+        return filter;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class HttpResponseCacheTest {
+    private static final String LARGE_BODY = largeBody();
+    private final HttpExchange large = HttpExchange.builder()
+                                                   .responseBody(LARGE_BODY.getBytes(StandardCharsets.UTF_8))
+                                                   .build();
+    private final HttpExchange small = HttpExchange.builder()
+                                                   .responseObject(Collections.singletonMap("key", "value"))
+                                                   .build();
+
+    @Test
+    void encodeOnce() {
+        final HttpResponseCache cache = new HttpResponseCache(Arrays.asList(large, small), new ObjectMapper(),
+                                                              false);
+
+        assertThat(toUtf8(cache.get(small).body(null))).isEqualTo("{\"key\":\"value\"}");
+        assertThat(cache.get(large).negotiate("gzip")).isNull();
+        assertThat(cache.get(HttpExchange.builder().build())).isNull();
+    }
+
+    @Test
+    void skipUnserializableResponse() {
+        final HttpExchange unserializable = HttpExchange.builder().responseObject(new Object()).build();
+        final HttpResponseCache cache = new HttpResponseCache(Collections.singletonList(unserializable),
+                                                              new ObjectMapper(), false);
+
+        assertThat(cache.get(unserializable)).isNull();
+    }
+
+    @Test
+    void compressedVariants() throws Exception {
+        final HttpResponseCache cache = new HttpResponseCache(Arrays.asList(large, small), new ObjectMapper(),
+                                                              true);
+        final HttpResponseCache.Entry entry = cache.get(large);
+
+        assertThat(entry.isEncoded()).isTrue();
+        assertThat(decode(new GZIPInputStream(toStream(entry.body(HttpResponseCache.GZIP)))))
+                .isEqualTo(LARGE_BODY);
+        assertThat(decode(new InflaterInputStream(toStream(entry.body(HttpResponseCache.DEFLATE)))))
+                .isEqualTo(LARGE_BODY);
+        assertThat(entry.body(HttpResponseCache.GZIP).remaining()).isLessThan(LARGE_BODY.length());
+
+        // Each content coding is a representation with a strong entity tag of its own.
+        assertThat(entry.etag(HttpResponseCache.GZIP)).isNotEqualTo(entry.etag(null));
+        assertThat(entry.etag(HttpResponseCache.DEFLATE)).isNotEqualTo(entry.etag(null))
+                                                          .isNotEqualTo(entry.etag(HttpResponseCache.GZIP));
+
+        // Bodies too small to benefit are never compressed.
+        assertThat(cache.get(small).isEncoded()).isFalse();
+        assertThat(cache.get(small).negotiate("gzip")).isNull();
+    }
+
+    @Test
+    void skipIncompressibleBody() {
+        final byte[] random = new byte[2048];
+        new Random(0).nextBytes(random);
+        final HttpExchange incompressible = HttpExchange.builder().responseBody(random).build();
+        final HttpResponseCache.Entry entry =
+                new HttpResponseCache(Collections.singletonList(incompressible), new ObjectMapper(), true)
+                        .get(incompressible);
+
+        assertThat(entry.isEncoded()).isFalse();
+        assertThat(entry.negotiate("gzip, deflate")).isNull();
+        assertThat(entry.body(null).remaining()).isEqualTo(random.length);
+    }
+
+    @Test
+    void negotiate() {
+        final HttpResponseCache.Entry entry =
+                new HttpResponseCache(Collections.singletonList(large), new ObjectMapper(), true).get(large);
+
+        assertThat(entry.negotiate(null)).isNull();
+        assertThat(entry.negotiate("identity")).isNull();
+        assertThat(entry.negotiate("br")).isNull();
+        assertThat(entry.negotiate("gzip")).isEqualTo(HttpResponseCache.GZIP);
+        assertThat(entry.negotiate("x-gzip")).isEqualTo(HttpResponseCache.GZIP);
+        assertThat(entry.negotiate("deflate")).isEqualTo(HttpResponseCache.DEFLATE);
+        assertThat(entry.negotiate("gzip, deflate, br")).isEqualTo(HttpResponseCache.GZIP);
+        assertThat(entry.negotiate("gzip;q=0.5, deflate")).isEqualTo(HttpResponseCache.DEFLATE);
+        assertThat(entry.negotiate("gzip;q=0, *")).isEqualTo(HttpResponseCache.DEFLATE);
+        assertThat(entry.negotiate("*")).isEqualTo(HttpResponseCache.GZIP);
+        assertThat(entry.negotiate("*;q=0")).isNull();
+        assertThat(entry.negotiate("deflate;q=invalid")).isNull();
+    }
+
+    private static String largeBody() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < 200; i++) {
+            builder.append("{\"stringValue\":\"SUCCESS\"},");
+        }
+        return builder.append("{}]").toString();
+    }
+
+    private static InputStream toStream(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private static String decode(InputStream in) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] chunk = new byte[4096];
+        for (int read = in.read(chunk); read >= 0; read = in.read(chunk)) {
+            out.write(chunk, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String toUtf8(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.specmock.core.example.Example1Response;
+
+class HttpResponseStreamTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void emptyArray() throws Exception {
+        assertThat(read(HttpResponseStream.jsonArray(0, i -> new Example1Response("R" + i)), 8192))
+                .isEqualTo("[]");
+    }
+
+    @Test
+    void generateElementsInChunks() throws Exception {
+        final HttpResponseStream stream = HttpResponseStream.jsonArray(3, i -> new Example1Response("R" + i));
+
+        assertThat(stream.getSize()).isEqualTo(3);
+        assertThat(read(stream, 1)).isEqualTo(
+                "[{\"stringValue\":\"R0\"},{\"stringValue\":\"R1\"},{\"stringValue\":\"R2\"}]");
+    }
+
+    @Test
+    void chunkSizeBoundsEachChunk() throws Exception {
+        final HttpResponseStream.Cursor cursor =
+                HttpResponseStream.jsonArray(10_000, i -> new Example1Response("R" + i)).open(mapper);
+
+        int chunks = 0;
+        for (byte[] chunk = cursor.next(1024); chunk != null; chunk = cursor.next(1024)) {
+            assertThat(chunk.length).isLessThan(1024 + 64);
+            chunks++;
+        }
+        assertThat(chunks).isGreaterThan(100);
+    }
+
+    private String read(HttpResponseStream stream, int chunkSize) throws Exception {
+        final HttpResponseStream.Cursor cursor = stream.open(mapper);
+        final StringBuilder body = new StringBuilder();
+        for (byte[] chunk = cursor.next(chunkSize); chunk != null; chunk = cursor.next(chunkSize)) {
+            body.append(new String(chunk, StandardCharsets.UTF_8));
+        }
+        return body.toString();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class HttpScenarioTest {
+    @Test
+    void transition() {
+        final HttpScenario scenario = HttpScenario.of("cart");
+
+        assertThat(scenario.getName()).isEqualTo("cart");
+        assertThat(scenario.getState()).isEqualTo(HttpScenario.STARTED);
+        assertThat(scenario.transition(HttpScenario.STARTED, "Item Added")).isTrue();
+        assertThat(scenario.transition(HttpScenario.STARTED, "Item Added")).isFalse();
+        assertThat(scenario.transition(new String("Item Added"), "Checked Out")).isTrue();
+        assertThat(scenario.transition(null, "Abandoned")).isTrue();
+        assertThat(scenario.getState()).isEqualTo("Abandoned");
+
+        scenario.setState("Item Added");
+        assertThat(scenario.getState()).isEqualTo("Item Added");
+        scenario.reset();
+        assertThat(scenario.getState()).isEqualTo(HttpScenario.STARTED);
+    }
+
+    @Test
+    void concurrentTransitionHappensOnce() throws Exception {
+        final HttpScenario scenario = HttpScenario.of("race");
+        final AtomicInteger transitions = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Thread thread = new Thread(() -> {
+                if (scenario.transition(HttpScenario.STARTED, "Done")) {
+                    transitions.incrementAndGet();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(transitions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void exchangeMatchesRequiredState() {
+        final HttpScenario scenario = HttpScenario.of("cart");
+        final HttpExchange exchange = HttpExchange.builder()
+                                                  .scenario(scenario, "Item Added", "Checked Out")
+                                                  .build();
+
+        assertThat(exchange.getScenario()).isSameAs(scenario);
+        assertThat(exchange.getRequiredState()).isEqualTo("Item Added");
+        assertThat(exchange.getNewState()).isEqualTo("Checked Out");
+        assertThat(exchange.isNotMatchScenario()).isTrue();
+        scenario.setState("Item Added");
+        assertThat(exchange.isNotMatchScenario()).isFalse();
+        assertThat(HttpExchange.builder().scenario(scenario, null).build().isNotMatchScenario()).isFalse();
+        assertThat(HttpExchange.builder().build().isNotMatchScenario()).isFalse();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class HttpSequenceTest {
+    @Test
+    void cyclic() {
+        final HttpSequence sequence = HttpSequence.of(HttpSequenceMode.CYCLIC);
+
+        assertThat(sequence.getMode()).isEqualTo(HttpSequenceMode.CYCLIC);
+        assertThat(sequence.index(sequence.take(null), 3)).isEqualTo(0);
+        assertThat(sequence.index(sequence.take(null), 3)).isEqualTo(1);
+        assertThat(sequence.index(sequence.take(null), 3)).isEqualTo(2);
+        assertThat(sequence.index(sequence.take(null), 3)).isEqualTo(0);
+    }
+
+    @Test
+    void stickAtLast() {
+        final HttpSequence sequence = HttpSequence.of(HttpSequenceMode.STICK_AT_LAST);
+
+        assertThat(sequence.index(sequence.take(null), 2)).isEqualTo(0);
+        assertThat(sequence.index(sequence.take(null), 2)).isEqualTo(1);
+        assertThat(sequence.index(sequence.take(null), 2)).isEqualTo(1);
+    }
+
+    @Test
+    void perClient() {
+        final HttpSequence sequence = HttpSequence.of(HttpSequenceMode.STICK_AT_LAST, "x-client-id");
+
+        assertThat(sequence.getClientKeyHeader()).isEqualTo("x-client-id");
+        assertThat(sequence.index(sequence.take("a"), 3)).isEqualTo(0);
+        assertThat(sequence.index(sequence.take("a"), 3)).isEqualTo(1);
+        assertThat(sequence.index(sequence.take("b"), 3)).isEqualTo(0);
+        assertThat(sequence.index(sequence.take(null), 3)).isEqualTo(0);
+
+        sequence.reset("a");
+        assertThat(sequence.index(sequence.take("a"), 3)).isEqualTo(0);
+        assertThat(sequence.index(sequence.take("b"), 3)).isEqualTo(1);
+    }
+
+    @Test
+    void reset() {
+        final HttpSequence sequence = HttpSequence.of(HttpSequenceMode.CYCLIC, "x-client-id");
+        sequence.take(null);
+        sequence.take("a");
+
+        sequence.reset();
+        assertThat(sequence.index(sequence.take(null), 3)).isEqualTo(0);
+        assertThat(sequence.index(sequence.take("a"), 3)).isEqualTo(0);
+    }
+}
@@ -19,6 +19,7 @@ package io.specmock.core;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
+import java.time.Duration;
 import java.util.Collections;
 
 import org.junit.jupiter.api.Test;
@@ -67,4 +68,15 @@ class HttpSpecBuilderTest {
                                       .build();
         assertThat(spec.getExchanges()).hasSize(1);
     }
+
+    @Test
+    void delay() {
+        final HttpDelay delay = HttpDelay.fixed(Duration.ofMillis(10));
+        final HttpSpec spec = HttpSpec.builder()
+                                      .route(HttpRoute.get("/test"))
+                                      .delay(delay)
+                                      .build();
+        assertThat(spec.getDelay()).isSameAs(delay);
+        assertThat(HttpSpec.builder().route(HttpRoute.get("/test")).build().getDelay()).isNull();
+    }
 }
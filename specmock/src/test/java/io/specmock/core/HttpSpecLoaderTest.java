@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class HttpSpecLoaderTest {
+    private static final String JSON_SPEC =
+            "{\"specs\":[{\"method\":\"POST\",\"path\":\"/example1\",\"exchanges\":[" +
+            "{\"headers\":{\"x-tenant\":\"specmock\"},\"request\":{\"stringValue\":\"REQ\"}," +
+            "\"status\":201,\"response\":{\"stringValue\":\"RES\"}}]}]}";
+    private static final String YAML_SPEC =
+            "specs:\n" +
+            "  - method: POST\n" +
+            "    path: /example1\n" +
+            "    exchanges:\n" +
+            "      - queryParams:\n" +
+            "          page: 0\n" +
+            "        response:\n" +
+            "          stringValue: YAML\n" +
+            "  - method: GET\n" +
+            "    path: /example2\n" +
+            "    exchanges: []\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void loadJsonFile() throws Exception {
+        final Path file = write("example.json", JSON_SPEC);
+
+        final List<HttpSpec> specs = HttpSpec.loader().load(file);
+
+        assertThat(specs).hasSize(1);
+        assertThat(specs.get(0).getRoute().getMethod()).isEqualTo(HttpMethod.POST);
+        assertThat(specs.get(0).getRoute().getPath()).isEqualTo("/example1");
+
+        final HttpExchange exchange = specs.get(0).getExchanges().get(0);
+        assertThat(exchange.getResponseStatus()).isEqualTo(HttpStatus.CREATED);
+        assertThat(exchange.getRequestObject())
+                .isEqualTo(new ObjectMapper().readTree("{\"stringValue\":\"REQ\"}"));
+        assertThat(exchange.getResponseObject()).isNull();
+        assertThat(toUtf8(exchange.getResponseBody())).isEqualTo("{\"stringValue\":\"RES\"}");
+    }
+
+    @Test
+    void loadDirectoryMergesSameRoute() throws Exception {
+        write("a.json", JSON_SPEC);
+        write("b.yaml", YAML_SPEC);
+        write("ignored.txt", "not a spec");
+
+        final List<HttpSpec> specs = HttpSpec.loader().load(tempDir);
+
+        assertThat(specs).hasSize(2);
+        assertThat(specs.get(0).getExchanges()).hasSize(2);
+        assertThat(toUtf8(specs.get(0).getExchanges().get(1).getResponseBody()))
+                .isEqualTo("{\"stringValue\":\"YAML\"}");
+        assertThat(specs.get(0).getExchanges().get(1).isNotMatchQueryParam(
+                Collections.singletonMap("page", "0"))).isFalse();
+        assertThat(specs.get(1).getRoute().getPath()).isEqualTo("/example2");
+        assertThat(specs.get(1).getExchanges()).isEmpty();
+    }
+
+    @Test
+    void loadEmptyFile() throws Exception {
+        assertThat(HttpSpec.loader().load(write("empty.json", ""))).isEmpty();
+    }
+
+    @Test
+    void loadLatencyProfile() throws Exception {
+        write("latency.hgrm", "       Value     Percentile TotalCount 1/(1-Percentile)\n\n" +
+                              "      20.000 1.000000000000          1            inf\n");
+        final Path file = write("latency.json",
+                                "{\"specs\":[{\"method\":\"GET\",\"path\":\"/example2\"," +
+                                "\"latencyProfile\":\"latency.hgrm\",\"exchanges\":[{\"response\":{}}," +
+                                "{\"latencyProfile\":\"latency.hgrm\",\"response\":{}}]}]}");
+
+        final HttpSpec spec = HttpSpec.loader().load(file).get(0);
+
+        assertThat(spec.getDelay().sampleNanos()).isEqualTo(20_000_000L);
+        assertThat(spec.getExchanges().get(0).getDelay()).isNull();
+        assertThat(spec.getExchanges().get(1).getDelay().sampleNanos()).isEqualTo(20_000_000L);
+    }
+
+    @Test
+    void loadScenario() throws Exception {
+        final Path file = write("scenario.json",
+                                "{\"specs\":[{\"method\":\"POST\",\"path\":\"/cart\",\"exchanges\":[" +
+                                "{\"scenario\":\"cart\",\"requiredState\":\"Started\"," +
+                                "\"newState\":\"Item Added\",\"response\":{}}]}," +
+                                "{\"method\":\"GET\",\"path\":\"/cart\",\"exchanges\":[" +
+                                "{\"scenario\":\"cart\",\"requiredState\":\"Item Added\",\"response\":{}}]}]}");
+        final HttpSpecLoader loader = HttpSpec.loader();
+
+        final List<HttpSpec> specs = loader.load(file);
+
+        final HttpScenario scenario = loader.getScenario("cart");
+        assertThat(specs.get(0).getExchanges().get(0).getScenario()).isSameAs(scenario);
+        assertThat(specs.get(0).getExchanges().get(0).getNewState()).isEqualTo("Item Added");
+        assertThat(specs.get(1).getExchanges().get(0).getScenario()).isSameAs(scenario);
+        assertThat(specs.get(1).getExchanges().get(0).getRequiredState()).isEqualTo("Item Added");
+        assertThat(loader.getScenario("unknown")).isNull();
+    }
+
+    @Test
+    void loadMalformedFile() throws Exception {
+        final Path noRoute = write("no-route.json", "{\"specs\":[{\"exchanges\":[]}]}");
+        assertThatThrownBy(() -> HttpSpec.loader().load(noRoute)).isInstanceOf(JsonParseException.class);
+
+        final Path notObject = write("not-object.json", "[]");
+        assertThatThrownBy(() -> HttpSpec.loader().load(notObject)).isInstanceOf(JsonParseException.class);
+    }
+
+    private Path write(String fileName, String content) throws Exception {
+        return Files.write(tempDir.resolve(fileName), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toUtf8(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
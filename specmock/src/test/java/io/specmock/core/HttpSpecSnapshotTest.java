@@ -0,0 +1,217 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.specmock.core.example.Example1Request;
+import io.specmock.core.example.Example1Response;
+
+class HttpSpecSnapshotTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compileAndLoad() throws Exception {
+        final List<HttpSpec> specs = Arrays.asList(
+                HttpSpec.builder()
+                        .route(HttpRoute.post("/example1"))
+                        .exchanges(
+                                HttpExchange.builder()
+                                            .headerMap(Collections.singletonMap("x-tenant", "specmock"))
+                                            .requestObject(new Example1Request("REQ", 1, 1L, BigDecimal.ONE))
+                                            .responseStatus(HttpStatus.CREATED)
+                                            .responseObject(new Example1Response("RES"))
+                                            .build(),
+                                HttpExchange.builder()
+                                            .responseBody("[1,2,3]".getBytes(StandardCharsets.UTF_8))
+                                            .responseContentType("text/plain")
+                                            .build()
+                        )
+                        .build(),
+                HttpSpec.builder().route(HttpRoute.get("/example2/{id}")).build()
+        );
+        final Path file = tempDir.resolve("specs.bin");
+
+        HttpSpecSnapshot.compile(specs, file);
+        final List<HttpSpec> loaded = HttpSpecSnapshot.load(file);
+
+        assertThat(loaded).hasSize(2);
+        assertThat(loaded.get(0).getRoute().getMethod()).isEqualTo(HttpMethod.POST);
+        assertThat(loaded.get(0).getRoute().getPath()).isEqualTo("/example1");
+        assertThat(loaded.get(1).getRoute().getPath()).isEqualTo("/example2/{id}");
+        assertThat(loaded.get(1).getExchanges()).isEmpty();
+
+        final HttpExchange first = loaded.get(0).getExchanges().get(0);
+        assertThat(first.getHeaderMap()).containsEntry("x-tenant", "specmock");
+        assertThat(first.getResponseStatus()).isEqualTo(HttpStatus.CREATED);
+        assertThat(first.getRequestObject()).isInstanceOf(Example1Request.class);
+        final Example1Request request = (Example1Request) first.getRequestObject();
+        assertThat(request.getStringValue()).isEqualTo("REQ");
+        assertThat(request.getBigDecimalValue()).isEqualTo(BigDecimal.ONE);
+        assertThat(toUtf8(first.getResponseBody())).isEqualTo("{\"stringValue\":\"RES\"}");
+        assertThat(first.getResponseContentType()).isNull();
+
+        final HttpExchange second = loaded.get(0).getExchanges().get(1);
+        assertThat(second.getRequestObject()).isNull();
+        assertThat(toUtf8(second.getResponseBody())).isEqualTo("[1,2,3]");
+        assertThat(second.getResponseContentType()).isEqualTo("text/plain");
+    }
+
+    @Test
+    void compileAndLoadSharedObjects() throws Exception {
+        final HttpScenario scenario = HttpScenario.of("login");
+        final HttpRateLimit rateLimit = HttpRateLimit.of(5, 3, HttpStatus.SERVICE_UNAVAILABLE,
+                                                         Duration.ofSeconds(2));
+        final HttpResource resource = HttpResource.of("id", "team");
+        resource.create(new ObjectMapper().createObjectNode().put("team", "core"));
+        final List<HttpSpec> specs = Arrays.asList(
+                HttpSpec.builder()
+                        .route(HttpRoute.get("/example1"))
+                        .delay(HttpDelay.logNormal(Duration.ofMillis(5), 0.5))
+                        .rateLimit(rateLimit)
+                        .concurrencyLimit(HttpConcurrencyLimit.of(4))
+                        .seed(42)
+                        .sequence(HttpSequence.of(HttpSequenceMode.CYCLIC, "x-client"))
+                        .exchange(HttpExchange.builder()
+                                              .responseObject(new Example1Response("RES"))
+                                              .delay(Duration.ofMillis(1))
+                                              .bandwidth(HttpBandwidth.drip(3, Duration.ofMillis(7)))
+                                              .fault(HttpFault.of(HttpFaultType.STALL, 0.25))
+                                              .weight(2)
+                                              .scenario(scenario, HttpScenario.STARTED, "LOGGED_IN")
+                                              .build())
+                        .build(),
+                HttpSpec.builder()
+                        .route(HttpRoute.post("/example2"))
+                        .rateLimit(rateLimit)
+                        .resource(resource)
+                        .exchange(HttpExchange.builder()
+                                              .responseObject(new Example1Response("RES"))
+                                              .scenario(scenario, null)
+                                              .build())
+                        .build()
+        );
+        final Path file = tempDir.resolve("specs.bin");
+
+        HttpSpecSnapshot.compile(specs, file);
+        final List<HttpSpec> loaded = HttpSpecSnapshot.load(file);
+
+        final HttpSpec first = loaded.get(0);
+        final HttpSpec second = loaded.get(1);
+        assertThat(first.getDelay().kind()).isEqualTo(HttpDelay.LOG_NORMAL);
+        assertThat(first.getDelay().parameters()).containsExactly(0.5);
+        assertThat(first.getRateLimit()).isSameAs(second.getRateLimit());
+        assertThat(first.getRateLimit().emissionIntervalNanos()).isEqualTo(200_000_000L);
+        assertThat(first.getRateLimit().toleranceNanos()).isEqualTo(600_000_000L);
+        assertThat(first.getRateLimit().getRejectStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(first.getRateLimit().retryAfter()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(first.getConcurrencyLimit().maxInFlight()).isEqualTo(4);
+        assertThat(first.getConcurrencyLimit().retryAfter()).isNull();
+        assertThat(first.getSeed()).isEqualTo(42L);
+        assertThat(first.getSequence().getMode()).isEqualTo(HttpSequenceMode.CYCLIC);
+        assertThat(first.getSequence().getClientKeyHeader()).isEqualTo("x-client");
+        assertThat(second.getDelay()).isNull();
+        assertThat(second.getSeed()).isNull();
+        assertThat(second.getResource().getIndexedFields()).containsExactly("team");
+        assertThat(second.getResource().find(Collections.singletonMap("team", "core"))).hasSize(1);
+
+        final HttpExchange firstExchange = first.getExchanges().get(0);
+        final HttpExchange secondExchange = second.getExchanges().get(0);
+        assertThat(firstExchange.getDelay().sampleNanos()).isEqualTo(1_000_000L);
+        assertThat(firstExchange.getBandwidth().chunkSize()).isEqualTo(3);
+        assertThat(firstExchange.getBandwidth().dripIntervalNanos()).isEqualTo(7_000_000L);
+        assertThat(firstExchange.getFault().getType()).isEqualTo(HttpFaultType.STALL);
+        assertThat(firstExchange.getFault().getProbability()).isEqualTo(0.25);
+        assertThat(firstExchange.getWeight()).isEqualTo(2.0);
+        assertThat(firstExchange.getScenario()).isSameAs(secondExchange.getScenario());
+        assertThat(firstExchange.getScenario().getName()).isEqualTo("login");
+        assertThat(firstExchange.getRequiredState()).isEqualTo(HttpScenario.STARTED);
+        assertThat(firstExchange.getNewState()).isEqualTo("LOGGED_IN");
+        assertThat(secondExchange.getRequiredState()).isNull();
+        assertThat(secondExchange.getWeight()).isZero();
+        assertThat(secondExchange.getBandwidth()).isNull();
+    }
+
+    @Test
+    void loadInvalidFile() throws Exception {
+        final Path notSnapshot = Files.write(tempDir.resolve("invalid.bin"),
+                                             "not a snapshot".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> HttpSpecSnapshot.load(notSnapshot)).isInstanceOf(IOException.class);
+
+        final Path unknownVersion = tempDir.resolve("version.bin");
+        Files.write(unknownVersion, ByteBuffer.allocate(12).putInt(0x53504d4b).putInt(99).array());
+        assertThatThrownBy(() -> HttpSpecSnapshot.load(unknownVersion)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void loadUnknownRequestClass() throws Exception {
+        final Path file = tempDir.resolve("specs.bin");
+        HttpSpecSnapshot.compile(Collections.singletonList(
+                HttpSpec.builder()
+                        .route(HttpRoute.post("/example1"))
+                        .exchange(HttpExchange.builder()
+                                              .requestObject(new Example1Request("REQ", 1, 1L, BigDecimal.ONE))
+                                              .build())
+                        .build()), file);
+        final String className = Example1Request.class.getName();
+        final byte[] bytes = Files.readAllBytes(file);
+        final int offset = new String(bytes, StandardCharsets.ISO_8859_1).indexOf(className);
+        bytes[offset + className.length() - "1Request".length()] = '9';
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> HttpSpecSnapshot.load(file)).isInstanceOf(IOException.class)
+                                                             .hasMessageContaining("Example9Request");
+    }
+
+    @Test
+    void compileStreamedResponse() {
+        final List<HttpSpec> specs = Collections.singletonList(
+                HttpSpec.builder()
+                        .route(HttpRoute.get("/export"))
+                        .exchange(HttpExchange.builder()
+                                              .responseStream(HttpResponseStream.jsonArray(1, i -> i))
+                                              .build())
+                        .build());
+
+        assertThatThrownBy(() -> HttpSpecSnapshot.compile(specs, tempDir.resolve("streamed.bin")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String toUtf8(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.specmock.core.example.Example1Response;
+
+class HttpStateSnapshotTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void saveAndRestore() throws Exception {
+        final Fixture saved = new Fixture();
+        saved.users.create(mapper.createObjectNode().put("name", "kim").put("team", "blue"));
+        saved.users.create(mapper.createObjectNode().put("name", "lee").put("team", "red"));
+        saved.cart.setState("Item Added");
+        saved.sequence.take(null);
+        saved.sequence.take("client-a");
+        saved.sequence.take("client-a");
+
+        final Path file = tempDir.resolve("state.bin");
+        HttpStateSnapshot.save(saved.specs, file);
+
+        final Fixture restored = new Fixture();
+        restored.users.create(mapper.createObjectNode().put("name", "stale"));
+        HttpStateSnapshot.restore(restored.specs, file);
+
+        assertThat(restored.users.size()).isEqualTo(2);
+        assertThat(restored.users.get("2").get("name").asText()).isEqualTo("lee");
+        assertThat(restored.users.find(Collections.singletonMap("team", "blue"))).hasSize(1);
+        assertThat(restored.users.create(mapper.createObjectNode()).get("id").asLong()).isEqualTo(3);
+        assertThat(restored.cart.getState()).isEqualTo("Item Added");
+        assertThat(restored.sequence.take(null)).isEqualTo(1);
+        assertThat(restored.sequence.take("client-a")).isEqualTo(2);
+        assertThat(restored.sequence.take("client-b")).isZero();
+    }
+
+    @Test
+    void saveWhileChanging() throws Exception {
+        final Fixture fixture = new Fixture();
+        for (int i = 0; i < 10000; i++) {
+            fixture.users.create(mapper.createObjectNode().put("team", "blue"));
+        }
+        final CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 10000; i++) {
+                fixture.users.create(mapper.createObjectNode().put("team", "red"));
+                fixture.users.delete(String.valueOf(i + 1));
+            }
+        });
+        final Path file = tempDir.resolve("state.bin");
+        HttpStateSnapshot.save(fixture.specs, file);
+        writer.join();
+
+        final Fixture restored = new Fixture();
+        HttpStateSnapshot.restore(restored.specs, file);
+        final int size = restored.users.size();
+        assertThat(size).isBetween(0, 20000);
+        assertThat(restored.users.find(Collections.singletonMap("team", "blue")).size() +
+                   restored.users.find(Collections.singletonMap("team", "red")).size()).isEqualTo(size);
+    }
+
+    @Test
+    void restoreSkipsUnknownState() throws Exception {
+        final Fixture saved = new Fixture();
+        saved.users.create(mapper.createObjectNode().put("name", "kim"));
+        final Path file = tempDir.resolve("state.bin");
+        HttpStateSnapshot.save(saved.specs, file);
+
+        final HttpResource other = HttpResource.of("id");
+        HttpStateSnapshot.restore(Collections.singletonList(HttpSpec.builder()
+                                                                    .route(HttpRoute.post("/others"))
+                                                                    .resource(other)
+                                                                    .build()), file);
+        assertThat(other.size()).isZero();
+    }
+
+    @Test
+    void restoreInvalidFile() throws Exception {
+        final Path file = tempDir.resolve("state.bin");
+        Files.write(file, new byte[] { 1, 2, 3 });
+
+        assertThatThrownBy(() -> HttpStateSnapshot.restore(new Fixture().specs, file))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static final class Fixture {
+        private final HttpResource users = HttpResource.of("id", "team");
+        private final HttpScenario cart = HttpScenario.of("cart");
+        private final HttpSequence sequence = HttpSequence.of(HttpSequenceMode.CYCLIC, "x-client");
+        private final List<HttpSpec> specs = Arrays.asList(
+                HttpSpec.builder()
+                        .route(HttpRoute.post("/users"))
+                        .resource(users)
+                        .build(),
+                HttpSpec.builder()
+                        .route(HttpRoute.get("/users/{id}"))
+                        .resource(users)
+                        .build(),
+                HttpSpec.builder()
+                        .route(HttpRoute.get("/cart"))
+                        .exchange(HttpExchange.builder()
+                                              .responseObject(new Example1Response("CART"))
+                                              .scenario(cart, HttpScenario.STARTED)
+                                              .build())
+                        .sequence(sequence)
+                        .build());
+    }
+}
@@ -17,6 +17,7 @@
 package io.specmock.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.jupiter.api.Test;
 
@@ -25,4 +26,10 @@ class HttpStatusTest {
     void name() {
         assertThat(HttpStatus.OK.getReasonPhrase()).isEqualTo("OK");
     }
+
+    @Test
+    void ofCode() {
+        assertThat(HttpStatus.of(404)).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThatThrownBy(() -> HttpStatus.of(999)).isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.linecorp.armeria.client.WebClient;
+
+import io.specmock.core.example.Example1Response;
+
+class JournalLogTest {
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void persistRequests() throws Exception {
+        final HttpJournalLog journalLog = HttpJournalLog.builder()
+                                                        .directory(tempDir)
+                                                        .flushInterval(Duration.ofMillis(10))
+                                                        .build();
+        final HttpSpecServer specServer = HttpSpecServer.builder()
+                                                        .port(18080)
+                                                        .spec(HttpSpec.builder()
+                                                                      .route(HttpRoute.post("/example1"))
+                                                                      .exchange(exchange())
+                                                                      .build())
+                                                        .journalLog(journalLog)
+                                                        .build();
+        specServer.start();
+        for (int i = 0; i < 5; i++) {
+            webClient.post("/example1", "{\"index\":" + i + '}').aggregate().join();
+        }
+        specServer.terminate();
+
+        final HttpJournalLogReader reader = HttpJournalLog.reader(tempDir);
+        int count = 0;
+        while (reader.hasNext()) {
+            assertThat(reader.next().getBodyUtf8()).isEqualTo("{\"index\":" + count + '}');
+            count++;
+        }
+        assertThat(count).isEqualTo(5);
+        assertThat(specServer.getJournal().size()).isEqualTo(5);
+    }
+
+    private static HttpExchange exchange() {
+        return HttpExchange.builder()
+                           .responseObject(new Example1Response("SUCCESS"))
+                           .build();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.RequestHeaders;
+
+import io.specmock.core.example.Example1Response;
+
+class JournalTest {
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpExchange exchange = HttpExchange.builder()
+                                                      .pathParamMap(Collections.singletonMap("id", "1"))
+                                                      .responseObject(new Example1Response("SUCCESS"))
+                                                      .build();
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.post("/example1/{id}"))
+                                                 .exchange(exchange)
+                                                 .build())
+                                   .journal(HttpJournal.of(100))
+                                   .journalExportPath("/_specmock/journal")
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void recordRequests() {
+        webClient.execute(RequestHeaders.builder(HttpMethod.POST, "/example1/1?page=2")
+                                        .add("x-tenant", "specmock")
+                                        .build(), "{\"name\":\"kim\"}")
+                 .aggregate().join();
+        webClient.post("/example1/2", "").aggregate().join();
+
+        final List<HttpJournalEntry> entries = specServer.getJournal().entries();
+        assertThat(entries).hasSize(2);
+
+        final HttpJournalEntry matched = entries.get(0);
+        assertThat(matched.getMethod()).isEqualTo(io.specmock.core.HttpMethod.POST);
+        assertThat(matched.getPath()).isEqualTo("/example1/1");
+        assertThat(matched.getRoute().getPath()).isEqualTo("/example1/{id}");
+        assertThat(matched.getPathParams()).containsEntry("id", "1");
+        assertThat(matched.getQueryParams()).containsEntry("page", "2");
+        assertThat(matched.getHeaders()).containsEntry("x-tenant", "specmock");
+        assertThat(matched.getBodyUtf8()).isEqualTo("{\"name\":\"kim\"}");
+        assertThat(matched.getExchange()).isSameAs(exchange);
+        assertThat(matched.getDurationNanos()).isPositive();
+
+        assertThat(entries.get(1).getExchange()).isNull();
+    }
+
+    @Test
+    void exportJournal() throws IOException {
+        webClient.post("/example1/1", "{\"name\":\"kim\"}").aggregate().join();
+        webClient.post("/example1/2", "").aggregate().join();
+
+        final String ndjson = webClient.get("/_specmock/journal").aggregate().join().contentUtf8();
+        assertThat(ndjson.split("\n")).hasSize(2);
+        assertThat(mapper.readTree(ndjson.split("\n")[0]).get("path").asText()).isEqualTo("/example1/1");
+
+        final JsonNode har = mapper.readTree(webClient.get("/_specmock/journal?format=har")
+                                                      .aggregate().join().contentUtf8());
+        assertThat(har.at("/log/entries")).hasSize(2);
+        assertThat(har.at("/log/entries/0/response/status").asInt()).isEqualTo(HttpStatus.OK.getCode());
+
+        assertThat(webClient.get("/_specmock/journal?format=xml").aggregate().join().status().code())
+                .isEqualTo(HttpStatus.BAD_REQUEST.getCode());
+    }
+
+    @Test
+    void exportJournalToFile(@TempDir Path directory) throws IOException {
+        webClient.post("/example1/1", "").aggregate().join();
+
+        final Path file = directory.resolve("journal.har");
+        specServer.exportJournal(file, HttpJournalFormat.HAR);
+        assertThat(mapper.readTree(file.toFile()).at("/log/entries/0/request/method").asText())
+                .isEqualTo("POST");
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpStatus;
+
+import io.specmock.core.example.Example1Response;
+
+class LimitTest {
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/rate"))
+                                                 .rateLimit(HttpRateLimit.of(0.1, 2))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .responseObject(
+                                                                               new Example1Response("RATE"))
+                                                                       .build())
+                                                 .build())
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/concurrency"))
+                                                 .concurrencyLimit(HttpConcurrencyLimit.of(1))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .responseObject(
+                                                                               new Example1Response("SLOW"))
+                                                                       .delay(Duration.ofMillis(500))
+                                                                       .build())
+                                                 .build())
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/both"))
+                                                 .rateLimit(HttpRateLimit.of(0.1, 2))
+                                                 .concurrencyLimit(HttpConcurrencyLimit.of(1))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .responseObject(
+                                                                               new Example1Response("BOTH"))
+                                                                       .delay(Duration.ofMillis(500))
+                                                                       .build())
+                                                 .build())
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void rateLimit() {
+        assertThat(webClient.get("/rate").aggregate().join().status()).isEqualTo(HttpStatus.OK);
+        assertThat(webClient.get("/rate").aggregate().join().status()).isEqualTo(HttpStatus.OK);
+
+        final AggregatedHttpResponse rejected = webClient.get("/rate").aggregate().join();
+        assertThat(rejected.status()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(Long.parseLong(rejected.headers().get(HttpHeaderNames.RETRY_AFTER))).isBetween(1L, 10L);
+    }
+
+    @Test
+    void concurrencyLimit() {
+        final CompletableFuture<AggregatedHttpResponse> first = webClient.get("/concurrency").aggregate();
+        await(100);
+        final AggregatedHttpResponse second = webClient.get("/concurrency").aggregate().join();
+
+        assertThat(second.status()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(first.join().status()).isEqualTo(HttpStatus.OK);
+        await(100);
+        assertThat(webClient.get("/concurrency").aggregate().join().status()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void concurrencyRejectionKeepsRateQuota() {
+        final CompletableFuture<AggregatedHttpResponse> first = webClient.get("/both").aggregate();
+        await(100);
+        final AggregatedHttpResponse concurrent = webClient.get("/both").aggregate().join();
+        assertThat(concurrent.status()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(first.join().status()).isEqualTo(HttpStatus.OK);
+        await(100);
+
+        // The request rejected for concurrency did not use up the second slot of the burst.
+        assertThat(webClient.get("/both").aggregate().join().status()).isEqualTo(HttpStatus.OK);
+        assertThat(webClient.get("/both").aggregate().join().status()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
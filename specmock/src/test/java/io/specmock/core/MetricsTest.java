@@ -0,0 +1,167 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+
+import io.specmock.core.example.Example1Response;
+
+class MetricsTest {
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private final HttpExchange exchange = HttpExchange.builder()
+                                                      .pathParamMap(Collections.singletonMap("id", "1"))
+                                                      .requestObject(new ObjectMapper().createObjectNode()
+                                                                                       .put("stringValue",
+                                                                                            "REQ"))
+                                                      .responseObject(new Example1Response("RES"))
+                                                      .build();
+    private final HttpResponseStream brokenStream = HttpResponseStream.jsonArray(1, i -> {
+        throw new IllegalStateException("broken");
+    });
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.post("/example1/{id}"))
+                                                 .exchange(exchange)
+                                                 .build())
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/unavailable"))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .responseStatus(
+                                                                               HttpStatus.SERVICE_UNAVAILABLE)
+                                                                       .build())
+                                                 .build())
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/broken"))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .responseStream(brokenStream)
+                                                                       .build())
+                                                 .build())
+                                   // Shares its method and path with the first spec, so it is never routed to.
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.post("/example1/{id}"))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .pathParamMap(Collections.singletonMap(
+                                                                               "id", "2"))
+                                                                       .build())
+                                                 .build())
+                                   .metricsPath("/metrics")
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void routeMetrics() throws InterruptedException {
+        webClient.post("/example1/1", "{\"stringValue\":\"REQ\"}").aggregate().join();
+        webClient.post("/example1/1", "{\"stringValue\":\"REQ\"}").aggregate().join();
+        webClient.post("/example1/2", "{\"stringValue\":\"REQ\"}").aggregate().join();
+        webClient.post("/example1/1", "not json").aggregate().join();
+
+        awaitErrorCount(0, 1);
+        final List<HttpRouteMetricsSnapshot> metrics = specServer.getMetrics();
+        assertThat(metrics).hasSize(4);
+        final HttpRouteMetricsSnapshot route = metrics.get(0);
+        assertThat(route.getRoute().getPath()).isEqualTo("/example1/{id}");
+        assertThat(route.getRequestCount()).isEqualTo(4);
+        assertThat(route.getMatchCount()).isEqualTo(2);
+        assertThat(route.getMissCount()).isEqualTo(1);
+        assertThat(route.getErrorCount()).isEqualTo(1);
+        assertThat(route.getMatchRate()).isEqualTo(0.5);
+        assertThat(route.getAggregateLatency().getCount()).isEqualTo(4);
+        assertThat(route.getMatchLatency().getCount()).isEqualTo(3);
+        assertThat(route.getSerializeLatency().getCount()).isEqualTo(2);
+
+        final HttpExchangeMetricsSnapshot exchangeMetrics = route.getExchanges().get(0);
+        assertThat(exchangeMetrics.getExchange()).isSameAs(exchange);
+        assertThat(exchangeMetrics.getMatchCount()).isEqualTo(2);
+        assertThat(exchangeMetrics.getSerializeLatency().getMaxNanos()).isPositive();
+    }
+
+    @Test
+    void countFailedResponses() throws InterruptedException {
+        webClient.get("/unavailable").aggregate().join();
+        webClient.get("/broken").aggregate().join();
+        awaitErrorCount(1, 1);
+        awaitErrorCount(2, 1);
+
+        assertThat(specServer.getMetrics().get(1).getErrorCount()).isEqualTo(1);
+        assertThat(specServer.getMetrics().get(2).getErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    void notResetWithRequests() {
+        webClient.post("/example1/1", "{\"stringValue\":\"REQ\"}").aggregate().join();
+        specServer.resetRequests();
+
+        assertThat(specServer.getSpecs().get(0).getRequestCount()).isZero();
+        assertThat(specServer.getMetrics().get(0).getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void prometheus() {
+        webClient.post("/example1/1", "{\"stringValue\":\"REQ\"}").aggregate().join();
+        webClient.post("/example1/2", "{\"stringValue\":\"REQ\"}").aggregate().join();
+
+        final AggregatedHttpResponse response = webClient.get("/metrics").aggregate().join();
+        assertThat(response.status().code()).isEqualTo(200);
+        // The specs sharing the route are summed into one series, and their exchanges numbered in spec order.
+        assertThat(response.contentUtf8().split("specmock_requests_total\\{method=\"POST\"")).hasSize(2);
+        assertThat(response.contentUtf8())
+                .contains("specmock_requests_total{method=\"POST\",path=\"/example1/{id}\"} 2\n")
+                .contains("specmock_matches_total{method=\"POST\",path=\"/example1/{id}\"} 1\n")
+                .contains("specmock_misses_total{method=\"POST\",path=\"/example1/{id}\"} 1\n")
+                .contains("specmock_exchange_matches_total{method=\"POST\",path=\"/example1/{id}\"," +
+                          "exchange=\"0\"} 1\n")
+                .contains("specmock_exchange_matches_total{method=\"POST\",path=\"/example1/{id}\"," +
+                          "exchange=\"1\"} 0\n")
+                .contains("phase=\"aggregate\",le=\"1.023E-6\"} ")
+                .contains("specmock_request_phase_seconds_count{method=\"POST\",path=\"/example1/{id}\"," +
+                          "phase=\"match\"} 2\n")
+                .contains("phase=\"aggregate\",le=\"+Inf\"} 2\n")
+                .contains("# TYPE specmock_connections gauge\n")
+                .contains("specmock_event_loop_pending_tasks ")
+                .contains("jvm_memory_used_bytes{area=\"heap\"} ");
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+
+    private void awaitErrorCount(int spec, long count) throws InterruptedException {
+        // Errors are counted once the server completes the response, which the client may see first.
+        for (int i = 0; i < 100 && specServer.getMetrics().get(spec).getErrorCount() < count; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
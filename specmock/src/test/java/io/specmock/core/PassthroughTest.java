@@ -0,0 +1,221 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.server.Server;
+
+import io.specmock.core.example.ExampleUser;
+import io.specmock.core.example.ExampleUserApi;
+
+class PassthroughTest {
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private HttpSpecServer upstream;
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        // Plays the real service behind the partial mock.
+        upstream = HttpSpecServer.builder()
+                                 .port(18081)
+                                 .spec(HttpSpec.springWebBuilder()
+                                               .springWebBind(ExampleUserApi.class)
+                                               .resource(HttpResource.of("id"))
+                                               .build())
+                                 .build();
+        upstream.start();
+    }
+
+    @Test
+    void forwardRequestsNotCovered() {
+        final HttpPassthrough passthrough = start(cached(100, Duration.ofMinutes(1)));
+        assertThat(webClient.get("/users/0").aggregate().join().contentUtf8()).contains("admin");
+        assertThat(passthrough.getForwardedCount()).isZero();
+
+        // No spec is routed on POST /users, and no exchange of GET /users/{userId} matches /users/1.
+        assertThat(webClient.post("/users", "{\"name\":\"kim\"}").aggregate().join().status().code())
+                .isEqualTo(HttpStatus.CREATED.getCode());
+        assertThat(webClient.get("/users/1").aggregate().join().contentUtf8()).contains("kim");
+        assertThat(passthrough.getForwardedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void cacheGetResponses() {
+        final HttpPassthrough passthrough = start(cached(100, Duration.ofMinutes(1)));
+        webClient.post("/users", "{\"name\":\"kim\"}").aggregate().join();
+        assertThat(webClient.get("/users/1").aggregate().join().contentUtf8()).contains("kim");
+        webClient.put("/users/1", "{\"name\":\"lee\"}").aggregate().join();
+
+        // Served from the cache until the response expires, so the update is not seen yet.
+        assertThat(webClient.get("/users/1").aggregate().join().contentUtf8()).contains("kim");
+        assertThat(passthrough.getCacheHitCount()).isEqualTo(1);
+        assertThat(passthrough.getForwardedCount()).isEqualTo(3);
+    }
+
+    @Test
+    void forwardAgainOnceExpired() throws Exception {
+        final HttpPassthrough passthrough = start(cached(100, Duration.ofMillis(100)));
+        webClient.post("/users", "{\"name\":\"kim\"}").aggregate().join();
+        webClient.get("/users/1").aggregate().join();
+        webClient.put("/users/1", "{\"name\":\"lee\"}").aggregate().join();
+        Thread.sleep(200);
+
+        assertThat(webClient.get("/users/1").aggregate().join().contentUtf8()).contains("lee");
+        assertThat(webClient.get("/users/1").aggregate().join().contentUtf8()).contains("lee");
+        assertThat(passthrough.getCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evictOldestResponse() {
+        final HttpPassthrough passthrough = start(cached(1, Duration.ofMinutes(1)));
+        webClient.post("/users", "{\"name\":\"kim\"}").aggregate().join();
+        webClient.post("/users", "{\"name\":\"lee\"}").aggregate().join();
+        webClient.get("/users/1").aggregate().join();
+        webClient.get("/users/2").aggregate().join();
+
+        assertThat(webClient.get("/users/1").aggregate().join().contentUtf8()).contains("kim");
+        assertThat(passthrough.getCacheHitCount()).isZero();
+        assertThat(webClient.get("/users/1").aggregate().join().contentUtf8()).contains("kim");
+        assertThat(passthrough.getCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void noCacheByDefault() {
+        final HttpPassthrough passthrough = start(HttpPassthrough.builder()
+                                                                 .upstream("http://localhost:18081")
+                                                                 .build());
+        webClient.post("/users", "{\"name\":\"kim\"}").aggregate().join();
+        webClient.get("/users/1").aggregate().join();
+        webClient.get("/users/1").aggregate().join();
+
+        assertThat(passthrough.getCacheHitCount()).isZero();
+        assertThat(passthrough.getForwardedCount()).isEqualTo(3);
+    }
+
+    @Test
+    void skipRequestsWithCredentials() {
+        final HttpPassthrough passthrough = start(cached(100, Duration.ofMinutes(1)));
+        webClient.post("/users", "{\"name\":\"kim\"}").aggregate().join();
+        for (int i = 0; i < 2; i++) {
+            webClient.execute(RequestHeaders.builder(HttpMethod.GET, "/users/1")
+                                            .add(HttpHeaderNames.AUTHORIZATION, "Bearer token")
+                                            .build()).aggregate().join();
+            webClient.execute(RequestHeaders.builder(HttpMethod.GET, "/users/1")
+                                            .add(HttpHeaderNames.COOKIE, "session=1")
+                                            .build()).aggregate().join();
+        }
+
+        assertThat(passthrough.getCacheHitCount()).isZero();
+        assertThat(passthrough.getForwardedCount()).isEqualTo(5);
+    }
+
+    @Test
+    void skipResponsesForOneClient() {
+        // Answers with the headers that keep a response out of a shared cache.
+        final Server headersUpstream = Server.builder()
+                                             .http(18082)
+                                             .service("/no-store", (context, request) -> respond(
+                                                     HttpHeaderNames.CACHE_CONTROL, "no-store"))
+                                             .service("/private", (context, request) -> respond(
+                                                     HttpHeaderNames.CACHE_CONTROL, "Private, max-age=60"))
+                                             .service("/cookie", (context, request) -> respond(
+                                                     HttpHeaderNames.SET_COOKIE, "session=1"))
+                                             .service("/vary", (context, request) -> respond(
+                                                     HttpHeaderNames.VARY, "Accept, User-Agent"))
+                                             .service("/negotiated", (context, request) -> respond(
+                                                     HttpHeaderNames.VARY, "Accept-Encoding, accept"))
+                                             .build();
+        headersUpstream.start().join();
+        try {
+            final HttpPassthrough passthrough = start(HttpPassthrough.builder()
+                                                                     .upstream("http://localhost:18082")
+                                                                     .cache(100, Duration.ofMinutes(1))
+                                                                     .build());
+            for (String path : new String[] { "/no-store", "/private", "/cookie", "/vary", "/missing" }) {
+                webClient.get(path).aggregate().join();
+                webClient.get(path).aggregate().join();
+            }
+            assertThat(passthrough.getCacheHitCount()).isZero();
+
+            webClient.get("/negotiated").aggregate().join();
+            webClient.get("/negotiated").aggregate().join();
+            assertThat(passthrough.getCacheHitCount()).isEqualTo(1);
+        } finally {
+            headersUpstream.stop().join();
+        }
+    }
+
+    @Test
+    void badGatewayWhenUpstreamFails() {
+        // Nothing listens on the upstream port.
+        start(HttpPassthrough.builder().upstream("http://localhost:18082").build());
+
+        assertThat(webClient.get("/users/1").aggregate().join().status().code())
+                .isEqualTo(HttpStatus.BAD_GATEWAY.getCode());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (specServer != null) {
+            specServer.terminate();
+        }
+        upstream.terminate();
+    }
+
+    private HttpPassthrough start(HttpPassthrough passthrough) {
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/users/{userId}"))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .pathParamMap(Collections.singletonMap(
+                                                                               "userId", "0"))
+                                                                       .responseObject(new ExampleUser(
+                                                                               0L, "admin", "ops"))
+                                                                       .build())
+                                                 .build())
+                                   .passthrough(passthrough)
+                                   .build();
+        specServer.start();
+        return passthrough;
+    }
+
+    private static HttpPassthrough cached(int size, Duration ttl) {
+        return HttpPassthrough.builder()
+                              .upstream("http://localhost:18081")
+                              .cache(size, ttl)
+                              .build();
+    }
+
+    private static HttpResponse respond(CharSequence name, String value) {
+        return HttpResponse.of(ResponseHeaders.builder(HttpStatus.OK.getCode()).add(name, value).build());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.RequestHeadersBuilder;
+
+class RangeTest {
+    private static final String BODY = "0123456789";
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/download"))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .responseBody(BODY.getBytes(
+                                                                               StandardCharsets.UTF_8))
+                                                                       .responseContentType("text/plain")
+                                                                       .build())
+                                                 .build())
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void fullResponseAdvertisesRanges() {
+        final AggregatedHttpResponse response = webClient.get("/download").aggregate().join();
+
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        assertThat(response.headers().get(HttpHeaderNames.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.headers().get(HttpHeaderNames.ETAG)).isNotNull();
+        assertThat(response.contentUtf8()).isEqualTo(BODY);
+    }
+
+    @Test
+    void partialContent() {
+        final AggregatedHttpResponse response = get("bytes=4-", null);
+
+        assertThat(response.status()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.headers().get(HttpHeaderNames.CONTENT_RANGE)).isEqualTo("bytes 4-9/10");
+        assertThat(response.contentUtf8()).isEqualTo("456789");
+    }
+
+    @Test
+    void rangeNotSatisfiable() {
+        final AggregatedHttpResponse response = get("bytes=20-", null);
+
+        assertThat(response.status()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(response.headers().get(HttpHeaderNames.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void ifRange() {
+        final String etag = webClient.get("/download").aggregate().join().headers().get(HttpHeaderNames.ETAG);
+
+        final AggregatedHttpResponse fresh = get("bytes=0-1", etag);
+        assertThat(fresh.status()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(fresh.contentUtf8()).isEqualTo("01");
+
+        final AggregatedHttpResponse stale = get("bytes=0-1", "\"stale\"");
+        assertThat(stale.status()).isEqualTo(HttpStatus.OK);
+        assertThat(stale.contentUtf8()).isEqualTo(BODY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+
+    private AggregatedHttpResponse get(String range, String ifRange) {
+        final RequestHeadersBuilder headers = RequestHeaders.builder(HttpMethod.GET, "/download")
+                                                            .add(HttpHeaderNames.RANGE, range);
+        if (ifRange != null) {
+            headers.add(HttpHeaderNames.IF_RANGE, ifRange);
+        }
+        return webClient.execute(headers.build()).aggregate().join();
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.server.Server;
+
+import io.specmock.core.example.ExampleUser;
+import io.specmock.core.example.ExampleUserApi;
+
+class RecordTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordUnmatchedRequests() throws Exception {
+        // Plays the real service the mock records from.
+        final HttpSpecServer upstream = HttpSpecServer.builder()
+                                                      .port(18081)
+                                                      .spec(HttpSpec.springWebBuilder()
+                                                                    .springWebBind(ExampleUserApi.class)
+                                                                    .resource(HttpResource.of("id"))
+                                                                    .build())
+                                                      .build();
+        final HttpRecorder recorder = HttpRecorder.builder()
+                                                  .upstream("http://localhost:18081")
+                                                  .directory(tempDir)
+                                                  .build();
+        final HttpExchange admin = HttpExchange.builder()
+                                               .pathParamMap(Collections.singletonMap("userId", "0"))
+                                               .responseObject(new ExampleUser(0L, "admin", "ops"))
+                                               .build();
+        final HttpSpecServer specServer = HttpSpecServer.builder()
+                                                        .port(18080)
+                                                        .spec(HttpSpec.springWebBuilder()
+                                                                      .springWebBind(ExampleUserApi.class)
+                                                                      .exchange(admin)
+                                                                      .build())
+                                                        .recorder(recorder)
+                                                        .build();
+        upstream.start();
+        specServer.start();
+        try {
+            final WebClient webClient = WebClient.of("http://localhost:18080");
+            final AggregatedHttpResponse created = webClient.post("/users", "{\"name\":\"kim\"}")
+                                                            .aggregate().join();
+            assertThat(created.status().code()).isEqualTo(HttpStatus.CREATED.getCode());
+            assertThat(webClient.get("/users/1").aggregate().join().contentUtf8()).contains("kim");
+            webClient.get("/users/1").aggregate().join();
+            assertThat(webClient.get("/users/0").aggregate().join().contentUtf8()).contains("admin");
+        } finally {
+            specServer.terminate();
+            upstream.terminate();
+        }
+
+        assertThat(recorder.getCapturedCount()).isEqualTo(2);
+        final List<HttpSpec> specs = HttpSpec.loader().load(tempDir);
+        assertThat(specs).hasSize(2);
+        final HttpExchange created = specs.get(0).getExchanges().get(0);
+        assertThat(specs.get(0).getRoute().getMethod()).isEqualTo(HttpMethod.POST);
+        assertThat(created.getResponseStatus()).isEqualTo(HttpStatus.CREATED);
+        assertThat(created.getRequestObject()).hasToString("{\"name\":\"kim\"}");
+        final HttpExchange found = specs.get(1).getExchanges().get(0);
+        assertThat(found.getPathParamMap()).containsEntry("userId", "1");
+        assertThat(StandardCharsets.UTF_8.decode(found.getResponseBody()).toString()).contains("kim");
+    }
+
+    @Test
+    void badGatewayWhenUpstreamFails() throws Exception {
+        // Nothing listens on the upstream port.
+        final HttpRecorder recorder = HttpRecorder.builder()
+                                                  .upstream("http://localhost:18081")
+                                                  .directory(tempDir)
+                                                  .build();
+        final HttpSpecServer specServer = recordingServer(recorder);
+        specServer.start();
+        try {
+            final WebClient webClient = WebClient.of("http://localhost:18080");
+            assertThat(webClient.get("/users/1").aggregate().join().status().code())
+                    .isEqualTo(HttpStatus.BAD_GATEWAY.getCode());
+        } finally {
+            specServer.terminate();
+        }
+
+        assertThat(recorder.getCapturedCount()).isZero();
+    }
+
+    @Test
+    void returnUnsupportedStatusWithoutCapture() throws Exception {
+        // Answers with a status specs cannot express.
+        final Server upstream = Server.builder()
+                                      .http(18081)
+                                      .service("/users/1", (context, request) -> HttpResponse.of(599))
+                                      .build();
+        final HttpRecorder recorder = HttpRecorder.builder()
+                                                  .upstream("http://localhost:18081")
+                                                  .directory(tempDir)
+                                                  .build();
+        final HttpSpecServer specServer = recordingServer(recorder);
+        upstream.start().join();
+        specServer.start();
+        try {
+            final WebClient webClient = WebClient.of("http://localhost:18080");
+            assertThat(webClient.get("/users/1").aggregate().join().status().code()).isEqualTo(599);
+        } finally {
+            specServer.terminate();
+            upstream.stop().join();
+        }
+
+        assertThat(recorder.getCapturedCount()).isZero();
+        assertThat(HttpSpec.loader().load(tempDir)).isEmpty();
+    }
+
+    @Test
+    void closeJournalLogWhenRecorderFails() throws Exception {
+        final Server upstream = Server.builder()
+                                      .http(18081)
+                                      .service("/users/1", (context, request) -> HttpResponse.of("{}"))
+                                      .build();
+        final Path specDirectory = Files.createDirectory(tempDir.resolve("specs"));
+        final HttpRecorder recorder = HttpRecorder.builder()
+                                                  .upstream("http://localhost:18081")
+                                                  .directory(specDirectory)
+                                                  .flushInterval(Duration.ofMinutes(1))
+                                                  .build();
+        final Path journalDirectory = tempDir.resolve("journal");
+        final HttpJournalLog journalLog = HttpJournalLog.builder()
+                                                        .directory(journalDirectory)
+                                                        .build();
+        final HttpExchange admin = HttpExchange.builder()
+                                               .pathParamMap(Collections.singletonMap("userId", "0"))
+                                               .responseObject(new ExampleUser(0L, "admin", "ops"))
+                                               .build();
+        final HttpSpecServer specServer = HttpSpecServer.builder()
+                                                        .port(18080)
+                                                        .spec(HttpSpec.springWebBuilder()
+                                                                      .springWebBind(ExampleUserApi.class)
+                                                                      .exchange(admin)
+                                                                      .build())
+                                                        .recorder(recorder)
+                                                        .journalLog(journalLog)
+                                                        .build();
+        upstream.start().join();
+        specServer.start();
+        try {
+            final WebClient webClient = WebClient.of("http://localhost:18080");
+            webClient.get("/users/0").aggregate().join();
+            webClient.get("/users/1").aggregate().join();
+            // The captured spec can no longer be written.
+            Files.delete(specDirectory);
+        } finally {
+            upstream.stop().join();
+        }
+
+        assertThatThrownBy(specServer::terminate).isInstanceOf(UncheckedIOException.class);
+        final HttpJournalLogReader reader = HttpJournalLog.reader(journalDirectory);
+        assertThat(reader.hasNext()).isTrue();
+    }
+
+    private static HttpSpecServer recordingServer(HttpRecorder recorder) {
+        final HttpExchange admin = HttpExchange.builder()
+                                               .pathParamMap(Collections.singletonMap("userId", "0"))
+                                               .responseObject(new ExampleUser(0L, "admin", "ops"))
+                                               .build();
+        return HttpSpecServer.builder()
+                             .port(18080)
+                             .spec(HttpSpec.springWebBuilder()
+                                           .springWebBind(ExampleUserApi.class)
+                                           .exchange(admin)
+                                           .build())
+                             .recorder(recorder)
+                             .build();
+    }
+}
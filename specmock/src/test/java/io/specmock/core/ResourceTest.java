@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+
+import io.specmock.core.example.ExampleUser;
+import io.specmock.core.example.ExampleUserApi;
+
+class ResourceTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private final HttpResource users = HttpResource.of("id", "team");
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        final HttpExchange admin = HttpExchange.builder()
+                                               .pathParamMap(Collections.singletonMap("userId", "0"))
+                                               .responseObject(new ExampleUser(0L, "admin", "ops"))
+                                               .build();
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.springWebBuilder()
+                                                 .springWebBind(ExampleUserApi.class)
+                                                 .exchange(admin)
+                                                 .resource(users)
+                                                 .build())
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void crud() throws Exception {
+        final AggregatedHttpResponse created = webClient.post("/users", "{\"name\":\"kim\",\"team\":\"blue\"}")
+                                                        .aggregate().join();
+        assertThat(created.status().code()).isEqualTo(HttpStatus.CREATED.getCode());
+        final ExampleUser user = mapper.readValue(created.contentUtf8(), ExampleUser.class);
+        assertThat(user.getId()).isEqualTo(1L);
+
+        assertThat(mapper.readValue(webClient.get("/users/1").aggregate().join().contentUtf8(),
+                                    ExampleUser.class).getName()).isEqualTo("kim");
+
+        assertThat(webClient.put("/users/1", "{\"name\":\"lee\",\"team\":\"red\"}").aggregate().join()
+                            .status().code()).isEqualTo(HttpStatus.OK.getCode());
+        final ExampleUser patched = mapper.readValue(
+                webClient.patch("/users/1", "{\"team\":\"green\"}").aggregate().join().contentUtf8(),
+                ExampleUser.class);
+        assertThat(patched.getName()).isEqualTo("lee");
+        assertThat(patched.getTeam()).isEqualTo("green");
+
+        assertThat(webClient.delete("/users/1").aggregate().join().status().code())
+                .isEqualTo(HttpStatus.NO_CONTENT.getCode());
+        assertThat(webClient.get("/users/1").aggregate().join().status().code())
+                .isEqualTo(HttpStatus.NOT_FOUND.getCode());
+    }
+
+    @Test
+    void listFilteredByIndexedField() throws Exception {
+        webClient.post("/users", "{\"name\":\"kim\",\"team\":\"blue\"}").aggregate().join();
+        webClient.post("/users", "{\"name\":\"lee\",\"team\":\"red\"}").aggregate().join();
+        webClient.post("/users", "{\"name\":\"park\",\"team\":\"blue\"}").aggregate().join();
+
+        final JsonNode blue = mapper.readTree(webClient.get("/users?team=blue").aggregate().join()
+                                                       .contentUtf8());
+        assertThat(blue.size()).isEqualTo(2);
+        final JsonNode all = mapper.readTree(webClient.get("/users").aggregate().join().contentUtf8());
+        assertThat(all.size()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidRequests() {
+        webClient.post("/users", "{\"id\":7,\"name\":\"kim\"}").aggregate().join();
+
+        assertThat(webClient.post("/users", "{\"id\":7,\"name\":\"lee\"}").aggregate().join().status().code())
+                .isEqualTo(HttpStatus.CONFLICT.getCode());
+        assertThat(webClient.post("/users", "[1,2]").aggregate().join().status().code())
+                .isEqualTo(HttpStatus.BAD_REQUEST.getCode());
+        assertThat(webClient.put("/users/8", "{\"name\":\"lee\"}").aggregate().join().status().code())
+                .isEqualTo(HttpStatus.NOT_FOUND.getCode());
+    }
+
+    @Test
+    void exchangeTakesPrecedence() throws Exception {
+        final ExampleUser admin = mapper.readValue(webClient.get("/users/0").aggregate().join().contentUtf8(),
+                                                   ExampleUser.class);
+        assertThat(admin.getName()).isEqualTo("admin");
+        assertThat(users.size()).isZero();
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+}
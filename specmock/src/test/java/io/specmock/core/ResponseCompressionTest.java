@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.RequestHeaders;
+
+import io.specmock.core.example.Example1Response;
+
+class ResponseCompressionTest {
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        final List<Example1Response> responses = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            responses.add(new Example1Response("SUCCESS"));
+        }
+        final byte[] random = new byte[2048];
+        new Random(0).nextBytes(random);
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .responseCompression(true)
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/compressed"))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .responseObject(responses)
+                                                                       .build())
+                                                 .build())
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/random"))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .responseBody(random)
+                                                                       .build())
+                                                 .build())
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void gzipWhenAccepted() {
+        final AggregatedHttpResponse response = webClient.execute(
+                RequestHeaders.builder(HttpMethod.GET, "/compressed")
+                              .add(HttpHeaderNames.ACCEPT_ENCODING, "gzip")
+                              .build()
+        ).aggregate().join();
+
+        assertThat(response.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.headers().get(HttpHeaderNames.VARY)).isEqualTo("accept-encoding");
+        final AggregatedHttpResponse identity = webClient.get("/compressed").aggregate().join();
+        assertThat(response.headers().get(HttpHeaderNames.ETAG))
+                .isNotEqualTo(identity.headers().get(HttpHeaderNames.ETAG));
+    }
+
+    @Test
+    void rangeValidatedAgainstIdentityTag() {
+        final String gzipEtag = webClient.execute(
+                RequestHeaders.builder(HttpMethod.GET, "/compressed")
+                              .add(HttpHeaderNames.ACCEPT_ENCODING, "gzip")
+                              .build()
+        ).aggregate().join().headers().get(HttpHeaderNames.ETAG);
+
+        // A range of the identity body must not be spliced into a gzip body validated by its tag.
+        final AggregatedHttpResponse response = webClient.execute(
+                RequestHeaders.builder(HttpMethod.GET, "/compressed")
+                              .add(HttpHeaderNames.RANGE, "bytes=0-1")
+                              .add(HttpHeaderNames.IF_RANGE, gzipEtag)
+                              .build()
+        ).aggregate().join();
+
+        assertThat(response.status().code()).isEqualTo(200);
+        assertThat(response.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    void identityWhenNotAccepted() {
+        final AggregatedHttpResponse response = webClient.get("/compressed").aggregate().join();
+
+        assertThat(response.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isNull();
+        // Shared caches must not serve this identity response to clients that accept gzip.
+        assertThat(response.headers().get(HttpHeaderNames.VARY)).isEqualTo("accept-encoding");
+        assertThat(response.contentUtf8()).startsWith("[{\"stringValue\":\"SUCCESS\"}");
+    }
+
+    @Test
+    void identityWhenIncompressible() {
+        final AggregatedHttpResponse response = webClient.execute(
+                RequestHeaders.builder(HttpMethod.GET, "/random")
+                              .add(HttpHeaderNames.ACCEPT_ENCODING, "gzip, deflate")
+                              .build()
+        ).aggregate().join();
+
+        assertThat(response.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isNull();
+        assertThat(response.headers().get(HttpHeaderNames.VARY)).isNull();
+        assertThat(response.content().length()).isEqualTo(2048);
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+
+import io.specmock.core.example.Example1Response;
+
+class ScenarioTest {
+    private static final String ITEM_ADDED = "Item Added";
+    private static final String CHECKED_OUT = "Checked Out";
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private final HttpScenario cart = HttpScenario.of("cart");
+    private final HttpScenario toggle = HttpScenario.of("toggle");
+    private final HttpSequence toggleSequence = HttpSequence.of(HttpSequenceMode.CYCLIC);
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/cart"))
+                                                 .exchanges(exchange("EMPTY", HttpScenario.STARTED, null),
+                                                            exchange("ITEM", ITEM_ADDED, null),
+                                                            exchange("CHECKED_OUT", CHECKED_OUT, null))
+                                                 .build())
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.post("/cart"))
+                                                 .exchange(exchange("ADDED", HttpScenario.STARTED, ITEM_ADDED))
+                                                 .build())
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.post("/checkout"))
+                                                 .exchange(exchange("PAID", ITEM_ADDED, CHECKED_OUT))
+                                                 .build())
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.post("/toggle"))
+                                                 .sequence(toggleSequence)
+                                                 .exchanges(toggleExchange("ON", "OFF", "ON"),
+                                                            toggleExchange("OFF", "ON", "OFF"))
+                                                 .build())
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void cartFlow() {
+        assertThat(webClient.get("/cart").aggregate().join().contentUtf8()).contains("EMPTY");
+        assertThat(webClient.post("/checkout", "").aggregate().join().status().code())
+                .isEqualTo(HttpStatus.NOT_ACCEPTABLE.getCode());
+
+        assertThat(webClient.post("/cart", "").aggregate().join().contentUtf8()).contains("ADDED");
+        assertThat(cart.getState()).isEqualTo(ITEM_ADDED);
+        assertThat(webClient.get("/cart").aggregate().join().contentUtf8()).contains("ITEM");
+
+        assertThat(webClient.post("/checkout", "").aggregate().join().contentUtf8()).contains("PAID");
+        assertThat(webClient.get("/cart").aggregate().join().contentUtf8()).contains("CHECKED_OUT");
+
+        cart.reset();
+        assertThat(webClient.get("/cart").aggregate().join().contentUtf8()).contains("EMPTY");
+    }
+
+    @Test
+    void concurrentTransitionHappensOnce() {
+        final List<CompletableFuture<AggregatedHttpResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            responses.add(webClient.post("/cart", "").aggregate());
+        }
+
+        int added = 0;
+        for (CompletableFuture<AggregatedHttpResponse> response : responses) {
+            if (response.join().status().code() == HttpStatus.OK.getCode()) {
+                added++;
+            }
+        }
+        assertThat(added).isEqualTo(1);
+        assertThat(cart.getState()).isEqualTo(ITEM_ADDED);
+    }
+
+    @Test
+    void concurrentTransitionInSequenceTakesOneStep() {
+        toggle.setState("OFF");
+        final List<CompletableFuture<AggregatedHttpResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            responses.add(webClient.post("/toggle", "").aggregate());
+        }
+
+        int on = 0;
+        int off = 0;
+        for (CompletableFuture<AggregatedHttpResponse> response : responses) {
+            final String content = response.join().contentUtf8();
+            if (content.contains("\"ON\"")) {
+                on++;
+            } else if (content.contains("\"OFF\"")) {
+                off++;
+            }
+        }
+        // A request losing the race for the scenario chooses again without advancing the sequence again.
+        assertThat(on + off).isEqualTo(100);
+        assertThat(on).isEqualTo(50);
+        assertThat(toggleSequence.routePosition()).isEqualTo(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+
+    private HttpExchange toggleExchange(String stringValue, String requiredState, String newState) {
+        return HttpExchange.builder()
+                           .responseObject(new Example1Response(stringValue))
+                           .scenario(toggle, requiredState, newState)
+                           .build();
+    }
+
+    private HttpExchange exchange(String stringValue, String requiredState, String newState) {
+        return HttpExchange.builder()
+                           .responseObject(new Example1Response(stringValue))
+                           .scenario(cart, requiredState, newState)
+                           .build();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.RequestHeaders;
+
+import io.specmock.core.example.Example1Response;
+
+class SequenceTest {
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private final HttpSequence sequence = HttpSequence.of(HttpSequenceMode.STICK_AT_LAST, "x-client-id");
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/job"))
+                                                 .sequence(sequence)
+                                                 .exchanges(exchange(HttpStatus.ACCEPTED, "ACCEPTED"),
+                                                            exchange(HttpStatus.OK, "PENDING"),
+                                                            exchange(HttpStatus.OK, "DONE"))
+                                                 .build())
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void pollingFlow() {
+        final AggregatedHttpResponse accepted = get("a");
+        assertThat(accepted.status().code()).isEqualTo(HttpStatus.ACCEPTED.getCode());
+        assertThat(accepted.contentUtf8()).isEqualTo("{\"stringValue\":\"ACCEPTED\"}");
+        assertThat(get("a").contentUtf8()).isEqualTo("{\"stringValue\":\"PENDING\"}");
+        assertThat(get("a").contentUtf8()).isEqualTo("{\"stringValue\":\"DONE\"}");
+        assertThat(get("a").contentUtf8()).isEqualTo("{\"stringValue\":\"DONE\"}");
+
+        assertThat(get("b").contentUtf8()).isEqualTo("{\"stringValue\":\"ACCEPTED\"}");
+
+        sequence.reset();
+        assertThat(get("a").contentUtf8()).isEqualTo("{\"stringValue\":\"ACCEPTED\"}");
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+
+    private static HttpExchange exchange(HttpStatus status, String stringValue) {
+        return HttpExchange.builder()
+                           .responseStatus(status)
+                           .responseObject(new Example1Response(stringValue))
+                           .build();
+    }
+
+    private AggregatedHttpResponse get(String clientId) {
+        return webClient.execute(RequestHeaders.builder(HttpMethod.GET, "/job")
+                                               .add("x-client-id", clientId)
+                                               .build())
+                        .aggregate().join();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+
+import io.specmock.core.example.Example1Request;
+import io.specmock.core.example.Example1Response;
+
+class SnapshotTest {
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private HttpSpecServer specServer;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void typedRequestAfterLoad() throws IOException {
+        start(Collections.singletonList(
+                HttpSpec.builder()
+                        .route(HttpRoute.post("/example1"))
+                        .exchange(HttpExchange.builder()
+                                              .requestObject(new Example1Request("REQ", null, null, null))
+                                              .responseObject(new Example1Response("RES"))
+                                              .build())
+                        .build()));
+
+        // The omitted fields are null, as in the request object, once the body is read as Example1Request.
+        final AggregatedHttpResponse response = webClient.post("/example1", "{\"stringValue\":\"REQ\"}")
+                                                         .aggregate().join();
+        assertThat(response.status().code()).isEqualTo(200);
+        assertThat(response.contentUtf8()).isEqualTo("{\"stringValue\":\"RES\"}");
+    }
+
+    @Test
+    void scenarioAndRateLimitAfterLoad() throws IOException {
+        final HttpScenario scenario = HttpScenario.of("login");
+        start(Collections.singletonList(
+                HttpSpec.builder()
+                        .route(HttpRoute.get("/example1"))
+                        .rateLimit(HttpRateLimit.of(0.1, 2))
+                        .exchange(HttpExchange.builder()
+                                              .responseObject(new Example1Response("FIRST"))
+                                              .scenario(scenario, HttpScenario.STARTED, "SECOND")
+                                              .build())
+                        .exchange(HttpExchange.builder()
+                                              .responseObject(new Example1Response("SECOND"))
+                                              .scenario(scenario, "SECOND")
+                                              .build())
+                        .build()));
+
+        assertThat(webClient.get("/example1").aggregate().join().contentUtf8()).contains("FIRST");
+        assertThat(webClient.get("/example1").aggregate().join().contentUtf8()).contains("SECOND");
+        assertThat(webClient.get("/example1").aggregate().join().status().code()).isEqualTo(429);
+    }
+
+    private void start(List<HttpSpec> specs) throws IOException {
+        final Path file = tempDir.resolve("specs.bin");
+        HttpSpecSnapshot.compile(specs, file);
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpecSnapshot.load(file))
+                                   .build();
+        specServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+
+class SpecFileTest {
+    private static final String SPEC =
+            "{\"specs\":[{\"method\":\"POST\",\"path\":\"/example1\",\"exchanges\":[" +
+            "{\"request\":{\"stringValue\":\"REQ\",\"intValue\":1},\"status\":201," +
+            "\"response\":{\"stringValue\":\"RES\"}}]}," +
+            "{\"method\":\"GET\",\"path\":\"/fixture\",\"exchanges\":[" +
+            "{\"contentType\":\"application/octet-stream\",\"responseFile\":\"fixture.bin\"}]}]}";
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private HttpSpecServer specServer;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.write(tempDir.resolve("fixture.bin"), new byte[] { 1, 2, 3 });
+        final Path file = Files.write(tempDir.resolve("spec.json"), SPEC.getBytes(StandardCharsets.UTF_8));
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.loader().load(file))
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void matchRequestRegardlessOfFieldOrder() {
+        final AggregatedHttpResponse response =
+                webClient.post("/example1", "{\"intValue\":1,\"stringValue\":\"REQ\"}").aggregate().join();
+        assertThat(response.status()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.contentUtf8()).isEqualTo("{\"stringValue\":\"RES\"}");
+    }
+
+    @Test
+    void notMatchRequest() {
+        final AggregatedHttpResponse response =
+                webClient.post("/example1", "{\"stringValue\":\"OTHER\"}").aggregate().join();
+        assertThat(response.status()).isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+    }
+
+    @Test
+    void serveResponseFile() {
+        final AggregatedHttpResponse response = webClient.get("/fixture").aggregate().join();
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        assertThat(response.headers().contentType()).isEqualTo(MediaType.OCTET_STREAM);
+        assertThat(response.content().array()).containsExactly(1, 2, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+}
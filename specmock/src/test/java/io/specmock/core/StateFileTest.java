@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.linecorp.armeria.client.WebClient;
+
+class StateFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void stateSurvivesRestart() {
+        final Path stateFile = tempDir.resolve("state.bin");
+        final HttpSpecServer first = server(18080, stateFile);
+        first.start();
+        try {
+            final WebClient webClient = WebClient.of("http://localhost:18080");
+            webClient.post("/users", "{\"name\":\"kim\"}").aggregate().join();
+            webClient.post("/users", "{\"name\":\"lee\"}").aggregate().join();
+            first.saveState().join();
+        } finally {
+            first.terminate();
+        }
+        assertThat(Files.exists(stateFile)).isTrue();
+
+        // Started on another port, as the first server may still be releasing its own.
+        final HttpSpecServer second = server(18081, stateFile);
+        second.start();
+        try {
+            final WebClient webClient = WebClient.of("http://localhost:18081");
+            assertThat(webClient.get("/users/2").aggregate().join().contentUtf8()).contains("lee");
+            assertThat(webClient.post("/users", "{\"name\":\"park\"}").aggregate().join().contentUtf8())
+                    .contains("\"id\":3");
+        } finally {
+            second.terminate();
+        }
+    }
+
+    private static HttpSpecServer server(int port, Path stateFile) {
+        final HttpResource users = HttpResource.of("id");
+        return HttpSpecServer.builder()
+                             .port(port)
+                             .spec(HttpSpec.builder()
+                                           .route(HttpRoute.post("/users"))
+                                           .resource(users)
+                                           .build())
+                             .spec(HttpSpec.builder()
+                                           .route(HttpRoute.get("/users/{id}"))
+                                           .resource(users)
+                                           .build())
+                             .stateFile(stateFile)
+                             .build();
+    }
+}
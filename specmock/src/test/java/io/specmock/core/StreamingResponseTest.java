@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+
+import io.specmock.core.example.Example1Response;
+
+class StreamingResponseTest {
+    private static final int SIZE = 50_000;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final WebClient webClient = WebClient.builder("http://localhost:18080")
+                                                 .maxResponseLength(0)
+                                                 .build();
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        final HttpResponseStream stream =
+                HttpResponseStream.jsonArray(SIZE, i -> new Example1Response("R" + i));
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/export"))
+                                                 .exchange(HttpExchange.builder()
+                                                                       .responseStream(stream)
+                                                                       .build())
+                                                 .build())
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void streamJsonArray() throws Exception {
+        final AggregatedHttpResponse response = webClient.get("/export").aggregate().join();
+
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        final JsonNode body = mapper.readTree(response.contentUtf8());
+        assertThat(body.size()).isEqualTo(SIZE);
+        assertThat(body.get(SIZE - 1).get("stringValue").asText()).isEqualTo("R" + (SIZE - 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.RequestHeaders;
+
+import io.specmock.core.example.Example1Response;
+
+class VerificationTest {
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private final HttpExchange exchange = HttpExchange.builder()
+                                                      .responseObject(new Example1Response("SUCCESS"))
+                                                      .build();
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.post("/example1"))
+                                                 .exchange(exchange)
+                                                 .build())
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/example2"))
+                                                 .build())
+                                   .journal(HttpJournal.of(100))
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void countAndFind() {
+        for (int i = 0; i < 3; i++) {
+            webClient.execute(RequestHeaders.builder(HttpMethod.POST, "/example1")
+                                            .add("x-tenant", i == 0 ? "specmock" : "other")
+                                            .build(), "")
+                     .aggregate().join();
+        }
+        webClient.get("/example2").aggregate().join();
+
+        assertThat(specServer.count(HttpRequestPattern.of(HttpRoute.post("/example1")))).isEqualTo(3);
+        assertThat(specServer.count(HttpRequestPattern.builder().exchange(exchange).build())).isEqualTo(3);
+        assertThat(specServer.count(HttpRequestPattern.builder()
+                                                      .route(HttpRoute.post("/example1"))
+                                                      .header("x-tenant", "specmock")
+                                                      .build())).isEqualTo(1);
+        final List<HttpJournalEntry> unmatched =
+                specServer.find(HttpRequestPattern.of(HttpRoute.get("/example2")));
+        assertThat(unmatched).hasSize(1);
+        assertThat(unmatched.get(0).getExchange()).isNull();
+    }
+
+    @Test
+    void assertNever() {
+        webClient.get("/example2").aggregate().join();
+
+        specServer.assertNever(HttpRequestPattern.of(HttpRoute.post("/example1")));
+        assertThatThrownBy(() -> specServer.assertNever(HttpRequestPattern.of(HttpRoute.get("/example2"))))
+                .isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void resetRequests() {
+        webClient.post("/example1", "").aggregate().join();
+        specServer.resetRequests();
+
+        assertThat(specServer.count(HttpRequestPattern.of(HttpRoute.post("/example1")))).isZero();
+        assertThat(exchange.getHitCount()).isZero();
+        assertThat(specServer.find(HttpRequestPattern.builder().build())).isEmpty();
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.WebClient;
+
+import io.specmock.core.example.Example1Response;
+
+class WeightedResponseTest {
+    private static final int REQUESTS = 1000;
+    private final WebClient webClient = WebClient.of("http://localhost:18080");
+    private final HttpExchange ok = HttpExchange.builder()
+                                                .responseObject(new Example1Response("OK"))
+                                                .weight(97)
+                                                .build();
+    private final HttpExchange error = HttpExchange.builder()
+                                                   .responseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+                                                   .responseObject(new Example1Response("ERROR"))
+                                                   .weight(2)
+                                                   .build();
+    private final HttpExchange unavailable = HttpExchange.builder()
+                                                         .responseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                                                         .responseObject(new Example1Response("UNAVAILABLE"))
+                                                         .weight(1)
+                                                         .build();
+    private HttpSpecServer specServer;
+
+    @BeforeEach
+    void setUp() {
+        specServer = HttpSpecServer.builder()
+                                   .port(18080)
+                                   .spec(HttpSpec.builder()
+                                                 .route(HttpRoute.get("/soak"))
+                                                 .seed(42)
+                                                 .exchanges(ok, error, unavailable)
+                                                 .build())
+                                   .build();
+        specServer.start();
+    }
+
+    @Test
+    void weightedResponses() {
+        int okCount = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            if (webClient.get("/soak").aggregate().join().status().code() == HttpStatus.OK.getCode()) {
+                okCount++;
+            }
+        }
+
+        assertThat(ok.getHitCount()).isEqualTo(okCount);
+        assertThat(ok.getHitCount() + error.getHitCount() + unavailable.getHitCount()).isEqualTo(REQUESTS);
+        assertThat(ok.getHitCount()).isBetween(940L, 1000L);
+        assertThat(error.getHitCount()).isPositive();
+        assertThat(unavailable.getHitCount()).isPositive();
+    }
+
+    @AfterEach
+    void tearDown() {
+        specServer.terminate();
+    }
+}
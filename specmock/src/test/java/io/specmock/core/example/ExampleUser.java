@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core.example;
+
+/**
+ * Represents an Example User record.
+ */
+public class ExampleUser {
+    private Long id;
+    private String name;
+    private String team;
+
+    /**
+     * Empty constructor for ExampleUser.
+     */
+    public ExampleUser() {
+    }
+
+    /**
+     * Constructs an ExampleUser with specified values.
+     *
+     * @param id   The id, or {@code null} to have one generated.
+     * @param name The name.
+     * @param team The team.
+     */
+    public ExampleUser(Long id, String name, String team) {
+        this.id = id;
+        this.name = name;
+        this.team = team;
+    }
+
+    /**
+     * Retrieves the id.
+     *
+     * @return The id.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves the name.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the team.
+     *
+     * @return The team.
+     */
+    public String getTeam() {
+        return team;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 SpecMock
+ * (c) 2023 SpecMock Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.specmock.core.example;
+
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Defines the endpoints of a users REST resource.
+ */
+public interface ExampleUserApi {
+    /**
+     * POST request to /users.
+     *
+     * @param user The user to create.
+     * @return The created user.
+     */
+    @PostMapping(value = "/users", consumes = MediaType.APPLICATION_JSON_VALUE)
+    ExampleUser create(@RequestBody ExampleUser user);
+
+    /**
+     * GET request to /users.
+     *
+     * @param team The team to filter by.
+     * @return The users of the team.
+     */
+    @GetMapping("/users")
+    List<ExampleUser> list(@RequestParam String team);
+
+    /**
+     * GET request to /users/{userId}.
+     *
+     * @param userId The user id.
+     * @return The user.
+     */
+    @GetMapping("/users/{userId}")
+    ExampleUser get(@PathVariable String userId);
+
+    /**
+     * PUT request to /users/{userId}.
+     *
+     * @param userId The user id.
+     * @param user   The new user.
+     * @return The updated user.
+     */
+    @PutMapping(value = "/users/{userId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    ExampleUser update(@PathVariable String userId, @RequestBody ExampleUser user);
+
+    /**
+     * PATCH request to /users/{userId}.
+     *
+     * @param userId The user id.
+     * @param user   The fields to change.
+     * @return The patched user.
+     */
+    @PatchMapping(value = "/users/{userId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    ExampleUser patch(@PathVariable String userId, @RequestBody ExampleUser user);
+
+    /**
+     * DELETE request to /users/{userId}.
+     *
+     * @param userId The user id.
+     */
+    @DeleteMapping("/users/{userId}")
+    void delete(@PathVariable String userId);
+}